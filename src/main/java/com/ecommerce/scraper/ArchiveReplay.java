@@ -0,0 +1,134 @@
+package com.ecommerce.scraper;
+
+import com.ecommerce.scraper.mapper.AttributeMapper;
+import com.ecommerce.scraper.mapper.DatabaseMapper;
+import com.ecommerce.scraper.model.Product;
+import com.ecommerce.scraper.utils.DatabaseJsonStreamWriter;
+import com.ecommerce.scraper.utils.JsonExporter;
+import com.ecommerce.scraper.utils.ProductArchiveReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Köhnə scraped_raw arxivlərini yenidən DatabaseMapper-dən keçirir (scrape etmədən).
+ *
+ * Hər arxiv ayrıca run kimi işlənir: yeni DatabaseMapper, ayrıca database_import faylı.
+ * Məhsullar ProductArchiveReader ilə memory-mapped fayldan bir-bir oxunur, batchSize-lıq
+ * qruplarla paralel map edilir və dərhal fayla yazılır, ona görə heap arxiv ölçüsündən asılı deyil.
+ * Spesifikasiyası arxivdə olan məhsulların attributes-u AttributeMapper ilə yenidən qurulur;
+ * köhnə arxivlərdə (spesifikasiyasız) arxivdəki attributes saxlanır, description isə boş qalır.
+ *
+ * İstifadə: java ... com.ecommerce.scraper.ArchiveReplay [fayl | qovluq ...]  (default: output)
+ */
+public class ArchiveReplay {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveReplay.class);
+
+    private final JsonExporter jsonExporter;
+    private final AttributeMapper attributeMapper = new AttributeMapper();
+    private final boolean deterministicIds;
+    private final int parallelism;
+    private final int batchSize;
+
+    public ArchiveReplay(JsonExporter jsonExporter, boolean deterministicIds, int parallelism, int batchSize) {
+        this.jsonExporter = jsonExporter;
+        this.deterministicIds = deterministicIds;
+        this.parallelism = parallelism;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Bir arxivi map et və outputPath-a yaz; yazılmış məhsul sayını qaytarır
+     */
+    public long replay(File archive, String outputPath) throws IOException {
+        DatabaseMapper mapper = new DatabaseMapper(deterministicIds);
+        List<Product> batch = new ArrayList<>(batchSize);
+
+        try (ProductArchiveReader reader = new ProductArchiveReader(List.of(archive));
+             DatabaseJsonStreamWriter writer = jsonExporter.openDatabaseStream(outputPath)) {
+
+            while (reader.hasNext()) {
+                batch.add(remapAttributes(reader.next()));
+                if (batch.size() == batchSize) {
+                    writer.append(mapper.mapBatch(batch, parallelism));
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                writer.append(mapper.mapBatch(batch, parallelism));
+            }
+
+            return reader.getCount();
+        }
+    }
+
+    /**
+     * Specifications → attributes, pipeline-dakı kimi (spesifikasiyasız köhnə arxivlərdə dəyişmir)
+     */
+    private Product remapAttributes(Product product) {
+        if (product.getSpecifications() != null) {
+            product.setAttributes(attributeMapper.mapToAttributes(product.getSpecifications()));
+        }
+        return product;
+    }
+
+    /**
+     * Bütün arxivləri ardıcıl işlə (bir arxivin xətası digərlərini dayandırmır)
+     */
+    public void replayAll(List<File> archives, String outputDir) {
+        long start = System.currentTimeMillis();
+        long total = 0;
+        int failed = 0;
+
+        for (File archive : archives) {
+            String outputPath = new File(outputDir, outputName(archive)).getPath();
+            long archiveStart = System.currentTimeMillis();
+
+            try {
+                long count = replay(archive, outputPath);
+                total += count;
+                logger.info("✅ {} → {} ({} məhsul, {} ms)", archive.getName(), outputPath, count,
+                        System.currentTimeMillis() - archiveStart);
+            } catch (IOException | RuntimeException e) {
+                failed++;
+                logger.error("❌ {} işlənmədi: {}", archive.getName(), e.getMessage());
+            }
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        logger.info("📊 Replay: {} arxiv ({} uğursuz), {} məhsul, {} ms, heap {} MB",
+                archives.size(), failed, total, System.currentTimeMillis() - start,
+                (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024));
+    }
+
+    /**
+     * scraped_raw_X.json → database_import_X.<output uzantısı>
+     */
+    String outputName(File archive) {
+        String name = archive.getName();
+        int dot = name.indexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return base.replaceFirst("^scraped_raw_", "database_import_") + "." + jsonExporter.getExtension();
+    }
+
+    public static void main(String[] args) {
+        ScraperConfig config = ScraperConfig.fromSystemProperties(true);
+        List<String> paths = args.length > 0 ? Arrays.asList(args) : List.of("output");
+
+        List<File> archives = ProductArchiveReader.findArchives(paths);
+        if (archives.isEmpty()) {
+            logger.warn("⚠️ Arxiv tapılmadı: {}", paths);
+            return;
+        }
+
+        JsonExporter exporter = new JsonExporter(config.isCompactOutput(), config.getOutputFormat(), config.getCompression());
+        new ArchiveReplay(exporter, config.isDeterministicIds(), config.getReplayParallelism(), config.getReplayBatchSize())
+                .replayAll(archives, config.getReplayOutputDir());
+    }
+}
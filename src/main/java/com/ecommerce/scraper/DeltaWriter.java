@@ -0,0 +1,57 @@
+package com.ecommerce.scraper;
+
+import com.ecommerce.scraper.mapper.DatabaseDiffer;
+import com.ecommerce.scraper.mapper.DatabaseOutput;
+import com.ecommerce.scraper.mapper.DeltaOutput;
+import com.ecommerce.scraper.utils.DatabaseJsonStreamWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Delta rejimi üçün pipeline hissəsi: database mərhələsində entity-lər əvvəlki import ilə
+ * müqayisə olunur (ID-lər sabit ID-lərlə əvəz edilir), export mərhələsində isə yeni və
+ * dəyişmiş entity-lər ayrı fayllara yazılır. Silinmələr run sonunda scraper tərəfindən yazılır.
+ */
+public class DeltaWriter implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeltaWriter.class);
+
+    private final DatabaseDiffer differ;
+    private final DatabaseJsonStreamWriter insertWriter;
+    private final DatabaseJsonStreamWriter updateWriter;
+
+    public DeltaWriter(DatabaseDiffer differ, DatabaseJsonStreamWriter insertWriter,
+                       DatabaseJsonStreamWriter updateWriter) {
+        this.differ = differ;
+        this.insertWriter = insertWriter;
+        this.updateWriter = updateWriter;
+    }
+
+    /**
+     * Entity-ləri yerində sabit ID-lərə keçir, insert/update dəstlərini qaytar
+     */
+    DeltaOutput diff(DatabaseOutput entities) {
+        return differ.diff(entities);
+    }
+
+    void append(DeltaOutput delta) throws IOException {
+        insertWriter.append(delta.getInserts());
+        updateWriter.append(delta.getUpdates());
+    }
+
+    public DatabaseDiffer getDiffer() {
+        return differ;
+    }
+
+    @Override
+    public void close() throws IOException {
+        insertWriter.close();
+        updateWriter.close();
+
+        logger.info("✅ Delta yazıldı: inserts {}, updates {}", insertWriter.getPaths(), updateWriter.getPaths());
+        differ.logSummary();
+    }
+}
@@ -0,0 +1,413 @@
+package com.ecommerce.scraper;
+
+import com.ecommerce.scraper.jfr.ExportEvent;
+import com.ecommerce.scraper.jfr.MappingEvent;
+import com.ecommerce.scraper.mapper.AttributeMapper;
+import com.ecommerce.scraper.mapper.DatabaseMapper;
+import com.ecommerce.scraper.mapper.DatabaseOutput;
+import com.ecommerce.scraper.mapper.DeltaOutput;
+import com.ecommerce.scraper.model.Product;
+import com.ecommerce.scraper.model.ProductVariant;
+import com.ecommerce.scraper.model.db.ProductVariantEntity;
+import com.ecommerce.scraper.utils.BulkLoadWriter;
+import com.ecommerce.scraper.utils.DatabaseJsonStreamWriter;
+import com.ecommerce.scraper.utils.JdbcBatchLoader;
+import com.ecommerce.scraper.utils.JsonStreamWriter;
+import com.ecommerce.scraper.utils.MetricsRegistry;
+import com.ecommerce.scraper.utils.ProductJsonStreamWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Scrape → AttributeMapper → DatabaseMapper → exporter mərhələləri.
+ *
+ * Mərhələlər ayrı thread-lərdə işləyir və məhdud ölçülü queue-larla bağlıdır:
+ * queue dolanda submit() bloklanır (backpressure), beləliklə yaddaşda eyni anda
+ * yalnız bir neçə məhsul olur. Hər məhsul scrape olunan kimi map edilib fayla yazılır.
+ *
+ * Incremental rejimdə qiyməti dəyişmiş ProductVariantEntity-lər ayrıca fayla da yazılır.
+ * Delta rejimində (DeltaWriter) entity-lər əvvəlki import ilə müqayisə olunub
+ * insert/update fayllarına da yazılır.
+ *
+ * JdbcBatchLoader verilibsə entity-lər bazaya da yazılır; endPage() markeri export
+ * mərhələsinə çatanda həmin siyahı səhifəsinin transaction-ı commit olunur.
+ *
+ * BulkLoadWriter verilibsə entity-lər hər cədvəl üçün CSV / COPY faylına da yazılır.
+ *
+ * Hər mərhələnin məhsul başına icra vaxtı MetricsRegistry-ə yazılır.
+ */
+public class ProductPipeline implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductPipeline.class);
+
+    private static final Item END = new Item(null);
+
+    private final AttributeMapper attributeMapper = new AttributeMapper();
+    private final DatabaseMapper databaseMapper;
+    private final ProductJsonStreamWriter rawWriter;
+    private final DatabaseJsonStreamWriter databaseWriter;
+    private final JsonStreamWriter<ProductVariantEntity> priceChangeWriter;
+    private final DeltaWriter deltaWriter;
+    private final JdbcBatchLoader jdbcLoader;
+    private final BulkLoadWriter bulkWriter;
+    private final MetricsRegistry metrics;
+
+    private final BlockingQueue<Item> attributeQueue;
+    private final BlockingQueue<Item> databaseQueue;
+    private final BlockingQueue<Item> exportQueue;
+    private final List<Thread> stages = new ArrayList<>();
+
+    private boolean closed;
+
+    /**
+     * Bütün output-lar (bax: Outputs) - verilməyən əlavə output-lar null qalır.
+     * Mərhələ vaxtları verilən MetricsRegistry-ə yazılır (scraper-in öz mərhələləri ilə bir cədvəldə).
+     */
+    public ProductPipeline(DatabaseMapper databaseMapper, Outputs outputs, int queueSize, MetricsRegistry metrics) {
+        this.metrics = metrics;
+        this.databaseMapper = databaseMapper;
+        this.rawWriter = outputs.rawWriter;
+        this.databaseWriter = outputs.databaseWriter;
+        this.priceChangeWriter = outputs.priceChangeWriter;
+        this.deltaWriter = outputs.deltaWriter;
+        this.jdbcLoader = outputs.jdbcLoader;
+        this.bulkWriter = outputs.bulkWriter;
+        this.attributeQueue = new ArrayBlockingQueue<>(queueSize);
+        this.databaseQueue = new ArrayBlockingQueue<>(queueSize);
+        this.exportQueue = new ArrayBlockingQueue<>(queueSize);
+
+        startStage("attributes", attributeQueue, databaseQueue, this::mapAttributes);
+        startStage("database", databaseQueue, exportQueue, this::mapDatabase);
+        startStage("export", exportQueue, null, this::export);
+    }
+
+    /**
+     * Məhsulu pipeline-a ver (queue doludursa gözləyir)
+     */
+    public void submit(Product product) throws InterruptedException {
+        attributeQueue.put(new Item(product));
+    }
+
+    /**
+     * Məhsulu qiyməti dəyişmiş variantların açarları ilə ver (bax: VariantPriceDiff)
+     */
+    public void submit(Product product, Set<String> changedVariantKeys) throws InterruptedException {
+        Item item = new Item(product);
+        item.changedVariantKeys = changedVariantKeys;
+        attributeQueue.put(item);
+    }
+
+    /**
+     * Siyahı səhifəsinin sonu: ondan əvvəl verilmiş məhsullar bir transaction-da commit olunur
+     */
+    public void endPage(int pageNumber) throws InterruptedException {
+        if (jdbcLoader == null) {
+            return;
+        }
+
+        Item marker = new Item(null);
+        marker.endOfPage = pageNumber;
+        attributeQueue.put(marker);
+    }
+
+    /**
+     * Specifications → attributes
+     */
+    private void mapAttributes(Item item) {
+        if (item.product == null) {
+            return;
+        }
+        MappingEvent event = new MappingEvent();
+        event.begin();
+        item.product.setAttributes(attributeMapper.mapToAttributes(item.product.getSpecifications()));
+        commitMapping(event, "attributes", item.product);
+    }
+
+    /**
+     * Product → database entity-ləri (delta rejimində sabit ID-lərlə)
+     */
+    private void mapDatabase(Item item) {
+        if (item.product == null) {
+            return;
+        }
+        MappingEvent event = new MappingEvent();
+        event.begin();
+        item.entities = databaseMapper.mapProduct(item.product);
+
+        if (deltaWriter != null) {
+            item.delta = deltaWriter.diff(item.entities);
+        }
+        commitMapping(event, "database", item.product);
+    }
+
+    private static void commitMapping(MappingEvent event, String stage, Product product) {
+        if (event.shouldCommit()) {
+            event.stage = stage;
+            event.product = product.getTitle();
+            event.variants = product.getVariants() != null ? product.getVariants().size() : 0;
+            event.commit();
+        }
+    }
+
+    /**
+     * Raw və database fayllarına yaz
+     */
+    private void export(Item item) {
+        if (item.product == null) {
+            commitPage(item.endOfPage);
+            return;
+        }
+
+        ExportEvent event = new ExportEvent();
+        event.begin();
+
+        try {
+            rawWriter.append(item.product);
+            databaseWriter.append(item.entities);
+
+            if (deltaWriter != null) {
+                deltaWriter.append(item.delta);
+            }
+
+            if (bulkWriter != null) {
+                bulkWriter.append(item.entities);
+            }
+
+            if (priceChangeWriter != null && item.changedVariantKeys != null) {
+                writePriceChanges(item);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Export xətası: " + e.getMessage(), e);
+        }
+
+        if (jdbcLoader != null) {
+            try {
+                jdbcLoader.append(item.entities);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Baza xətası (səhifə rollback olundu): " + e.getMessage(), e);
+            }
+        }
+
+        if (event.shouldCommit()) {
+            event.product = item.product.getTitle();
+            event.variants = item.product.getVariants() != null ? item.product.getVariants().size() : 0;
+            event.commit();
+        }
+    }
+
+    private void commitPage(int pageNumber) {
+        try {
+            jdbcLoader.commitPage();
+            logger.debug("Səhifə {} bazaya commit olundu", pageNumber);
+        } catch (SQLException e) {
+            logger.error("  ❌ Səhifə {} bazaya yazılmadı (rollback): {}", pageNumber, e.getMessage());
+        }
+    }
+
+    /**
+     * Variant entity-ləri product.getVariants() ilə eyni sıradadır
+     */
+    private void writePriceChanges(Item item) throws IOException {
+        List<ProductVariant> variants = item.product.getVariants();
+        List<ProductVariantEntity> variantEntities = item.entities.getProductVariants();
+
+        for (int i = 0; i < variants.size() && i < variantEntities.size(); i++) {
+            if (item.changedVariantKeys.contains(VariantPriceDiff.key(variants.get(i)))) {
+                priceChangeWriter.append(variantEntities.get(i));
+            }
+        }
+    }
+
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    public DeltaWriter getDeltaWriter() {
+        return deltaWriter;
+    }
+
+    /**
+     * Raw və database output fayllarının yolları
+     */
+    public List<String> getOutputPaths() {
+        List<String> paths = new ArrayList<>();
+        paths.add(rawWriter.getPath());
+        paths.addAll(databaseWriter.getPaths());
+        return paths;
+    }
+
+    private void startStage(String name, BlockingQueue<Item> input, BlockingQueue<Item> output,
+                            Consumer<Item> work) {
+        Thread stage = new Thread(() -> {
+            try {
+                while (true) {
+                    Item item = input.take();
+
+                    if (item != END) {
+                        long start = System.nanoTime();
+                        try {
+                            work.accept(item);
+                            if (item.product != null) {
+                                metrics.recordSince(name, start);
+                            }
+                        } catch (Exception | Error e) {
+                            metrics.increment(name + "_errors");
+                            logFailure(name, item, e);
+
+                            // Uğursuz məhsul atılır, səhifə sonu markeri isə növbəti mərhələyə ötürülür
+                            if (item.product != null) {
+                                continue;
+                            }
+                        }
+                    }
+
+                    if (output != null) {
+                        output.put(item);
+                    }
+                    if (item == END) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "pipeline-" + name);
+
+        stage.setDaemon(true);
+        stage.start();
+        stages.add(stage);
+    }
+
+    /**
+     * Mərhələ xətasını log et. Log özü xəta versə də mərhələ thread-i ölməməlidir,
+     * əks halda yuxarıdakı put()-lar həmişəlik bloklanır.
+     */
+    private static void logFailure(String stage, Item item, Throwable error) {
+        try {
+            String subject = item.product != null ? item.product.getTitle() : "səhifə " + item.endOfPage + " markeri";
+            logger.error("  ❌ Pipeline ({}) xətası - {}: {}", stage, subject, error.getMessage());
+        } catch (RuntimeException | Error e) {
+            // Log edilə bilmədi - queue-nu boşaltmağa davam et
+        }
+    }
+
+    /**
+     * Queue-ları boşalt, mərhələləri dayandır və faylları yekunlaşdır
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            attributeQueue.put(END);
+            for (Thread stage : stages) {
+                stage.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stages.forEach(Thread::interrupt);
+        }
+
+        rawWriter.close();
+        databaseWriter.close();
+        if (priceChangeWriter != null) {
+            priceChangeWriter.close();
+            logger.info("✅ {} qiymət dəyişikliyi yazıldı: {}", priceChangeWriter.getCount(), priceChangeWriter.getPath());
+        }
+        if (deltaWriter != null) {
+            deltaWriter.close();
+        }
+        if (jdbcLoader != null) {
+            jdbcLoader.close();
+        }
+        if (bulkWriter != null) {
+            bulkWriter.close();
+            logger.info("✅ Bulk-load faylları yazıldı: {} (Attributes: {})",
+                    bulkWriter.getPaths(), bulkWriter.getCount("product_attributes"));
+        }
+
+        logger.info("✅ {} ədəd məhsul yazıldı: {}", rawWriter.getCount(), rawWriter.getPath());
+        logger.info("✅ Database output yazıldı: {} (Brands: {}, Products: {}, Variants: {}, Attributes: {})",
+                databaseWriter.getPaths(),
+                databaseWriter.getCount("brands"),
+                databaseWriter.getCount("products"),
+                databaseWriter.getCount("product_variants"),
+                databaseWriter.getCount("product_attributes"));
+    }
+
+    /**
+     * Mərhələlər arasında ötürülən məhsul (product == null: səhifə sonu markeri)
+     */
+    private static class Item {
+        final Product product;
+        DatabaseOutput entities;
+        DeltaOutput delta;
+        Set<String> changedVariantKeys;
+        int endOfPage;
+
+        Item(Product product) {
+            this.product = product;
+        }
+    }
+
+    /**
+     * Pipeline-ın yazdığı output-lar: raw və database writer-ləri məcburidir, qalanları istəyə bağlıdır
+     */
+    public static class Outputs {
+        private final ProductJsonStreamWriter rawWriter;
+        private final DatabaseJsonStreamWriter databaseWriter;
+        private JsonStreamWriter<ProductVariantEntity> priceChangeWriter;
+        private DeltaWriter deltaWriter;
+        private JdbcBatchLoader jdbcLoader;
+        private BulkLoadWriter bulkWriter;
+
+        public Outputs(ProductJsonStreamWriter rawWriter, DatabaseJsonStreamWriter databaseWriter) {
+            this.rawWriter = rawWriter;
+            this.databaseWriter = databaseWriter;
+        }
+
+        /**
+         * Qiyməti dəyişmiş variantlar (incremental rejim)
+         */
+        public Outputs priceChanges(JsonStreamWriter<ProductVariantEntity> priceChangeWriter) {
+            this.priceChangeWriter = priceChangeWriter;
+            return this;
+        }
+
+        /**
+         * Əvvəlki import ilə müqayisə: insert/update faylları
+         */
+        public Outputs delta(DeltaWriter deltaWriter) {
+            this.deltaWriter = deltaWriter;
+            return this;
+        }
+
+        /**
+         * Bazaya birbaşa yazma (hər siyahı səhifəsi bir transaction)
+         */
+        public Outputs jdbc(JdbcBatchLoader jdbcLoader) {
+            this.jdbcLoader = jdbcLoader;
+            return this;
+        }
+
+        /**
+         * Cədvəl başına CSV / COPY faylları
+         */
+        public Outputs bulk(BulkLoadWriter bulkWriter) {
+            this.bulkWriter = bulkWriter;
+            return this;
+        }
+    }
+}
@@ -1,38 +1,119 @@
 package com.ecommerce.scraper;
 
+import com.ecommerce.scraper.jfr.NavigationEvent;
+import com.ecommerce.scraper.jfr.ScrapeContext;
+import com.ecommerce.scraper.mapper.DatabaseDiffer;
 import com.ecommerce.scraper.mapper.DatabaseMapper;
-import com.ecommerce.scraper.mapper.DatabaseOutput;
+import com.ecommerce.scraper.mapper.DatabaseState;
 import com.ecommerce.scraper.model.Product;
+import com.ecommerce.scraper.model.ProductVariant;
+import com.ecommerce.scraper.model.db.ProductVariantEntity;
+import com.ecommerce.scraper.pages.HttpProductDetailPage;
+import com.ecommerce.scraper.pages.HttpProductListPage;
+import com.ecommerce.scraper.pages.PageBackend;
 import com.ecommerce.scraper.pages.ProductDetailPage;
 import com.ecommerce.scraper.pages.ProductListPage;
+import com.ecommerce.scraper.utils.CrawlJournal;
+import com.ecommerce.scraper.utils.DriverResolver;
+import com.ecommerce.scraper.utils.FetchGovernor;
+import com.ecommerce.scraper.utils.HtmlPageCache;
+import com.ecommerce.scraper.utils.HttpPageFetcher;
+import com.ecommerce.scraper.utils.JdbcBatchLoader;
 import com.ecommerce.scraper.utils.JsonExporter;
+import com.ecommerce.scraper.utils.JsonStreamWriter;
+import com.ecommerce.scraper.utils.MetricsRegistry;
+import com.ecommerce.scraper.utils.OutputReader;
+import com.ecommerce.scraper.utils.OutputSizeReport;
 import com.ecommerce.scraper.utils.WebDriverFactory;
+import com.ecommerce.scraper.utils.WebDriverPool;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.UnreachableBrowserException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 
 public class QiymetiScraper {
 
     private static final Logger logger = LoggerFactory.getLogger(QiymetiScraper.class);
 
-    private static final String BASE_URL = "https://qiymeti.net/qiymetleri/telefon/";
-    private static final int MAX_PAGES = 1;
 
-    private final WebDriver driver;
+    private final ScraperConfig config;
+    private final WebDriverPool driverPool;
+    private final HtmlPageCache pageCache;
+    private final FetchGovernor fetchGovernor;
+    private final HttpPageFetcher httpFetcher;
+    private final ExecutorService productExecutor;
     private final JsonExporter jsonExporter;
     private final DatabaseMapper databaseMapper;
-    private final List<Product> allProducts;
+    private ProductPipeline pipeline;
+    private CrawlJournal journal;
+    private CrawlJournal snapshot;
+    private String deltaBase;
+    private boolean completed;
+    private final Set<String> seenUrls = new HashSet<>();
+    private int productCount;
+    private int variantCount;
+    private final MetricsRegistry metrics = new MetricsRegistry();
+    private String runTimestamp;
 
     public QiymetiScraper(boolean headless) {
-        this.driver = WebDriverFactory.createChromeDriver(headless);
-        this.jsonExporter = new JsonExporter();
-        this.databaseMapper = new DatabaseMapper();
-        this.allProducts = new ArrayList<>();
+        this(ScraperConfig.fromSystemProperties(headless));
+    }
+
+    public QiymetiScraper(ScraperConfig config) {
+        this.config = config;
+        WebDriverFactory.setDriverResolver(new DriverResolver(config.getDriverPath(), config.getDriverCacheDir(),
+                config.isDriverOffline(), config.getDriverTtl()));
+        WebDriverFactory.setCommandEvents(config.isJfrCommandEvents());
+        this.driverPool = new WebDriverPool(config.getPoolSize(), config.getRecycleAfter(), config.isHeadless(),
+                config.getBrowserProfile(), config.getUserDataDir() != null ? Paths.get(config.getUserDataDir()) : null);
+        this.pageCache = openPageCache(config);
+        this.fetchGovernor = new FetchGovernor(config.getFetchRate(), config.getFetchMaxRate(),
+                config.getFetchConcurrency(), config.getPoolSize(), config.getFetchSlowMs());
+        this.httpFetcher = new HttpPageFetcher(Duration.ofSeconds(15), pageCache, fetchGovernor, config.isCacheReadOnline());
+        this.productExecutor = Executors.newFixedThreadPool(config.getPoolSize());
+        this.jsonExporter = new JsonExporter(config.isCompactOutput(), config.getOutputFormat(), config.getCompression());
+        this.databaseMapper = new DatabaseMapper(config.isDeterministicIds());
+    }
+
+    /**
+     * scraper.cache.dir verilibsə HTML cache-i aç (offline rejimdə məcburidir)
+     */
+    private static HtmlPageCache openPageCache(ScraperConfig config) {
+        if (config.getCacheDir() == null) {
+            return null;
+        }
+
+        try {
+            return new HtmlPageCache(Paths.get(config.getCacheDir()), config.getCacheTtl(),
+                    config.getCacheMaxBytes(), config.isOffline());
+        } catch (IOException e) {
+            throw new UncheckedIOException("HTML cache açıla bilmədi: " + config.getCacheDir(), e);
+        }
     }
 
     /**
@@ -43,105 +124,659 @@ public class QiymetiScraper {
         logger.info("🚀 Qiymeti.net Scraper başladı");
         logger.info("========================================");
 
+        logger.info("Backend - List: {}, Detail: {}, Variant: {}, Browser: {}",
+                config.getListBackend(), config.getDetailBackend(), config.getVariantMode(), config.getBrowserProfile());
+        if (pageCache != null) {
+            logger.info("HTML cache: {}{}", config.getCacheDir(), config.isOffline() ? " (offline)" : "");
+        }
+
+        // Siyahı səhifəsi yüklənərkən brauzer sessiyaları arxa planda açılır
+        if (config.getListBackend() == PageBackend.SELENIUM || config.getDetailBackend() == PageBackend.SELENIUM) {
+            driverPool.warmUp(config.getWarmUp());
+        }
+
         try {
-            driver.get(BASE_URL);
-            logger.info("Əsas səhifə açıldı: {}", BASE_URL);
+            // 1-ci səhifə: məhsul linkləri + son səhifə nömrəsi
+            ListPageResult firstPage = harvestListPage(1);
 
-            ProductListPage listPage = new ProductListPage(driver);
+            if (firstPage == null || firstPage.productLinks.isEmpty()) {
+                logger.warn("⚠️ Səhifədə məhsul tapılmadı, dayanır");
+                return;
+            }
 
-            int currentPage = 1;
+            int pageCount = resolvePageCount(firstPage.lastPageNumber);
+            logger.info("📄 {} səhifə işlənəcək (widget-də son səhifə: {})", pageCount, firstPage.lastPageNumber);
 
-            while (currentPage <= MAX_PAGES) {
-                logger.info("📄 Səhifə {}/{} işlənir...", currentPage, MAX_PAGES);
+            // Qalan səhifələr URL ilə, bir-birindən asılı olmadan paralel yüklənir
+            List<Future<ListPageResult>> pageFutures = new ArrayList<>();
+            for (int page = 2; page <= pageCount; page++) {
+                final int pageNumber = page;
+                pageFutures.add(productExecutor.submit(() -> harvestListPage(pageNumber)));
+            }
 
-                // Məhsul linklərini topla
-                List<String> productLinks = listPage.getProductLinks();
+            // Məhsulları driver pool üzərində paralel topla və sıra ilə pipeline-a ötür
+            openPipeline();
+            Deque<PendingProduct> inFlight = new ArrayDeque<>();
+            submitProducts(firstPage, inFlight);
 
-                if (productLinks.isEmpty()) {
-                    logger.warn("⚠️ Səhifədə məhsul tapılmadı, dayanır");
-                    break;
+            for (Future<ListPageResult> pageFuture : pageFutures) {
+                try {
+                    ListPageResult listPage = pageFuture.get();
+                    if (listPage != null) {
+                        submitProducts(listPage, inFlight);
+                    }
+                } catch (ExecutionException e) {
+                    logger.error("❌ Siyahı səhifəsi xətası: {}", e.getCause().getMessage());
                 }
+            }
 
-                // Hər məhsula daxil ol
-                for (int i = 0; i < productLinks.size(); i++) {
-                    String productUrl = productLinks.get(i);
+            // Resume: bu run-da siyahıda görünməyən jurnal məhsulları da export-a düşsün
+            if (config.isResume()) {
+                mergeRemainingJournal(inFlight);
+            }
 
-                    logger.info("  📱 Məhsul {}/{} - {}",
-                            i + 1, productLinks.size(), productUrl);
+            while (!inFlight.isEmpty()) {
+                forwardNext(inFlight);
+            }
 
-                    try {
-                        // Məhsul səhifəsinə keç
-                        driver.get(productUrl);
+            completed = !Thread.currentThread().isInterrupted();
 
-                        ProductDetailPage detailPage = new ProductDetailPage(driver);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("⚠️ Scraper dayandırıldı");
 
-                        // Data topla
-                        Product product = detailPage.scrapeProductData();
-                        allProducts.add(product);
+        } catch (Exception e) {
+            logger.error("❌ Scraper xətası: {}", e.getMessage(), e);
 
-                        logger.info("  ✅ {} - {} variant toplandı",
-                                product.getTitle(),
-                                product.getVariants().size());
+        } finally {
+            cleanup();
+        }
+    }
 
-                        // Geri qayıt
-                        driver.navigate().back();
+    /**
+     * Konfiqurasiya olunmuş limit və widget-dən tapılan son səhifəyə görə səhifə sayı
+     */
+    private int resolvePageCount(int lastPageNumber) {
+        int maxPages = config.getMaxPages();
+        return maxPages > 0 ? Math.min(maxPages, lastPageNumber) : lastPageNumber;
+    }
 
-                    } catch (Exception e) {
-                        logger.error("  ❌ Məhsul scrape xətası: {}", e.getMessage());
-                    }
-                }
+    /**
+     * N-ci siyahı səhifəsini birbaşa URL ilə aç və məhsul linklərini topla
+     */
+    private ListPageResult harvestListPage(int pageNumber) throws Exception {
+        String pageUrl = ProductListPage.pageUrl(config.getBaseUrl(), pageNumber);
+        logger.info("📄 Səhifə {} yüklənir: {}", pageNumber, pageUrl);
+        long start = System.nanoTime();
+        ScrapeContext.enter(pageUrl);
 
-                // Növbəti səhifəyə keç
-                if (currentPage < MAX_PAGES) {
-                    boolean hasNext = listPage.clickNextPage();
-                    if (!hasNext) {
-                        logger.info("Son səhifə, scraping bitir");
-                        break;
-                    }
-                }
+        try {
+            if (config.getListBackend() == PageBackend.HTTP) {
+                long fetchStart = System.nanoTime();
+                HttpProductListPage listPage = HttpProductListPage.fetch(httpFetcher, pageUrl);
+                metrics.recordSince("fetch", fetchStart);
+                return new ListPageResult(pageNumber, listPage.getProductLinks(), listPage.getLastPageNumber());
+            }
+
+            return withPooledDriver(pageUrl, d -> {
+                ProductListPage listPage = new ProductListPage(d);
+                return new ListPageResult(pageNumber, listPage.getProductLinks(), listPage.getLastPageNumber());
+            });
+        } finally {
+            metrics.recordSince("list", start);
+            ScrapeContext.exit();
+        }
+    }
+
+    /**
+     * Checkpoint jurnalını, output fayllarını aç və pipeline-ı başlat
+     */
+    private void openPipeline() throws IOException {
+        journal = CrawlJournal.open(config.getJournalPath(), config.isResume());
+
+        // Incremental: əvvəlki uğurlu run-ın məhsulları
+        if (config.isIncremental() && new File(config.getSnapshotPath()).exists()) {
+            snapshot = CrawlJournal.openSnapshot(config.getSnapshotPath());
+        }
+
+        String timestamp = runTimestamp();
+        String extension = jsonExporter.getExtension();
+        String rawOutputFile = String.format("%s/scraped_raw_%s.%s", config.getOutputDir(), timestamp, extension);
+        String dbOutputFile = String.format("%s/database_import_%s.%s", config.getOutputDir(), timestamp, extension);
+
+        JsonStreamWriter<ProductVariantEntity> priceChangeWriter = config.isIncremental()
+                ? jsonExporter.openVariantStream(
+                        String.format("%s/price_changes_%s.%s", config.getOutputDir(), timestamp, extension))
+                : null;
+
+        ProductPipeline.Outputs outputs = new ProductPipeline.Outputs(
+                jsonExporter.openProductStream(rawOutputFile),
+                jsonExporter.openDatabaseStream(dbOutputFile))
+                .priceChanges(priceChangeWriter)
+                .delta(config.isDelta() ? openDeltaWriter(timestamp, extension) : null)
+                .jdbc(config.getJdbcUrl() != null ? openJdbcLoader() : null);
+
+        // Bulk-load: hər cədvələ bir CSV / COPY faylı (JSON output-a əlavə olaraq)
+        if (config.getBulkFormat() != null) {
+            outputs.bulk(jsonExporter.openBulkStream(
+                    String.format("%s/database_bulk_%s", config.getOutputDir(), timestamp), config.getBulkFormat()));
+        }
+
+        pipeline = new ProductPipeline(databaseMapper, outputs, config.getPipelineQueueSize(), metrics);
+    }
+
+    /**
+     * Run-ın output fayllarının ortaq timestamp-i (ilk çağırışda təyin olunur)
+     */
+    private String runTimestamp() {
+        if (runTimestamp == null) {
+            runTimestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        }
+        return runTimestamp;
+    }
+
+    /**
+     * Bazaya birbaşa yazmaq üçün JDBC loader (hər siyahı səhifəsi bir transaction)
+     */
+    private JdbcBatchLoader openJdbcLoader() throws IOException {
+        if (!config.isDeterministicIds() && !config.isDelta()) {
+            logger.warn("⚠️ Upsert açarı id-dir: run-lar arasında sabit ID üçün scraper.ids.deterministic və ya scraper.delta istifadə edin");
+        }
 
-                currentPage++;
+        try {
+            JdbcBatchLoader loader = JdbcBatchLoader.connect(config.getJdbcUrl(), config.getJdbcUser(),
+                    config.getJdbcPassword(), config.getJdbcBatchSize(), config.getJdbcRowsPerStatement());
+            if (config.isJdbcCreateSchema()) {
+                loader.createSchema();
+            }
+            return loader;
+        } catch (SQLException e) {
+            throw new IOException("JDBC bağlantı xətası: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Əvvəlki import-un state-ini yüklə və insert/update fayllarını aç
+     */
+    private DeltaWriter openDeltaWriter(String timestamp, String extension) throws IOException {
+        DatabaseState previousState;
+        File stateFile = new File(config.getDeltaStatePath());
+
+        if (stateFile.exists()) {
+            previousState = DatabaseState.load(stateFile);
+        } else if (config.getDeltaPreviousImport() != null) {
+            // Əvvəlki import istənilən output formatında ola bilər (json / ndjson / smile / cbor, gzip)
+            previousState = DatabaseState.fromDatabaseOutput(
+                    OutputReader.readDatabaseOutput(new File(config.getDeltaPreviousImport())));
+        } else {
+            logger.info("Əvvəlki state yoxdur, bütün entity-lər insert kimi yazılacaq");
+            previousState = new DatabaseState();
+        }
+
+        logger.info("🔁 Delta rejimi: əvvəlki import-da {} məhsul var", previousState.getProducts().size());
+
+        deltaBase = String.format("%s/database_delta_%s", config.getOutputDir(), timestamp);
+        return new DeltaWriter(
+                new DatabaseDiffer(previousState, config.isDeterministicIds()),
+                jsonExporter.openDatabaseStream(String.format("%s_inserts.%s", deltaBase, extension)),
+                jsonExporter.openDatabaseStream(String.format("%s_updates.%s", deltaBase, extension)));
+    }
+
+    /**
+     * Səhifənin məhsul linklərini pool-dakı boş driver-lərə payla.
+     * Eyni anda ən çox maxInFlight məhsul işlənir ki, yaddaş crawl ölçüsündən asılı olmasın.
+     */
+    private void submitProducts(ListPageResult listPage, Deque<PendingProduct> inFlight)
+            throws InterruptedException {
+        List<String> productLinks = listPage.productLinks;
+
+        if (productLinks.isEmpty()) {
+            logger.warn("⚠️ Səhifə {}-də məhsul tapılmadı", listPage.pageNumber);
+            return;
+        }
+
+        for (int i = 0; i < productLinks.size(); i++) {
+            awaitSlot(inFlight);
+
+            final int index = i;
+            final String productUrl = productLinks.get(i);
+            seenUrls.add(productUrl);
+
+            // Səhifənin son məhsulu ötürüləndən sonra səhifənin DB transaction-ı bağlanır
+            int endOfPage = i == productLinks.size() - 1 ? listPage.pageNumber : 0;
+
+            // Jurnalda olan məhsul yenidən scrape olunmur
+            if (journal.contains(productUrl)) {
+                logger.info("  📒 Məhsul {}/{} jurnaldan - {}", index + 1, productLinks.size(), productUrl);
+                inFlight.add(new PendingProduct(productUrl, null, endOfPage));
+                continue;
+            }
+
+            inFlight.add(new PendingProduct(productUrl,
+                    productExecutor.submit(() -> scrapeProduct(productUrl, index, productLinks.size())),
+                    endOfPage));
+        }
+    }
+
+    /**
+     * Jurnalda olub bu run-da siyahıda görünməyən məhsulları pipeline-a əlavə et
+     */
+    private void mergeRemainingJournal(Deque<PendingProduct> inFlight) throws InterruptedException {
+        for (String url : journal.getUrls()) {
+            if (seenUrls.add(url)) {
+                awaitSlot(inFlight);
+                inFlight.add(new PendingProduct(url, null, 0));
+            }
+        }
+    }
+
+    /**
+     * Eyni anda ən çox maxInFlight məhsul gözləyə bilər
+     */
+    private void awaitSlot(Deque<PendingProduct> inFlight) throws InterruptedException {
+        int maxInFlight = config.getPoolSize() * 2;
+        while (inFlight.size() >= maxInFlight) {
+            forwardNext(inFlight);
+        }
+    }
+
+    /**
+     * Ən köhnə məhsulun nəticəsini gözlə, jurnala yaz və pipeline-a ötür (submit sırası saxlanılır)
+     */
+    private void forwardNext(Deque<PendingProduct> inFlight) throws InterruptedException {
+        PendingProduct pending = inFlight.poll();
+
+        try {
+            forwardProduct(pending);
+        } finally {
+            if (pending.endOfPage > 0) {
+                pipeline.endPage(pending.endOfPage);
             }
+        }
+    }
+
+    private void forwardProduct(PendingProduct pending) throws InterruptedException {
+        boolean fromJournal = pending.future == null;
+        Product product;
+
+        try {
+            product = fromJournal ? journal.read(pending.url) : pending.future.get();
+        } catch (ExecutionException e) {
+            logger.error("  ❌ Məhsul scrape xətası: {}", e.getCause().getMessage());
+            return;
+        } catch (IOException e) {
+            logger.error("  ❌ Jurnal oxuma xətası ({}): {}", pending.url, e.getMessage());
+            return;
+        }
+
+        if (product == null) {
+            return;
+        }
+
+        if (!fromJournal) {
+            try {
+                journal.record(pending.url, product);
+            } catch (IOException e) {
+                logger.error("  ❌ Jurnala yazma xətası ({}): {}", pending.url, e.getMessage());
+            }
+        }
+
+        if (config.isIncremental()) {
+            pipeline.submit(product, VariantPriceDiff.changedKeys(readSnapshot(pending.url), product));
+        } else {
+            pipeline.submit(product);
+        }
+        int variants = product.getVariants() != null ? product.getVariants().size() : 0;
+        productCount++;
+        variantCount += variants;
+        metrics.increment("products");
+        metrics.add("variants", variants);
+    }
+
+    /**
+     * Snapshot-dakı əvvəlki məhsul (yoxdursa null)
+     */
+    private Product readSnapshot(String productUrl) {
+        if (snapshot == null) {
+            return null;
+        }
+
+        try {
+            return snapshot.read(productUrl);
+        } catch (IOException e) {
+            logger.warn("  ⚠️ Snapshot oxunmadı ({}): {}", productUrl, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Tək məhsul səhifəsini seçilmiş backend ilə scrape et
+     */
+    private Product scrapeProduct(String productUrl, int index, int total) {
+        logger.info("  📱 Məhsul {}/{} - {}", index + 1, total, productUrl);
+        long start = System.nanoTime();
+        ScrapeContext.enter(productUrl);
+
+        try {
+            Product previous = readSnapshot(productUrl);
+            Product product = config.getDetailBackend() == PageBackend.HTTP
+                    ? scrapeWithHttp(productUrl, previous)
+                    : withPooledDriver(productUrl, d -> scrapeWithDriver(d, productUrl, previous));
+
+            if (product == null) {
+                metrics.increment("products_failed");
+                return null;
+            }
+
+            logger.info("  ✅ {} - {} variant toplandı",
+                    product.getTitle(),
+                    product.getVariants().size());
+
+            return product;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
 
         } catch (Exception e) {
-            logger.error("❌ Scraper xətası: {}", e.getMessage(), e);
+            metrics.increment("products_failed");
+            logger.error("  ❌ Məhsul scrape xətası: {}", e.getMessage());
+            return null;
 
         } finally {
-            cleanup();
+            metrics.recordSince("product", start);
+            ScrapeContext.exit();
+        }
+    }
+
+    /**
+     * Selenium backend. Spesifikasiya cədvəli snapshot-dakı ilə eynidirsə yalnız qiymətlər yenilənir.
+     */
+    private Product scrapeWithDriver(WebDriver pageDriver, String productUrl, Product previous) {
+        ProductDetailPage detailPage = newDetailPage(pageDriver, productUrl);
+
+        if (isUnchanged(previous, detailPage.getSpecificationsFingerprint())) {
+            previous.setVariants(detailPage.scrapeVariants());
+            return previous;
+        }
+
+        return detailPage.scrapeProductData();
+    }
+
+    /**
+     * HTTP backend: spesifikasiyalar HTML-dən, variant matrisi lazım olduqda cache-dən və ya Selenium-dan.
+     * Spesifikasiya cədvəli snapshot-dakı ilə eynidirsə yalnız qiymətlər yenilənir.
+     */
+    private Product scrapeWithHttp(String productUrl, Product previous) throws Exception {
+        long fetchStart = System.nanoTime();
+        HttpProductDetailPage detailPage = HttpProductDetailPage.fetch(httpFetcher, productUrl);
+        metrics.recordSince("fetch", fetchStart);
+        Product product;
+
+        if (isUnchanged(previous, detailPage.getSpecificationsFingerprint())) {
+            product = previous;
+            product.setVariants(detailPage.scrapeVariants());
+        } else {
+            product = detailPage.scrapeProductData();
+        }
+
+        if (detailPage.hasVariantOptions() && !detailPage.hasCachedVariants()) {
+            if (config.isOffline()) {
+                logger.warn("  ⚠️ Variant matrisi cache-də yoxdur (offline): {}", productUrl);
+                return product;
+            }
+
+            long start = System.nanoTime();
+            List<ProductVariant> variants =
+                    withPooledDriver(productUrl, d -> newDetailPage(d, productUrl).scrapeVariants());
+            metrics.recordSince("variants", start);
+            if (variants == null) {
+                return null;
+            }
+            product.setVariants(variants);
+        }
+
+        return product;
+    }
+
+    /**
+     * Snapshot-dakı məhsulun spesifikasiya fingerprint-i dəyişməyibsə true
+     */
+    private boolean isUnchanged(Product previous, String fingerprint) {
+        boolean unchanged = VariantPriceDiff.sameSpecifications(previous, fingerprint);
+
+        if (unchanged) {
+            metrics.increment("products_unchanged");
+            logger.info("  ♻️ Spesifikasiyalar dəyişməyib, yalnız qiymətlər yenilənir: {}", previous.getTitle());
+        }
+        return unchanged;
+    }
+
+    /**
+     * Konfiqurasiyaya uyğun ProductDetailPage yarat
+     */
+    private ProductDetailPage newDetailPage(WebDriver pageDriver, String productUrl) {
+        ProductDetailPage detailPage =
+                new ProductDetailPage(pageDriver, config.getVariantMode(), config.getPriceUpdateTimeout())
+                        .throttledBy(fetchGovernor)
+                        .measuredBy(metrics);
+        return pageCache != null ? detailPage.recordTo(pageCache, productUrl) : detailPage;
+    }
+
+    /**
+     * Pool-dan driver götür, səhifəni aç və işi icra et.
+     * Xəta / blok səhifəsi açılarsa iş icra olunmur (null).
+     */
+    private <T> T withPooledDriver(String url, Function<WebDriver, T> job) throws InterruptedException {
+        WebDriver pooledDriver = driverPool.borrow();
+        boolean broken = false;
+
+        try {
+            // Səhifəyə birbaşa URL ilə keç (governor-dan icazə ilə)
+            if (!navigate(pooledDriver, url)) {
+                return null;
+            }
+            if (pageCache != null) {
+                pageCache.put(url, pooledDriver.getPageSource());
+            }
+            return job.apply(pooledDriver);
+
+        } catch (NoSuchSessionException | UnreachableBrowserException e) {
+            broken = true;
+            logger.error("  ❌ Driver sessiyası itdi ({}): {}", url, e.getMessage());
+            return null;
+
+        } finally {
+            driverPool.release(pooledDriver, broken);
+        }
+    }
+
+    /**
+     * driver.get() - gecikmə, timeout və xəta səhifəsi FetchGovernor-a bildirilir
+     */
+    private boolean navigate(WebDriver pageDriver, String url) throws InterruptedException {
+        long navigateStart = System.nanoTime();
+        NavigationEvent event = new NavigationEvent();
+        event.begin();
+        event.url = url;
+        event.backend = "selenium";
+
+        long start = fetchGovernor.acquire();
+        FetchGovernor.Outcome outcome = FetchGovernor.Outcome.ERROR;
+
+        try {
+            pageDriver.get(url);
+
+            if (FetchGovernor.isErrorTitle(pageDriver.getTitle())) {
+                event.outcome = "ERROR_PAGE";
+                metrics.increment("error_pages");
+                logger.warn("  ⚠️ Xəta səhifəsi açıldı ({}): {}", pageDriver.getTitle(), url);
+                return false;
+            }
+
+            outcome = FetchGovernor.Outcome.SUCCESS;
+            return true;
+
+        } catch (TimeoutException e) {
+            outcome = FetchGovernor.Outcome.TIMEOUT;
+            metrics.increment("navigate_timeouts");
+            logger.warn("  ⚠️ Səhifə yüklənmə timeout-u: {}", url);
+            return false;
+
+        } finally {
+            fetchGovernor.release(start, outcome);
+            metrics.recordSince("navigate", navigateStart);
+
+            if (event.outcome == null) {
+                event.outcome = outcome.name();
+            }
+            event.commit();
         }
     }
 
     /**
-     * Təmizlik və JSON export
+     * Təmizlik və JSON fayllarının yekunlaşdırılması
      */
     private void cleanup() {
         logger.info("========================================");
         logger.info("📊 Scraping tamamlandı");
-        logger.info("Toplam məhsul sayı: {}", allProducts.size());
+        logger.info("Toplam məhsul sayı: {}", productCount);
+
+        // Pipeline-da qalan məhsulları yaz və JSON fayllarını yekunlaşdır
+        if (pipeline != null) {
+            try {
+                pipeline.close();
+            } catch (IOException e) {
+                logger.error("JSON fayla yazma xətası: {}", e.getMessage(), e);
+            }
 
-        // Export JSON files
-        if (!allProducts.isEmpty()) {
-            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-            
-            // Export raw scraped data
-            String rawOutputFile = String.format("output/scraped_raw_%s.json", timestamp);
-            jsonExporter.exportToJson(allProducts, rawOutputFile);
+            // Output fayllarının format / sıxılma üzrə ölçü və sürət müqayisəsi
+            if (config.isSizeReport()) {
+                OutputSizeReport.log(pipeline.getOutputPaths());
+            }
+        }
 
-            // Export database formatted data
-            String dbOutputFile = String.format("output/database_import_%s.json", timestamp);
-            DatabaseOutput dbOutput = databaseMapper.mapToDatabase(allProducts);
-            jsonExporter.exportDatabaseOutput(dbOutput, dbOutputFile);
+        // Mərhələlərin gecikmə cədvəli (p50 / p95 / p99) və JSON hesabat output-ların yanında
+        metrics.log();
+        try {
+            metrics.writeReport(Paths.get(String.format("%s/metrics_%s.json", config.getOutputDir(), runTimestamp())));
+        } catch (IOException e) {
+            logger.error("Metrics hesabatı yazıla bilmədi: {}", e.getMessage());
         }
+        fetchGovernor.logStats();
+
+        // Silinmələr və yeni state yalnız tam bitmiş run üçün (yarımçıq run hər şeyi "silinmiş" göstərərdi)
+        if (pipeline != null && pipeline.getDeltaWriter() != null) {
+            finishDelta(pipeline.getDeltaWriter().getDiffer());
+        }
+
+        // Checkpoint jurnalını bağla, uğurlu run-ın jurnalı növbəti incremental run üçün snapshot olur
+        closeJournals();
+
+        // Product thread-lərini və driver pool-u dayandır
+        productExecutor.shutdownNow();
+        driverPool.close();
+        logger.info("✅ WebDriver pool bağlandı");
 
-        // WebDriver-ı bağla
-        if (driver != null) {
-            driver.quit();
-            logger.info("✅ WebDriver bağlandı");
+        if (pageCache != null) {
+            pageCache.evict();
+            pageCache.logStats();
         }
 
         logger.info("========================================");
     }
 
+    /**
+     * Delta run-ın silinmələrini yaz və növbəti run üçün state-i saxla
+     */
+    private void finishDelta(DatabaseDiffer differ) {
+        if (!completed) {
+            logger.warn("⚠️ Run tam bitmədi, silinmələr və delta state yazılmadı");
+            return;
+        }
+
+        jsonExporter.exportDeletes(differ.getDeletes(), deltaBase + "_deletes.json");
+
+        try {
+            differ.getNextState().save(new File(config.getDeltaStatePath()));
+            logger.info("✅ Delta state yeniləndi: {}", config.getDeltaStatePath());
+        } catch (IOException e) {
+            logger.error("Delta state yazma xətası: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Siyahı səhifəsinin nəticəsi
+     */
+    private static class ListPageResult {
+        final int pageNumber;
+        final List<String> productLinks;
+        final int lastPageNumber;
+
+        ListPageResult(int pageNumber, List<String> productLinks, int lastPageNumber) {
+            this.pageNumber = pageNumber;
+            this.productLinks = productLinks;
+            this.lastPageNumber = lastPageNumber;
+        }
+    }
+
+    /**
+     * Jurnal və snapshot-u bağla. Run tam bitibsə jurnalı snapshot kimi saxla və sil
+     * (qalan jurnal yarımçıq run deməkdir).
+     */
+    private void closeJournals() {
+        try {
+            if (snapshot != null) {
+                snapshot.close();
+            }
+            if (journal != null) {
+                journal.close();
+
+                if (completed) {
+                    Path snapshotPath = Paths.get(config.getSnapshotPath());
+                    Path tempPath = Paths.get(config.getSnapshotPath() + ".tmp");
+                    Files.copy(Paths.get(config.getJournalPath()), tempPath, StandardCopyOption.REPLACE_EXISTING);
+                    Files.move(tempPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    Files.delete(Paths.get(config.getJournalPath()));
+                    logger.info("📒 Snapshot yeniləndi: {}", snapshotPath);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Jurnal bağlanma xətası: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Scrape olunan (future != null) və ya jurnaldan oxunacaq (future == null) məhsul
+     */
+    private static class PendingProduct {
+        final String url;
+        final Future<Product> future;
+        final int endOfPage;
+
+        PendingProduct(String url, Future<Product> future, int endOfPage) {
+            this.url = url;
+            this.future = future;
+            this.endOfPage = endOfPage;
+        }
+    }
+
+    public int getProductCount() {
+        return productCount;
+    }
+
+    public int getVariantCount() {
+        return variantCount;
+    }
+
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    public FetchGovernor getFetchGovernor() {
+        return fetchGovernor;
+    }
+
     /**
      * Main method
      */
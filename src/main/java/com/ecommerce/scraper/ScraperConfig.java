@@ -0,0 +1,639 @@
+package com.ecommerce.scraper;
+
+import com.ecommerce.scraper.pages.PageBackend;
+import com.ecommerce.scraper.pages.ProductDetailPage;
+import com.ecommerce.scraper.pages.VariantMode;
+import com.ecommerce.scraper.utils.BrowserProfile;
+import com.ecommerce.scraper.utils.BulkFormat;
+import com.ecommerce.scraper.utils.Compression;
+import com.ecommerce.scraper.utils.DriverResolver;
+import com.ecommerce.scraper.utils.HtmlPageCache;
+import com.ecommerce.scraper.utils.OutputFormat;
+
+import java.io.File;
+import java.time.Duration;
+
+/**
+ * Scraper run parametrləri.
+ *
+ * Dəyərlər -Dscraper.* system property-lərindən oxunur, məsələn:
+ * -Dscraper.pool.size=8 -Dscraper.pool.recycleAfter=40 -Dscraper.backend.detail=http
+ *
+ * scraper.pages.max=0 (default) səhifə sayını səhifə nömrələri widget-indən müəyyən edir.
+ */
+public class ScraperConfig {
+
+    public static final String DEFAULT_BASE_URL = "https://qiymeti.net/qiymetleri/telefon/";
+
+    private boolean headless;
+    private String baseUrl = DEFAULT_BASE_URL;
+    private String outputDir = "output";
+    private int poolSize = 4;
+    private int recycleAfter = 50;
+    private BrowserProfile browserProfile = BrowserProfile.DEFAULT;
+    private String userDataDir;
+    private int warmUp = -1;
+    private String driverPath;
+    private String driverCacheDir = DriverResolver.DEFAULT_CACHE_DIR;
+    private boolean driverOffline;
+    private Duration driverTtl = DriverResolver.DEFAULT_TTL;
+    private double fetchRate = 2;
+    private double fetchMaxRate = 20;
+    private int fetchConcurrency = -1;
+    private long fetchSlowMs = 5000;
+    private boolean jfrCommandEvents = true;
+    private int maxPages = 0;
+    private int pipelineQueueSize = 16;
+    private boolean compactOutput;
+    private OutputFormat outputFormat = OutputFormat.JSON;
+    private Compression compression = Compression.NONE;
+    private boolean sizeReport = true;
+    private BulkFormat bulkFormat;
+    private String journalPath;
+    private boolean resume;
+    private boolean incremental;
+    private String snapshotPath;
+    private boolean delta;
+    private String deltaStatePath;
+    private String deltaPreviousImport;
+    private boolean deterministicIds;
+    private String jdbcUrl;
+    private String jdbcUser;
+    private String jdbcPassword;
+    private int jdbcBatchSize = 500;
+    private int jdbcRowsPerStatement = 50;
+    private boolean jdbcCreateSchema;
+    private int replayParallelism = Runtime.getRuntime().availableProcessors();
+    private int replayBatchSize = 64;
+    private String replayOutputDir;
+    private String cacheDir;
+    private Duration cacheTtl = HtmlPageCache.DEFAULT_TTL;
+    private boolean cacheReadOnline;
+    private long cacheMaxBytes = HtmlPageCache.DEFAULT_MAX_BYTES;
+    private boolean offline;
+    private PageBackend listBackend = PageBackend.SELENIUM;
+    private PageBackend detailBackend = PageBackend.SELENIUM;
+    private VariantMode variantMode = VariantMode.CLICK;
+    private Duration priceUpdateTimeout = ProductDetailPage.DEFAULT_PRICE_UPDATE_TIMEOUT;
+
+    // Constructors
+    public ScraperConfig() {}
+
+    public ScraperConfig(boolean headless) {
+        this.headless = headless;
+    }
+
+    /**
+     * System property-lərdən konfiqurasiya yarat
+     */
+    public static ScraperConfig fromSystemProperties(boolean headless) {
+        ScraperConfig config = new ScraperConfig(headless);
+        config.setBaseUrl(System.getProperty("scraper.baseUrl", config.getBaseUrl()));
+        config.setOutputDir(System.getProperty("scraper.output.dir", config.getOutputDir()));
+        config.setPoolSize(Integer.getInteger("scraper.pool.size", config.getPoolSize()));
+        config.setRecycleAfter(Integer.getInteger("scraper.pool.recycleAfter", config.getRecycleAfter()));
+        config.setBrowserProfile(BrowserProfile.parse(System.getProperty("scraper.browser.profile"), config.getBrowserProfile()));
+        config.setUserDataDir(System.getProperty("scraper.browser.userDataDir"));
+        config.setWarmUp(Integer.getInteger("scraper.pool.warmUp", -1));
+        config.setDriverPath(System.getProperty("scraper.driver.path"));
+        config.setDriverCacheDir(System.getProperty("scraper.driver.cacheDir", config.getDriverCacheDir()));
+        config.setDriverOffline(Boolean.getBoolean("scraper.driver.offline"));
+        config.setDriverTtl(Duration.ofHours(Long.getLong("scraper.driver.ttlHours", config.getDriverTtl().toHours())));
+        config.setFetchRate(Double.parseDouble(System.getProperty("scraper.fetch.rate", String.valueOf(config.getFetchRate()))));
+        config.setFetchMaxRate(Double.parseDouble(System.getProperty("scraper.fetch.maxRate", String.valueOf(config.getFetchMaxRate()))));
+        config.setFetchConcurrency(Integer.getInteger("scraper.fetch.concurrency", -1));
+        config.setFetchSlowMs(Long.getLong("scraper.fetch.slowMs", config.getFetchSlowMs()));
+        config.setJfrCommandEvents(Boolean.parseBoolean(System.getProperty("scraper.jfr.commands", "true")));
+        config.setMaxPages(Integer.getInteger("scraper.pages.max", config.getMaxPages()));
+        config.setPipelineQueueSize(Integer.getInteger("scraper.pipeline.queueSize", config.getPipelineQueueSize()));
+        config.setCompactOutput(Boolean.getBoolean("scraper.output.compact"));
+        config.setOutputFormat(OutputFormat.parse(System.getProperty("scraper.output.format"), config.getOutputFormat()));
+        config.setCompression(Compression.parse(System.getProperty("scraper.output.compression"), config.getCompression()));
+        config.setSizeReport(Boolean.parseBoolean(System.getProperty("scraper.output.report", "true")));
+        config.setBulkFormat(BulkFormat.parse(System.getProperty("scraper.output.bulk"), null));
+        config.setJournalPath(System.getProperty("scraper.journal"));
+        config.setResume(Boolean.getBoolean("scraper.resume"));
+        config.setIncremental(Boolean.getBoolean("scraper.incremental"));
+        config.setSnapshotPath(System.getProperty("scraper.snapshot"));
+        config.setDelta(Boolean.getBoolean("scraper.delta"));
+        config.setDeltaStatePath(System.getProperty("scraper.delta.state"));
+        config.setDeltaPreviousImport(System.getProperty("scraper.delta.previous"));
+        config.setDeterministicIds(Boolean.getBoolean("scraper.ids.deterministic"));
+        config.setJdbcUrl(System.getProperty("scraper.jdbc.url"));
+        config.setJdbcUser(System.getProperty("scraper.jdbc.user"));
+        config.setJdbcPassword(System.getProperty("scraper.jdbc.password"));
+        config.setJdbcBatchSize(Integer.getInteger("scraper.jdbc.batchSize", config.getJdbcBatchSize()));
+        config.setJdbcRowsPerStatement(Integer.getInteger("scraper.jdbc.rowsPerStatement", config.getJdbcRowsPerStatement()));
+        config.setJdbcCreateSchema(Boolean.getBoolean("scraper.jdbc.createSchema"));
+        config.setReplayParallelism(Integer.getInteger("scraper.replay.parallelism", config.getReplayParallelism()));
+        config.setReplayBatchSize(Integer.getInteger("scraper.replay.batchSize", config.getReplayBatchSize()));
+        config.setReplayOutputDir(System.getProperty("scraper.replay.output"));
+        config.setOffline(Boolean.getBoolean("scraper.offline"));
+        config.setCacheDir(System.getProperty("scraper.cache.dir", config.isOffline() ? config.outputPath("html_cache") : null));
+        config.setCacheTtl(Duration.ofHours(Long.getLong("scraper.cache.ttlHours", config.getCacheTtl().toHours())));
+        config.setCacheReadOnline(Boolean.getBoolean("scraper.cache.readOnline"));
+        config.setCacheMaxBytes(Long.getLong("scraper.cache.maxMb", config.getCacheMaxBytes() / (1024 * 1024)) * 1024 * 1024);
+
+        // scraper.backend bütün səhifə növləri üçün default-dur
+        PageBackend backend = PageBackend.parse(System.getProperty("scraper.backend"), PageBackend.SELENIUM);
+        config.setListBackend(PageBackend.parse(System.getProperty("scraper.backend.list"), backend));
+        config.setDetailBackend(PageBackend.parse(System.getProperty("scraper.backend.detail"), backend));
+
+        // Offline rejimdə brauzer açılmır, hər şey cache-dən HTTP backend ilə oxunur
+        if (config.isOffline()) {
+            config.setListBackend(PageBackend.HTTP);
+            config.setDetailBackend(PageBackend.HTTP);
+        }
+
+        config.setVariantMode(VariantMode.parse(System.getProperty("scraper.variants.mode"), config.getVariantMode()));
+        config.setPriceUpdateTimeout(Duration.ofMillis(Long.getLong("scraper.wait.priceUpdateMs",
+                config.getPriceUpdateTimeout().toMillis())));
+        return config;
+    }
+
+    // Getters and Setters
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public void setHeadless(boolean headless) {
+        this.headless = headless;
+    }
+
+    /**
+     * Siyahının 1-ci səhifəsinin URL-i (digər səhifələr: baseUrl + "page/N/")
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * scraped_raw / database_import / delta / bulk fayllarının qovluğu
+     */
+    public String getOutputDir() {
+        return outputDir;
+    }
+
+    public void setOutputDir(String outputDir) {
+        this.outputDir = outputDir;
+    }
+
+    /**
+     * outputDir içindəki fayl (yolu ayrıca verilməyən fayllar üçün default)
+     */
+    private String outputPath(String name) {
+        return new File(outputDir, name).getPath();
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = Math.max(1, poolSize);
+    }
+
+    public int getRecycleAfter() {
+        return recycleAfter;
+    }
+
+    public void setRecycleAfter(int recycleAfter) {
+        this.recycleAfter = Math.max(1, recycleAfter);
+    }
+
+    public BrowserProfile getBrowserProfile() {
+        return browserProfile;
+    }
+
+    public void setBrowserProfile(BrowserProfile browserProfile) {
+        this.browserProfile = browserProfile;
+    }
+
+    /**
+     * Driver-lərin Chrome profil qovluqlarının kökü (null - hər sessiya üçün müvəqqəti profil)
+     */
+    public String getUserDataDir() {
+        return userDataDir;
+    }
+
+    public void setUserDataDir(String userDataDir) {
+        this.userDataDir = userDataDir;
+    }
+
+    /**
+     * Start-da arxa planda açılan driver sayı (-1 - pool ölçüsü qədər, 0 - söndürülüb)
+     */
+    public int getWarmUp() {
+        return warmUp < 0 ? poolSize : Math.min(warmUp, poolSize);
+    }
+
+    public void setWarmUp(int warmUp) {
+        this.warmUp = Math.max(-1, warmUp);
+    }
+
+    /**
+     * Sabitlənmiş ChromeDriver binary-si (null - DriverResolver cache / WebDriverManager)
+     */
+    public String getDriverPath() {
+        return driverPath;
+    }
+
+    public void setDriverPath(String driverPath) {
+        this.driverPath = driverPath;
+    }
+
+    public String getDriverCacheDir() {
+        return driverCacheDir;
+    }
+
+    public void setDriverCacheDir(String driverCacheDir) {
+        this.driverCacheDir = driverCacheDir;
+    }
+
+    /**
+     * true - WebDriverManager çağırılmır, yalnız pin və ya cache-dəki driver istifadə olunur
+     */
+    public boolean isDriverOffline() {
+        return driverOffline;
+    }
+
+    public void setDriverOffline(boolean driverOffline) {
+        this.driverOffline = driverOffline;
+    }
+
+    public Duration getDriverTtl() {
+        return driverTtl;
+    }
+
+    public void setDriverTtl(Duration driverTtl) {
+        this.driverTtl = driverTtl;
+    }
+
+    /**
+     * Başlanğıc sorğu tempi (sorğu/saniyə), FetchGovernor onu fetchMaxRate-ə qədər artırır
+     */
+    public double getFetchRate() {
+        return fetchRate;
+    }
+
+    public void setFetchRate(double fetchRate) {
+        this.fetchRate = Math.max(0.2, fetchRate);
+    }
+
+    public double getFetchMaxRate() {
+        return fetchMaxRate;
+    }
+
+    public void setFetchMaxRate(double fetchMaxRate) {
+        this.fetchMaxRate = Math.max(0.2, fetchMaxRate);
+    }
+
+    /**
+     * Başlanğıc paralel sorğu sayı (-1 - pool ölçüsünün yarısı); yuxarı hədd pool ölçüsüdür
+     */
+    public int getFetchConcurrency() {
+        return fetchConcurrency < 0 ? Math.max(1, poolSize / 2) : Math.min(Math.max(1, fetchConcurrency), poolSize);
+    }
+
+    public void setFetchConcurrency(int fetchConcurrency) {
+        this.fetchConcurrency = Math.max(-1, fetchConcurrency);
+    }
+
+    /**
+     * Bundan uzun çəkən sorğu tempi azaldır (millisaniyə)
+     */
+    public long getFetchSlowMs() {
+        return fetchSlowMs;
+    }
+
+    public void setFetchSlowMs(long fetchSlowMs) {
+        this.fetchSlowMs = Math.max(1, fetchSlowMs);
+    }
+
+    /**
+     * true - driver-lər hər WebDriver əmrini JFR event kimi qeyd edən listener ilə əhatə olunur
+     */
+    public boolean isJfrCommandEvents() {
+        return jfrCommandEvents;
+    }
+
+    public void setJfrCommandEvents(boolean jfrCommandEvents) {
+        this.jfrCommandEvents = jfrCommandEvents;
+    }
+
+    /**
+     * 0 - limit yoxdur (son səhifə widget-dən tapılır)
+     */
+    public int getMaxPages() {
+        return maxPages;
+    }
+
+    public void setMaxPages(int maxPages) {
+        this.maxPages = Math.max(0, maxPages);
+    }
+
+    public int getPipelineQueueSize() {
+        return pipelineQueueSize;
+    }
+
+    public void setPipelineQueueSize(int pipelineQueueSize) {
+        this.pipelineQueueSize = Math.max(1, pipelineQueueSize);
+    }
+
+    public boolean isCompactOutput() {
+        return compactOutput;
+    }
+
+    public void setCompactOutput(boolean compactOutput) {
+        this.compactOutput = compactOutput;
+    }
+
+    public OutputFormat getOutputFormat() {
+        return outputFormat;
+    }
+
+    public void setOutputFormat(OutputFormat outputFormat) {
+        this.outputFormat = outputFormat;
+    }
+
+    public Compression getCompression() {
+        return compression;
+    }
+
+    public void setCompression(Compression compression) {
+        this.compression = compression;
+    }
+
+    public boolean isSizeReport() {
+        return sizeReport;
+    }
+
+    public void setSizeReport(boolean sizeReport) {
+        this.sizeReport = sizeReport;
+    }
+
+    public BulkFormat getBulkFormat() {
+        return bulkFormat;
+    }
+
+    public void setBulkFormat(BulkFormat bulkFormat) {
+        this.bulkFormat = bulkFormat;
+    }
+
+    /**
+     * Jurnal faylı (default: <outputDir>/crawl_journal.ndjson)
+     */
+    public String getJournalPath() {
+        return journalPath != null ? journalPath : outputPath("crawl_journal.ndjson");
+    }
+
+    public void setJournalPath(String journalPath) {
+        this.journalPath = journalPath;
+    }
+
+    /**
+     * true - jurnaldakı URL-lər yenidən scrape olunmur, məhsulları export-a birləşdirilir
+     */
+    public boolean isResume() {
+        return resume;
+    }
+
+    public void setResume(boolean resume) {
+        this.resume = resume;
+    }
+
+    /**
+     * true - spesifikasiya fingerprint-i dəyişməyən məhsullar üçün yalnız qiymətlər yenilənir
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * Snapshot faylı (default: <outputDir>/crawl_snapshot.ndjson)
+     */
+    public String getSnapshotPath() {
+        return snapshotPath != null ? snapshotPath : outputPath("crawl_snapshot.ndjson");
+    }
+
+    public void setSnapshotPath(String snapshotPath) {
+        this.snapshotPath = snapshotPath;
+    }
+
+    /**
+     * true - database output əvvəlki import ilə müqayisə olunur (inserts / updates / deletes)
+     */
+    public boolean isDelta() {
+        return delta;
+    }
+
+    public void setDelta(boolean delta) {
+        this.delta = delta;
+    }
+
+    /**
+     * Delta state faylı (default: <outputDir>/database_state.json)
+     */
+    public String getDeltaStatePath() {
+        return deltaStatePath != null ? deltaStatePath : outputPath("database_state.json");
+    }
+
+    public void setDeltaStatePath(String deltaStatePath) {
+        this.deltaStatePath = deltaStatePath;
+    }
+
+    /**
+     * State faylı yoxdursa ID-lərin götürüləcəyi əvvəlki database_import JSON faylı
+     */
+    public String getDeltaPreviousImport() {
+        return deltaPreviousImport;
+    }
+
+    public void setDeltaPreviousImport(String deltaPreviousImport) {
+        this.deltaPreviousImport = deltaPreviousImport;
+    }
+
+    /**
+     * true - entity ID-ləri sayğacdan yox, natural key hash-indən alınır (run-lar arasında eyni qalır)
+     */
+    public boolean isDeterministicIds() {
+        return deterministicIds;
+    }
+
+    public void setDeterministicIds(boolean deterministicIds) {
+        this.deterministicIds = deterministicIds;
+    }
+
+    /**
+     * null deyilsə entity-lər bu bazaya da yazılır (JdbcBatchLoader)
+     */
+    public String getJdbcUrl() {
+        return jdbcUrl;
+    }
+
+    public void setJdbcUrl(String jdbcUrl) {
+        this.jdbcUrl = jdbcUrl;
+    }
+
+    public String getJdbcUser() {
+        return jdbcUser;
+    }
+
+    public void setJdbcUser(String jdbcUser) {
+        this.jdbcUser = jdbcUser;
+    }
+
+    public String getJdbcPassword() {
+        return jdbcPassword;
+    }
+
+    public void setJdbcPassword(String jdbcPassword) {
+        this.jdbcPassword = jdbcPassword;
+    }
+
+    /**
+     * Bir executeBatch() çağırışında göndərilən sətir sayı
+     */
+    public int getJdbcBatchSize() {
+        return jdbcBatchSize;
+    }
+
+    public void setJdbcBatchSize(int jdbcBatchSize) {
+        this.jdbcBatchSize = jdbcBatchSize;
+    }
+
+    /**
+     * Bir multi-row upsert statement-indəki sətir sayı
+     */
+    public int getJdbcRowsPerStatement() {
+        return jdbcRowsPerStatement;
+    }
+
+    public void setJdbcRowsPerStatement(int jdbcRowsPerStatement) {
+        this.jdbcRowsPerStatement = jdbcRowsPerStatement;
+    }
+
+    public boolean isJdbcCreateSchema() {
+        return jdbcCreateSchema;
+    }
+
+    public void setJdbcCreateSchema(boolean jdbcCreateSchema) {
+        this.jdbcCreateSchema = jdbcCreateSchema;
+    }
+
+    public int getReplayParallelism() {
+        return replayParallelism;
+    }
+
+    public void setReplayParallelism(int replayParallelism) {
+        this.replayParallelism = replayParallelism;
+    }
+
+    public int getReplayBatchSize() {
+        return replayBatchSize;
+    }
+
+    public void setReplayBatchSize(int replayBatchSize) {
+        this.replayBatchSize = replayBatchSize;
+    }
+
+    /**
+     * ArchiveReplay nəticələrinin qovluğu (default: <outputDir>/replay)
+     */
+    public String getReplayOutputDir() {
+        return replayOutputDir != null ? replayOutputDir : outputPath("replay");
+    }
+
+    public void setReplayOutputDir(String replayOutputDir) {
+        this.replayOutputDir = replayOutputDir;
+    }
+
+    /**
+     * HTML cache qovluğu (null - cache söndürülüb)
+     */
+    public String getCacheDir() {
+        return cacheDir;
+    }
+
+    public void setCacheDir(String cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    public Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public void setCacheTtl(Duration cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    /**
+     * true - online rejimdə də TTL-i keçməmiş səhifələr cache-dən oxunur (qiymətlər köhnə ola bilər)
+     */
+    public boolean isCacheReadOnline() {
+        return cacheReadOnline;
+    }
+
+    public void setCacheReadOnline(boolean cacheReadOnline) {
+        this.cacheReadOnline = cacheReadOnline;
+    }
+
+    public long getCacheMaxBytes() {
+        return cacheMaxBytes;
+    }
+
+    public void setCacheMaxBytes(long cacheMaxBytes) {
+        this.cacheMaxBytes = Math.max(0, cacheMaxBytes);
+    }
+
+    /**
+     * true - şəbəkəyə müraciət edilmir, bütün səhifələr HTML cache-dən oxunur
+     */
+    public boolean isOffline() {
+        return offline;
+    }
+
+    public void setOffline(boolean offline) {
+        this.offline = offline;
+    }
+
+    public PageBackend getListBackend() {
+        return listBackend;
+    }
+
+    public void setListBackend(PageBackend listBackend) {
+        this.listBackend = listBackend;
+    }
+
+    public PageBackend getDetailBackend() {
+        return detailBackend;
+    }
+
+    public void setDetailBackend(PageBackend detailBackend) {
+        this.detailBackend = detailBackend;
+    }
+
+    public VariantMode getVariantMode() {
+        return variantMode;
+    }
+
+    public void setVariantMode(VariantMode variantMode) {
+        this.variantMode = variantMode;
+    }
+
+    public Duration getPriceUpdateTimeout() {
+        return priceUpdateTimeout;
+    }
+
+    public void setPriceUpdateTimeout(Duration priceUpdateTimeout) {
+        this.priceUpdateTimeout = priceUpdateTimeout;
+    }
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.scraper;
+
+import com.ecommerce.scraper.model.Product;
+import com.ecommerce.scraper.model.ProductVariant;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Əvvəlki snapshot ilə cari məhsulun spesifikasiya fingerprint-ini və variant qiymətlərini müqayisə edir.
+ * Variant storage + color cütü ilə tanınır.
+ */
+final class VariantPriceDiff {
+
+    private VariantPriceDiff() {}
+
+    /**
+     * Snapshot-dakı məhsulun spesifikasiya fingerprint-i cari səhifəninki ilə eynidirsə true
+     * (false - məhsul tam scrape olunur)
+     */
+    static boolean sameSpecifications(Product previous, String fingerprint) {
+        return previous != null && fingerprint != null && fingerprint.equals(previous.getSpecFingerprint());
+    }
+
+    /**
+     * Variantın storage|color açarı
+     */
+    static String key(ProductVariant variant) {
+        return normalize(variant.getStorage()) + "|" + normalize(variant.getColor());
+    }
+
+    /**
+     * Qiyməti dəyişmiş və ya yeni variantların açarları (previous == null - hamısı)
+     */
+    static Set<String> changedKeys(Product previous, Product current) {
+        Map<String, String> previousPrices = new HashMap<>();
+        if (previous != null && previous.getVariants() != null) {
+            for (ProductVariant variant : previous.getVariants()) {
+                previousPrices.put(key(variant), variant.getPrice());
+            }
+        }
+
+        Set<String> changed = new HashSet<>();
+        for (ProductVariant variant : current.getVariants()) {
+            String key = key(variant);
+            if (!previousPrices.containsKey(key) || !Objects.equals(previousPrices.get(key), variant.getPrice())) {
+                changed.add(key);
+            }
+        }
+        return changed;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase();
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.scraper.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Bir məhsulun raw / database / delta / bulk / JDBC output-larına yazılması
+ */
+@Name("com.ecommerce.scraper.Export")
+@Label("Export")
+@Category({"Scraper", "Pipeline"})
+public class ExportEvent extends jdk.jfr.Event {
+
+    @Label("Product")
+    public String product;
+
+    @Label("Variants")
+    public int variants;
+}
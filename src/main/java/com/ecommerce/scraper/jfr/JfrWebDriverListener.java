@@ -0,0 +1,54 @@
+package com.ecommerce.scraper.jfr;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Hər WebDriver / WebElement çağırışını WebDriverCommandEvent kimi qeyd edir
+ * (EventFiringDecorator ilə, bax: WebDriverFactory).
+ *
+ * Çağırışlar iç-içə ola bilər, ona görə açıq event-lər thread başına stack-də saxlanılır.
+ * JFR qeydi getmirsə event commit olunmur və xərc bir obyekt yaratmaqdan ibarətdir.
+ */
+public class JfrWebDriverListener implements WebDriverListener {
+
+    private static final ThreadLocal<Deque<WebDriverCommandEvent>> ACTIVE =
+            ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        WebDriverCommandEvent event = new WebDriverCommandEvent();
+        event.begin();
+        ACTIVE.get().push(event);
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method, false);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method, true);
+    }
+
+    private void finish(Method method, boolean failed) {
+        WebDriverCommandEvent event = ACTIVE.get().poll();
+        if (event == null) {
+            return;
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.command = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+            event.productUrl = ScrapeContext.getProductUrl();
+            event.variant = ScrapeContext.getVariant();
+            event.failed = failed;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.scraper.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Pipeline mapping mərhələsi (AttributeMapper və ya DatabaseMapper) bir məhsul üçün
+ */
+@Name("com.ecommerce.scraper.Mapping")
+@Label("Mapping")
+@Category({"Scraper", "Pipeline"})
+public class MappingEvent extends jdk.jfr.Event {
+
+    @Label("Stage")
+    @Description("attributes or database")
+    public String stage;
+
+    @Label("Product")
+    public String product;
+
+    @Label("Variants")
+    public int variants;
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.scraper.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Səhifənin açılması: Selenium driver.get() və ya HTTP backend fetch
+ */
+@Name("com.ecommerce.scraper.Navigation")
+@Label("Page Navigation")
+@Category({"Scraper", "Navigation"})
+@Description("driver.get() or an HTTP backend page fetch")
+public class NavigationEvent extends jdk.jfr.Event {
+
+    @Label("URL")
+    public String url;
+
+    @Label("Backend")
+    public String backend;
+
+    @Label("From Cache")
+    public boolean cached;
+
+    @Label("Outcome")
+    @Description("SUCCESS, ERROR, TIMEOUT or ERROR_PAGE")
+    public String outcome;
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.scraper.jfr;
+
+/**
+ * Cari thread-in işlədiyi məhsul URL-i və variant seçimi.
+ *
+ * Worker thread bir məhsulu əvvəldən sona özü scrape edir, ona görə JFR event-ləri
+ * (WebDriver əmrləri, gözləmələr) hansı məhsula aid olduqlarını buradan götürür.
+ */
+public final class ScrapeContext {
+
+    private static final ThreadLocal<String> PRODUCT_URL = new ThreadLocal<>();
+    private static final ThreadLocal<String> VARIANT = new ThreadLocal<>();
+
+    private ScrapeContext() {}
+
+    /**
+     * Səhifə (məhsul və ya siyahı) üzərində işə başla
+     */
+    public static void enter(String productUrl) {
+        PRODUCT_URL.set(productUrl);
+        VARIANT.remove();
+    }
+
+    /**
+     * Səhifə işi bitdi
+     */
+    public static void exit() {
+        PRODUCT_URL.remove();
+        VARIANT.remove();
+    }
+
+    /**
+     * Hazırda seçilən variant, məsələn "128GB / Qara" (null - variant yoxdur)
+     */
+    public static void setVariant(String variant) {
+        if (variant == null) {
+            VARIANT.remove();
+        } else {
+            VARIANT.set(variant);
+        }
+    }
+
+    public static String getProductUrl() {
+        return PRODUCT_URL.get();
+    }
+
+    public static String getVariant() {
+        return VARIANT.get();
+    }
+
+    /**
+     * "storage / color" (hər hansı biri null ola bilər)
+     */
+    public static String variantLabel(String storage, String color) {
+        if (storage == null && color == null) {
+            return null;
+        }
+        if (storage == null || color == null) {
+            return storage != null ? storage : color;
+        }
+        return storage + " / " + color;
+    }
+}
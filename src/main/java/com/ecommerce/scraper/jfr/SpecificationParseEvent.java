@@ -0,0 +1,25 @@
+package com.ecommerce.scraper.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Spesifikasiya cədvəlinin sətirlərinin oxunması
+ */
+@Name("com.ecommerce.scraper.SpecificationParse")
+@Label("Specification Parse")
+@Category({"Scraper", "Product"})
+public class SpecificationParseEvent extends jdk.jfr.Event {
+
+    @Label("Product URL")
+    public String productUrl;
+
+    @Label("Source")
+    @Description("script (one executeScript), element (per-row WebDriver calls) or jsoup")
+    public String source;
+
+    @Label("Rows")
+    public int rows;
+}
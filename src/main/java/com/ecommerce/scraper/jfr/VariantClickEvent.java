@@ -0,0 +1,29 @@
+package com.ecommerce.scraper.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Bir storage×color kombinasiyası: seçim, gözləmə, qiymətin oxunması və təmizləmə
+ */
+@Name("com.ecommerce.scraper.VariantClick")
+@Label("Variant Click")
+@Category({"Scraper", "Product"})
+public class VariantClickEvent extends jdk.jfr.Event {
+
+    @Label("Product URL")
+    public String productUrl;
+
+    @Label("Storage")
+    public String storage;
+
+    @Label("Color")
+    public String color;
+
+    @Label("Price")
+    public String price;
+
+    @Label("Success")
+    public boolean success;
+}
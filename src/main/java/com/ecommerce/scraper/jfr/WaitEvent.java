@@ -0,0 +1,31 @@
+package com.ecommerce.scraper.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * DOM dəyişikliyini gözləmə (qiymət siyahısı, filter)
+ */
+@Name("com.ecommerce.scraper.Wait")
+@Label("DOM Wait")
+@Category({"Scraper", "Browser"})
+public class WaitEvent extends jdk.jfr.Event {
+
+    @Label("Selector")
+    public String selector;
+
+    @Label("Timeout")
+    @Timespan(Timespan.MILLISECONDS)
+    public long timeout;
+
+    @Label("Changed")
+    public boolean changed;
+
+    @Label("Product URL")
+    public String productUrl;
+
+    @Label("Variant")
+    public String variant;
+}
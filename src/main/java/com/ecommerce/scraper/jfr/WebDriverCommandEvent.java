@@ -0,0 +1,31 @@
+package com.ecommerce.scraper.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Bir WebDriver əmrinin (chromedriver-ə round trip) müddəti
+ */
+@Name("com.ecommerce.scraper.WebDriverCommand")
+@Label("WebDriver Command")
+@Category({"Scraper", "Browser"})
+@Description("Round trip of one WebDriver / WebElement call")
+@StackTrace(false)
+public class WebDriverCommandEvent extends jdk.jfr.Event {
+
+    @Label("Command")
+    @Description("Declaring interface and method, e.g. WebElement.click")
+    public String command;
+
+    @Label("Product URL")
+    public String productUrl;
+
+    @Label("Variant")
+    public String variant;
+
+    @Label("Failed")
+    public boolean failed;
+}
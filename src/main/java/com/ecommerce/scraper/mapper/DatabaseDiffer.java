@@ -0,0 +1,301 @@
+package com.ecommerce.scraper.mapper;
+
+import com.ecommerce.scraper.mapper.DatabaseState.EntityRecord;
+import com.ecommerce.scraper.model.db.BrandEntity;
+import com.ecommerce.scraper.model.db.ProductAttributeEntity;
+import com.ecommerce.scraper.model.db.ProductEntity;
+import com.ecommerce.scraper.model.db.ProductVariantEntity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares freshly mapped entities against the previous import (DatabaseState).
+ *
+ * Entities are matched by natural keys (brand name, product slug, variant name,
+ * attribute type/name) instead of the run-local IDs from DatabaseMapper. Matched
+ * entities get their previous ID and created_at back; new ones get IDs after
+ * the previous maximum (or keep their own with adoptIds, e.g. deterministic IDs). Foreign keys are rewritten accordingly, in place, so the
+ * full database_import of a diff run uses the same stable IDs as the delta.
+ *
+ * diff() may be called once per product (streaming) or once for a whole output;
+ * getDeletes() and getNextState() are valid after the last chunk.
+ */
+public class DatabaseDiffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseDiffer.class);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final DatabaseState previousState;
+    private final DatabaseState nextState = new DatabaseState();
+    private final boolean adoptIds;
+
+    // Next ID per section for entities not present in the previous import
+    private final Map<String, Long> nextIds = new HashMap<>();
+
+    // Run-local ID -> stable ID, and run-local ID -> natural key
+    private final Map<Long, Long> brandIds = new HashMap<>();
+    private final Map<Long, Long> productIds = new HashMap<>();
+    private final Map<Long, Long> variantIds = new HashMap<>();
+    private final Map<Long, String> productKeys = new HashMap<>();
+    private final Map<Long, String> variantKeys = new HashMap<>();
+
+    private int inserted;
+    private int updated;
+    private int unchanged;
+
+    public DatabaseDiffer(DatabaseState previousState) {
+        this(previousState, false);
+    }
+
+    /**
+     * adoptIds=true keeps the IDs of new entities as stable IDs
+     * (deterministic IDs, or bootstrapping state from an existing database_import file)
+     */
+    public DatabaseDiffer(DatabaseState previousState, boolean adoptIds) {
+        this.previousState = previousState;
+        this.adoptIds = adoptIds;
+
+        nextIds.put("brands", DatabaseState.maxId(previousState.getBrands()) + 1);
+        nextIds.put("products", DatabaseState.maxId(previousState.getProducts()) + 1);
+        nextIds.put("product_variants", DatabaseState.maxId(previousState.getProductVariants()) + 1);
+        nextIds.put("product_attributes", DatabaseState.maxId(previousState.getProductAttributes()) + 1);
+    }
+
+    /**
+     * Rewrite IDs of the chunk in place and return its inserts and updates
+     * (unchanged entities are left out). Brands must come before the products
+     * that reference them, as DatabaseMapper emits them.
+     */
+    public synchronized DeltaOutput diff(DatabaseOutput chunk) {
+        DeltaOutput delta = new DeltaOutput();
+
+        for (BrandEntity brand : chunk.getBrands()) {
+            String key = brandKey(brand.getName());
+            Long localId = brand.getId();
+
+            Change change = match("brands", previousState.getBrands(), nextState.getBrands(), key,
+                    localId, null, brand.getCreatedAt(), brand.getUpdatedAt(), brand);
+
+            brandIds.put(localId, change.id);
+            brand.setId(change.id);
+            brand.setCreatedAt(change.createdAt);
+            brand.setUpdatedAt(change.updatedAt);
+            collect(change, brand, delta.getInserts().getBrands(), delta.getUpdates().getBrands());
+        }
+
+        for (ProductEntity product : chunk.getProducts()) {
+            String key = productKey(product);
+            Long localId = product.getId();
+            product.setBrandId(brandIds.getOrDefault(product.getBrandId(), product.getBrandId()));
+
+            Change change = match("products", previousState.getProducts(), nextState.getProducts(), key,
+                    localId, product.getSku(), product.getCreatedAt(), product.getUpdatedAt(), product);
+
+            productIds.put(localId, change.id);
+            productKeys.put(localId, change.key);
+            product.setId(change.id);
+            product.setCreatedAt(change.createdAt);
+            product.setUpdatedAt(change.updatedAt);
+            collect(change, product, delta.getInserts().getProducts(), delta.getUpdates().getProducts());
+        }
+
+        for (ProductVariantEntity variant : chunk.getProductVariants()) {
+            String key = productKeys.get(variant.getProductId()) + "/" + normalize(variant.getVariantName());
+            Long localId = variant.getId();
+            variant.setProductId(productIds.getOrDefault(variant.getProductId(), variant.getProductId()));
+
+            Change change = match("product_variants", previousState.getProductVariants(), nextState.getProductVariants(),
+                    key, localId, variant.getSku(), variant.getCreatedAt(), variant.getUpdatedAt(), variant);
+
+            variantIds.put(localId, change.id);
+            variantKeys.put(localId, change.key);
+            variant.setId(change.id);
+            variant.setCreatedAt(change.createdAt);
+            variant.setUpdatedAt(change.updatedAt);
+            collect(change, variant, delta.getInserts().getProductVariants(), delta.getUpdates().getProductVariants());
+        }
+
+        for (ProductAttributeEntity attribute : chunk.getProductAttributes()) {
+            String owner = attribute.getVariantId() != null
+                    ? variantKeys.get(attribute.getVariantId())
+                    : productKeys.get(attribute.getProductId());
+            String key = owner + "/" + normalize(attribute.getAttributeType()) + "/" + normalize(attribute.getAttributeName());
+            Long localId = attribute.getId();
+            attribute.setProductId(productIds.getOrDefault(attribute.getProductId(), attribute.getProductId()));
+            if (attribute.getVariantId() != null) {
+                attribute.setVariantId(variantIds.getOrDefault(attribute.getVariantId(), attribute.getVariantId()));
+            }
+
+            Change change = match("product_attributes", previousState.getProductAttributes(), nextState.getProductAttributes(),
+                    key, localId, null, attribute.getCreatedAt(), attribute.getUpdatedAt(), attribute);
+
+            attribute.setId(change.id);
+            attribute.setCreatedAt(change.createdAt);
+            attribute.setUpdatedAt(change.updatedAt);
+            collect(change, attribute, delta.getInserts().getProductAttributes(), delta.getUpdates().getProductAttributes());
+        }
+
+        return delta;
+    }
+
+    /**
+     * IDs of previous entities that were not seen in this run
+     */
+    public synchronized Map<String, List<Long>> getDeletes() {
+        Map<String, List<Long>> deletes = DeltaOutput.emptyDeletes();
+
+        collectDeletes(previousState.getBrands(), nextState.getBrands(), deletes.get("brands"));
+        collectDeletes(previousState.getProducts(), nextState.getProducts(), deletes.get("products"));
+        collectDeletes(previousState.getProductVariants(), nextState.getProductVariants(), deletes.get("product_variants"));
+        collectDeletes(previousState.getProductAttributes(), nextState.getProductAttributes(), deletes.get("product_attributes"));
+
+        return deletes;
+    }
+
+    /**
+     * State to be saved for the next run (only entities seen in this run)
+     */
+    public synchronized DatabaseState getNextState() {
+        return nextState;
+    }
+
+    public synchronized void logSummary() {
+        Map<String, List<Long>> deletes = getDeletes();
+        int deleted = deletes.values().stream().mapToInt(List::size).sum();
+
+        logger.info("Delta: {} inserts, {} updates, {} unchanged, {} deletes",
+                inserted, updated, unchanged, deleted);
+    }
+
+    /**
+     * Resolve the stable identity of one entity and classify it
+     */
+    private Change match(String section, Map<String, EntityRecord> previous, Map<String, EntityRecord> next,
+                         String naturalKey, Long localId, String sku,
+                         LocalDateTime createdAt, LocalDateTime updatedAt, Object entity) {
+        // Same natural key twice in one run: keep both rows, distinguished by occurrence
+        String key = naturalKey;
+        for (int n = 2; next.containsKey(key); n++) {
+            key = naturalKey + "#" + n;
+        }
+
+        EntityRecord before = previous.get(key);
+        Change change = new Change(key);
+
+        if (before != null) {
+            change.id = before.getId();
+            change.createdAt = before.getCreatedAt();
+        } else {
+            change.id = adoptIds ? localId : nextIds.merge(section, 1L, Long::sum) - 1;
+            change.createdAt = createdAt;
+        }
+
+        String hash = hash(entity);
+
+        if (before == null) {
+            change.type = ChangeType.INSERT;
+            change.updatedAt = updatedAt;
+        } else if (hash.equals(before.getHash())) {
+            change.type = ChangeType.UNCHANGED;
+            change.updatedAt = before.getUpdatedAt();
+        } else {
+            change.type = ChangeType.UPDATE;
+            change.updatedAt = updatedAt;
+        }
+
+        next.put(key, new EntityRecord(change.id, sku, change.createdAt, change.updatedAt, hash));
+        return change;
+    }
+
+    private <T> void collect(Change change, T entity, List<T> inserts, List<T> updates) {
+        switch (change.type) {
+            case INSERT:
+                inserts.add(entity);
+                inserted++;
+                break;
+            case UPDATE:
+                updates.add(entity);
+                updated++;
+                break;
+            default:
+                unchanged++;
+        }
+    }
+
+    private void collectDeletes(Map<String, EntityRecord> previous, Map<String, EntityRecord> next, List<Long> ids) {
+        for (Map.Entry<String, EntityRecord> entry : previous.entrySet()) {
+            if (!next.containsKey(entry.getKey())) {
+                ids.add(entry.getValue().getId());
+            }
+        }
+    }
+
+    /**
+     * Content hash of an entity, ignoring IDs and timestamps. Foreign keys are
+     * already stable at this point, so a moved variant counts as an update.
+     */
+    private String hash(Object entity) {
+        ObjectNode node = objectMapper.valueToTree(entity);
+        node.remove("id");
+        node.remove("created_at");
+        node.remove("updated_at");
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(objectMapper.writeValueAsBytes(node));
+            return HexFormat.of().formatHex(bytes);
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Could not hash entity: " + e.getMessage(), e);
+        }
+    }
+
+    private static String brandKey(String name) {
+        return normalize(name);
+    }
+
+    private static String productKey(ProductEntity product) {
+        if (product.getSlug() != null && !product.getSlug().isEmpty()) {
+            return product.getSlug();
+        }
+        return normalize(product.getName());
+    }
+
+    private static String normalize(String value) {
+        return value != null ? value.trim().toLowerCase() : "";
+    }
+
+    private enum ChangeType {
+        INSERT, UPDATE, UNCHANGED
+    }
+
+    /**
+     * Resolved identity of one entity
+     */
+    private static class Change {
+        final String key;
+        Long id;
+        LocalDateTime createdAt;
+        LocalDateTime updatedAt;
+        ChangeType type;
+
+        Change(String key) {
+            this.key = key;
+        }
+    }
+}
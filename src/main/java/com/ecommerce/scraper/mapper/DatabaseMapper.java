@@ -12,10 +12,16 @@ import com.ecommerce.scraper.model.db.ProductVariantEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
 
 public class DatabaseMapper {
 
@@ -32,60 +38,244 @@ public class DatabaseMapper {
     private final AtomicLong variantIdCounter = new AtomicLong(1);
     private final AtomicLong attributeIdCounter = new AtomicLong(1);
 
-    private final Map<String, BrandEntity> brandCache = new HashMap<>();
+    private final Map<String, BrandEntity> brandCache = new ConcurrentHashMap<>();
+
+    // SKUs (and IDs when deterministicIds is set) are derived from natural keys
+    private final IdentifierGenerator identifiers = new IdentifierGenerator();
+    private final boolean deterministicIds;
+
+    public DatabaseMapper() {
+        this(false);
+    }
+
+    /**
+     * deterministicIds=true derives entity IDs from natural keys instead of run-local counters,
+     * so repeated runs assign the same IDs
+     */
+    public DatabaseMapper(boolean deterministicIds) {
+        this.deterministicIds = deterministicIds;
+    }
 
     /**
      * Main mapping method: converts list of Products to DatabaseOutput
      */
     public DatabaseOutput mapToDatabase(List<Product> products) {
-        logger.info("Starting database mapping for {} products", products.size());
-        
-        DatabaseOutput output = new DatabaseOutput();
+        return mapToDatabase(products, 1);
+    }
 
-        for (Product product : products) {
-            if (product == null) {
-                continue;
-            }
+    /**
+     * Parallel mapping. Brands, IDs and SKUs are reserved for every product in list order
+     * first; the products are then mapped on a fork-join pool into per-product buffers,
+     * which are merged in list order. The output is the same as with sequential mapping.
+     */
+    public DatabaseOutput mapToDatabase(List<Product> products, int parallelism) {
+        logger.info("Starting database mapping for {} products (parallelism {})", products.size(), parallelism);
 
-            // Get or create brand
-            BrandEntity brand = getOrCreateBrand(product.getBrand());
-            
-            // Map product
-            ProductEntity productEntity = mapToProductEntity(product, brand.getId());
-            output.addProduct(productEntity);
-
-            // Map variants
-            if (product.getVariants() != null && !product.getVariants().isEmpty()) {
-                for (int i = 0; i < product.getVariants().size(); i++) {
-                    ProductVariant variant = product.getVariants().get(i);
-                    ProductVariantEntity variantEntity = mapToVariantEntity(variant, productEntity.getId());
-                    
-                    // Set first variant as default
-                    if (i == 0) {
-                        variantEntity.setIsDefault(true);
-                    }
-                    
-                    output.addProductVariant(variantEntity);
+        List<Product> mapped = products.stream().filter(Objects::nonNull).toList();
 
-                    // Create variant attributes
-                    createVariantAttributes(variant, productEntity.getId(), variantEntity.getId(), output);
-                }
-            }
-
-            // Create product attributes from specifications
-            createProductAttributes(product, productEntity.getId(), output);
+        List<ProductReservation> reservations = new ArrayList<>(mapped.size());
+        for (Product product : mapped) {
+            reservations.add(reserve(product));
         }
 
-        // Add all brands to output
-        output.setBrands(brandCache.values().stream().toList());
+        DatabaseOutput output = mapReservedInOrder(mapped, reservations, parallelism);
+
+        // Add all brands to output (ordered by ID, i.e. first-seen order with counter IDs)
+        output.setBrands(brandCache.values().stream()
+                .sorted(Comparator.comparing(BrandEntity::getId))
+                .toList());
 
         logger.info("Database mapping completed: {} brands, {} products, {} variants, {} attributes",
                 output.getBrands().size(), output.getProducts().size(),
                 output.getProductVariants().size(), output.getProductAttributes().size());
 
+        if (identifiers.getCollisionCount() > 0) {
+            logger.warn("{} identifier hash collisions resolved", identifiers.getCollisionCount());
+        }
+
         return output;
     }
 
+    /**
+     * Streaming batch mapping: like mapProduct() for a batch of products, mapped in parallel.
+     * Brands are emitted only when first seen in this mapper, so batches can be appended
+     * one after another (e.g. when replaying archives) without holding the whole run in memory.
+     */
+    public DatabaseOutput mapBatch(List<Product> products, int parallelism) {
+        List<Product> mapped = products.stream().filter(Objects::nonNull).toList();
+
+        List<ProductReservation> reservations = new ArrayList<>(mapped.size());
+        for (Product product : mapped) {
+            reservations.add(reserve(product));
+        }
+
+        DatabaseOutput output = mapReservedInOrder(mapped, reservations, parallelism);
+        for (ProductReservation reservation : reservations) {
+            if (reservation.newBrand) {
+                output.addBrand(reservation.brand);
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Diff mapping: maps the products and compares them with the previous import.
+     * IDs in the returned sets are the stable IDs from the differ's state;
+     * differ.getNextState() holds the state to save for the next run.
+     */
+    public DeltaOutput mapToDelta(List<Product> products, DatabaseDiffer differ) {
+        DeltaOutput delta = differ.diff(mapToDatabase(products));
+        delta.setDeletes(differ.getDeletes());
+        differ.logSummary();
+        return delta;
+    }
+
+    /**
+     * Streaming mapping: converts a single Product to its database entities.
+     * The returned brands list contains the brand only when it was first seen
+     * in this call, so each brand is emitted exactly once across a run.
+     */
+    public DatabaseOutput mapProduct(Product product) {
+        ProductReservation reservation = reserve(product);
+        DatabaseOutput output = mapReserved(product, reservation);
+
+        if (reservation.newBrand) {
+            output.addBrand(reservation.brand);
+        }
+
+        return output;
+    }
+
+    /**
+     * Reserve brand, IDs and SKUs for one product. Must be called in product order;
+     * everything order-dependent (counters, collision suffixes) happens here.
+     */
+    private ProductReservation reserve(Product product) {
+        int brandsBefore = brandCache.size();
+        BrandEntity brand = getOrCreateBrand(product.getBrand());
+
+        ProductReservation reservation = new ProductReservation(brand, brandCache.size() > brandsBefore);
+        reservation.productId = nextId(productIdCounter, "product", productKey(product));
+        reservation.productSku = generateSku(product);
+
+        List<ProductVariant> variants = product.getVariants() != null ? product.getVariants() : List.of();
+        long variantIdBlock = deterministicIds ? 0 : variantIdCounter.getAndAdd(variants.size());
+
+        for (int i = 0; i < variants.size(); i++) {
+            ProductVariant variant = variants.get(i);
+            reservation.variantIds.add(deterministicIds
+                    ? identifiers.id("variant", reservation.productId + "|" + variantKey(variant))
+                    : variantIdBlock + i);
+            reservation.variantSkus.add(generateVariantSku(product, variant));
+        }
+
+        if (!deterministicIds) {
+            reservation.nextAttributeId = attributeIdCounter.getAndAdd(countAttributes(product));
+        }
+
+        return reservation;
+    }
+
+    /**
+     * Map one reserved product (product, variants, attributes) into its own buffer.
+     * Safe to call concurrently for different products.
+     */
+    private DatabaseOutput mapReserved(Product product, ProductReservation reservation) {
+        DatabaseOutput output = new DatabaseOutput();
+
+        // Map product
+        ProductEntity productEntity = mapToProductEntity(product, reservation);
+        output.addProduct(productEntity);
+
+        // Map variants
+        if (product.getVariants() != null && !product.getVariants().isEmpty()) {
+            for (int i = 0; i < product.getVariants().size(); i++) {
+                ProductVariant variant = product.getVariants().get(i);
+                ProductVariantEntity variantEntity = mapToVariantEntity(variant, productEntity.getId(),
+                        reservation.variantIds.get(i), reservation.variantSkus.get(i));
+
+                // Set first variant as default
+                if (i == 0) {
+                    variantEntity.setIsDefault(true);
+                }
+
+                output.addProductVariant(variantEntity);
+
+                // Create variant attributes
+                createVariantAttributes(variant, productEntity.getId(), variantEntity.getId(), reservation, output);
+            }
+        }
+
+        // Create product attributes from specifications
+        createProductAttributes(product, productEntity.getId(), reservation, output);
+
+        return output;
+    }
+
+    /**
+     * Map reserved products (on a fork-join pool when parallelism > 1) and merge the
+     * per-product buffers in list order. Brands are left to the caller.
+     */
+    private DatabaseOutput mapReservedInOrder(List<Product> mapped, List<ProductReservation> reservations,
+                                              int parallelism) {
+        DatabaseOutput[] buffers = new DatabaseOutput[mapped.size()];
+
+        if (parallelism <= 1) {
+            for (int i = 0; i < buffers.length; i++) {
+                buffers[i] = mapReserved(mapped.get(i), reservations.get(i));
+            }
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.submit(() -> IntStream.range(0, buffers.length).parallel()
+                        .forEach(i -> buffers[i] = mapReserved(mapped.get(i), reservations.get(i))))
+                        .get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Database mapping interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Database mapping failed: " + e.getCause().getMessage(), e.getCause());
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        DatabaseOutput output = new DatabaseOutput();
+        for (DatabaseOutput buffer : buffers) {
+            output.getProducts().addAll(buffer.getProducts());
+            output.getProductVariants().addAll(buffer.getProductVariants());
+            output.getProductAttributes().addAll(buffer.getProductAttributes());
+        }
+
+        return output;
+    }
+
+    /**
+     * Number of attribute rows mapReserved() creates for the product (size of its ID block)
+     */
+    private int countAttributes(Product product) {
+        int count = 0;
+
+        if (product.getVariants() != null) {
+            for (ProductVariant variant : product.getVariants()) {
+                for (String value : new String[]{variant.getStorage(), variant.getColor(),
+                        variant.getSeller(), variant.getWebsite(), variant.getCurrency()}) {
+                    if (hasText(value)) {
+                        count++;
+                    }
+                }
+            }
+        }
+
+        if (product.getAttributes() != null) {
+            for (AttributeGroup group : product.getAttributes()) {
+                count += group.getItems().size();
+            }
+        }
+
+        return count;
+    }
+
     /**
      * Get existing brand or create new one
      */
@@ -96,23 +286,21 @@ public class DatabaseMapper {
 
         String brandKey = brandName.trim().toLowerCase();
         
-        if (!brandCache.containsKey(brandKey)) {
-            BrandEntity brand = new BrandEntity(brandIdCounter.getAndIncrement(), brandName.trim());
-            brandCache.put(brandKey, brand);
-            logger.debug("Created new brand: {}", brandName);
-        }
+        String name = brandName.trim();
 
-        return brandCache.get(brandKey);
+        return brandCache.computeIfAbsent(brandKey, key -> {
+            logger.debug("Created new brand: {}", name);
+            return new BrandEntity(nextId(brandIdCounter, "brand", key), name);
+        });
     }
 
     /**
      * Map Product to ProductEntity
      */
-    public ProductEntity mapToProductEntity(Product product, Long brandId) {
-        Long productId = productIdCounter.getAndIncrement();
-        ProductEntity entity = new ProductEntity(productId, product.getTitle());
+    private ProductEntity mapToProductEntity(Product product, ProductReservation reservation) {
+        ProductEntity entity = new ProductEntity(reservation.productId, product.getTitle());
 
-        entity.setBrandId(brandId);
+        entity.setBrandId(reservation.brand.getId());
         entity.setExternalBrandName(product.getBrand());
 
         // Generate description from specifications
@@ -136,8 +324,8 @@ public class DatabaseMapper {
             entity.setPrice(parsePrice(firstVariant.getPrice()));
         }
 
-        // Generate SKU
-        entity.setSku(generateSku(product));
+        // SKU reserved in product order
+        entity.setSku(reservation.productSku);
 
         return entity;
     }
@@ -145,8 +333,7 @@ public class DatabaseMapper {
     /**
      * Map ProductVariant to ProductVariantEntity
      */
-    public ProductVariantEntity mapToVariantEntity(ProductVariant variant, Long productId) {
-        Long variantId = variantIdCounter.getAndIncrement();
+    private ProductVariantEntity mapToVariantEntity(ProductVariant variant, Long productId, Long variantId, String sku) {
         
         // Build variant name from storage and color
         String variantName = buildVariantName(variant);
@@ -154,7 +341,7 @@ public class DatabaseMapper {
         ProductVariantEntity entity = new ProductVariantEntity(variantId, productId, variantName);
 
         entity.setPrice(parsePrice(variant.getPrice()));
-        entity.setSku(generateVariantSku(variant));
+        entity.setSku(sku);
         
         // Generate keywords from variant name
         entity.setKeywords(variantName != null ? variantName.toLowerCase() : "");
@@ -165,11 +352,12 @@ public class DatabaseMapper {
     /**
      * Create variant attributes (storage, color)
      */
-    public void createVariantAttributes(ProductVariant variant, Long productId, Long variantId, DatabaseOutput output) {
+    private void createVariantAttributes(ProductVariant variant, Long productId, Long variantId,
+                                         ProductReservation reservation, DatabaseOutput output) {
         // Storage attribute
-        if (variant.getStorage() != null && !variant.getStorage().trim().isEmpty()) {
+        if (hasText(variant.getStorage())) {
             ProductAttributeEntity storageAttr = new ProductAttributeEntity(
-                    attributeIdCounter.getAndIncrement(),
+                    reservation.attributeId(variantId, "storage"),
                     productId,
                     "storage",
                     variant.getStorage().trim()
@@ -180,9 +368,9 @@ public class DatabaseMapper {
         }
 
         // Color attribute
-        if (variant.getColor() != null && !variant.getColor().trim().isEmpty()) {
+        if (hasText(variant.getColor())) {
             ProductAttributeEntity colorAttr = new ProductAttributeEntity(
-                    attributeIdCounter.getAndIncrement(),
+                    reservation.attributeId(variantId, "color"),
                     productId,
                     "color",
                     variant.getColor().trim()
@@ -193,9 +381,9 @@ public class DatabaseMapper {
         }
 
         // Seller info attribute
-        if (variant.getSeller() != null && !variant.getSeller().trim().isEmpty()) {
+        if (hasText(variant.getSeller())) {
             ProductAttributeEntity sellerAttr = new ProductAttributeEntity(
-                    attributeIdCounter.getAndIncrement(),
+                    reservation.attributeId(variantId, "seller"),
                     productId,
                     "seller",
                     variant.getSeller().trim()
@@ -206,9 +394,9 @@ public class DatabaseMapper {
         }
 
         // Website attribute
-        if (variant.getWebsite() != null && !variant.getWebsite().trim().isEmpty()) {
+        if (hasText(variant.getWebsite())) {
             ProductAttributeEntity websiteAttr = new ProductAttributeEntity(
-                    attributeIdCounter.getAndIncrement(),
+                    reservation.attributeId(variantId, "website"),
                     productId,
                     "website",
                     variant.getWebsite().trim()
@@ -219,9 +407,9 @@ public class DatabaseMapper {
         }
 
         // Currency attribute
-        if (variant.getCurrency() != null && !variant.getCurrency().trim().isEmpty()) {
+        if (hasText(variant.getCurrency())) {
             ProductAttributeEntity currencyAttr = new ProductAttributeEntity(
-                    attributeIdCounter.getAndIncrement(),
+                    reservation.attributeId(variantId, "currency"),
                     productId,
                     "currency",
                     variant.getCurrency().trim()
@@ -235,7 +423,8 @@ public class DatabaseMapper {
     /**
      * Create product attributes from attributes (not specifications)
      */
-    public void createProductAttributes(Product product, Long productId, DatabaseOutput output) {
+    private void createProductAttributes(Product product, Long productId,
+                                         ProductReservation reservation, DatabaseOutput output) {
         if (product.getAttributes() == null) {
             return;
         }
@@ -246,7 +435,7 @@ public class DatabaseMapper {
             for (SpecificationItem item : group.getItems()) {
                 
                 ProductAttributeEntity attr = new ProductAttributeEntity();
-                attr.setId(attributeIdCounter.getAndIncrement());
+                attr.setId(reservation.attributeId(null, item.getKey()));
                 attr.setProductId(productId);
                 attr.setAttributeName(item.getKey());
                 attr.setAttributeValue(item.getValue());
@@ -264,21 +453,6 @@ public class DatabaseMapper {
         }
     }
 
-    /**
-     * Helper method to add specification attribute
-     */
-    private void addSpecificationAttribute(DatabaseOutput output, Long productId, String name, String value, int sortOrder) {
-        ProductAttributeEntity attr = new ProductAttributeEntity(
-                attributeIdCounter.getAndIncrement(),
-                productId,
-                name,
-                value.trim()
-        );
-        attr.setAttributeType("specification");
-        attr.setSortOrder(sortOrder);
-        output.addProductAttribute(attr);
-    }
-
     /**
      * Build description from specifications
      */
@@ -357,21 +531,48 @@ public class DatabaseMapper {
     }
 
     /**
-     * Generate SKU for product
+     * Next entity ID: hash of the natural key, or the run-local counter
+     */
+    private Long nextId(AtomicLong counter, String namespace, String naturalKey) {
+        return deterministicIds ? identifiers.id(namespace, naturalKey) : counter.getAndIncrement();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    /**
+     * Natural key of a product: brand and normalized title
+     */
+    private String productKey(Product product) {
+        String brand = product.getBrand() != null && !product.getBrand().trim().isEmpty() ? product.getBrand() : "Unknown";
+        return IdentifierGenerator.normalize(brand) + "|" + IdentifierGenerator.normalize(product.getTitle());
+    }
+
+    /**
+     * Natural key of a variant within its product: storage and color
+     */
+    private String variantKey(ProductVariant variant) {
+        return IdentifierGenerator.normalize(variant.getStorage()) + "|" + IdentifierGenerator.normalize(variant.getColor());
+    }
+
+    /**
+     * Generate SKU for product (stable across runs: hash of brand and title)
      */
     private String generateSku(Product product) {
         String brand = product.getBrand() != null ? product.getBrand().toUpperCase().replaceAll("[^A-Z0-9]", "") : "UNK";
-        return String.format("%s-PROD-%d", brand, System.currentTimeMillis() % 100000);
+        return String.format("%s-PROD-%s", brand, identifiers.code("product_sku", productKey(product)));
     }
 
     /**
-     * Generate SKU for variant
+     * Generate SKU for variant (stable across runs: hash of brand, title, storage and color)
      */
-    private String generateVariantSku(ProductVariant variant) {
+    private String generateVariantSku(Product product, ProductVariant variant) {
         String storage = variant.getStorage() != null ? variant.getStorage().replaceAll("[^A-Z0-9]", "") : "";
         String colorCleaned = variant.getColor() != null ? variant.getColor().toUpperCase().replaceAll("[^A-Z0-9]", "") : "";
         String color = colorCleaned.substring(0, Math.min(3, colorCleaned.length()));
-        return String.format("VAR-%s-%s-%d", storage, color, System.currentTimeMillis() % 100000);
+        String code = identifiers.code("variant_sku", productKey(product) + "|" + variantKey(variant));
+        return String.format("VAR-%s-%s-%s", storage, color, code);
     }
 
     /**
@@ -393,4 +594,41 @@ public class DatabaseMapper {
             return 0.0;
         }
     }
+
+    /**
+     * Brand, IDs and SKUs reserved for one product before it is mapped
+     */
+    private class ProductReservation {
+        final BrandEntity brand;
+        final boolean newBrand;
+        Long productId;
+        String productSku;
+        final List<Long> variantIds = new ArrayList<>();
+        final List<String> variantSkus = new ArrayList<>();
+
+        // Start of the product's attribute ID block (counter IDs)
+        long nextAttributeId;
+
+        // Attribute IDs (deterministic IDs): keys embed the unique owner ID, so collisions are only tracked per product
+        private IdentifierGenerator.Scope attributeIds;
+
+        ProductReservation(BrandEntity brand, boolean newBrand) {
+            this.brand = brand;
+            this.newBrand = newBrand;
+        }
+
+        /**
+         * Next attribute ID: from the reserved block, or hash of owner (variant or product) and name
+         */
+        Long attributeId(Long variantId, String name) {
+            if (!deterministicIds) {
+                return nextAttributeId++;
+            }
+            if (attributeIds == null) {
+                attributeIds = identifiers.scope();
+            }
+            String owner = variantId != null ? "v" + variantId : "p" + productId;
+            return attributeIds.id("attribute", owner + "|" + IdentifierGenerator.normalize(name));
+        }
+    }
 }
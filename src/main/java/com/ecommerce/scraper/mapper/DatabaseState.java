@@ -0,0 +1,188 @@
+package com.ecommerce.scraper.mapper;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compact state of a previous import: for every entity type, natural key -> stable ID,
+ * SKU, timestamps and a content hash. Used by DatabaseDiffer to build delta output
+ * without keeping the previous database_import in memory.
+ */
+public class DatabaseState {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    @JsonProperty("brands")
+    private Map<String, EntityRecord> brands = new LinkedHashMap<>();
+
+    @JsonProperty("products")
+    private Map<String, EntityRecord> products = new LinkedHashMap<>();
+
+    @JsonProperty("product_variants")
+    private Map<String, EntityRecord> productVariants = new LinkedHashMap<>();
+
+    @JsonProperty("product_attributes")
+    private Map<String, EntityRecord> productAttributes = new LinkedHashMap<>();
+
+    // Constructors
+    public DatabaseState() {}
+
+    /**
+     * Load a state file written by save()
+     */
+    public static DatabaseState load(File stateFile) throws IOException {
+        return objectMapper.readValue(stateFile, DatabaseState.class);
+    }
+
+    /**
+     * Build state from a previous database_import JSON file (IDs are adopted as-is)
+     */
+    public static DatabaseState fromDatabaseImport(File importFile) throws IOException {
+        return fromDatabaseOutput(objectMapper.readValue(importFile, DatabaseOutput.class));
+    }
+
+    /**
+     * Build state from an already loaded import (any output format)
+     */
+    public static DatabaseState fromDatabaseOutput(DatabaseOutput previous) {
+        DatabaseDiffer differ = new DatabaseDiffer(new DatabaseState(), true);
+        differ.diff(previous);
+        return differ.getNextState();
+    }
+
+    /**
+     * Write state as compact JSON
+     */
+    public void save(File stateFile) throws IOException {
+        File parentDir = stateFile.getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+        objectMapper.writeValue(stateFile, this);
+    }
+
+    /**
+     * Highest ID in the given section (0 if empty)
+     */
+    static long maxId(Map<String, EntityRecord> section) {
+        return section.values().stream().mapToLong(record -> record.getId()).max().orElse(0);
+    }
+
+    // Getters and Setters
+    public Map<String, EntityRecord> getBrands() {
+        return brands;
+    }
+
+    public void setBrands(Map<String, EntityRecord> brands) {
+        this.brands = brands;
+    }
+
+    public Map<String, EntityRecord> getProducts() {
+        return products;
+    }
+
+    public void setProducts(Map<String, EntityRecord> products) {
+        this.products = products;
+    }
+
+    public Map<String, EntityRecord> getProductVariants() {
+        return productVariants;
+    }
+
+    public void setProductVariants(Map<String, EntityRecord> productVariants) {
+        this.productVariants = productVariants;
+    }
+
+    public Map<String, EntityRecord> getProductAttributes() {
+        return productAttributes;
+    }
+
+    public void setProductAttributes(Map<String, EntityRecord> productAttributes) {
+        this.productAttributes = productAttributes;
+    }
+
+    /**
+     * State of a single entity row
+     */
+    public static class EntityRecord {
+
+        @JsonProperty("id")
+        private Long id;
+
+        @JsonProperty("sku")
+        private String sku;
+
+        @JsonProperty("created_at")
+        private LocalDateTime createdAt;
+
+        @JsonProperty("updated_at")
+        private LocalDateTime updatedAt;
+
+        @JsonProperty("hash")
+        private String hash;
+
+        // Constructors
+        public EntityRecord() {}
+
+        public EntityRecord(Long id, String sku, LocalDateTime createdAt, LocalDateTime updatedAt, String hash) {
+            this.id = id;
+            this.sku = sku;
+            this.createdAt = createdAt;
+            this.updatedAt = updatedAt;
+            this.hash = hash;
+        }
+
+        // Getters and Setters
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getSku() {
+            return sku;
+        }
+
+        public void setSku(String sku) {
+            this.sku = sku;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        public void setCreatedAt(LocalDateTime createdAt) {
+            this.createdAt = createdAt;
+        }
+
+        public LocalDateTime getUpdatedAt() {
+            return updatedAt;
+        }
+
+        public void setUpdatedAt(LocalDateTime updatedAt) {
+            this.updatedAt = updatedAt;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public void setHash(String hash) {
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.scraper.mapper;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delta against the previous import: new rows, changed rows and IDs of rows that disappeared
+ */
+public class DeltaOutput {
+
+    @JsonProperty("inserts")
+    private DatabaseOutput inserts = new DatabaseOutput();
+
+    @JsonProperty("updates")
+    private DatabaseOutput updates = new DatabaseOutput();
+
+    @JsonProperty("deletes")
+    private Map<String, List<Long>> deletes = emptyDeletes();
+
+    // Constructors
+    public DeltaOutput() {}
+
+    /**
+     * Delete sets keyed like the DatabaseOutput arrays
+     */
+    static Map<String, List<Long>> emptyDeletes() {
+        Map<String, List<Long>> deletes = new LinkedHashMap<>();
+        deletes.put("brands", new ArrayList<>());
+        deletes.put("products", new ArrayList<>());
+        deletes.put("product_variants", new ArrayList<>());
+        deletes.put("product_attributes", new ArrayList<>());
+        return deletes;
+    }
+
+    // Getters and Setters
+    public DatabaseOutput getInserts() {
+        return inserts;
+    }
+
+    public void setInserts(DatabaseOutput inserts) {
+        this.inserts = inserts;
+    }
+
+    public DatabaseOutput getUpdates() {
+        return updates;
+    }
+
+    public void setUpdates(DatabaseOutput updates) {
+        this.updates = updates;
+    }
+
+    public Map<String, List<Long>> getDeletes() {
+        return deletes;
+    }
+
+    public void setDeletes(Map<String, List<Long>> deletes) {
+        this.deletes = deletes;
+    }
+}
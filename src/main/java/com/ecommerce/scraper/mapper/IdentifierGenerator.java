@@ -0,0 +1,155 @@
+package com.ecommerce.scraper.mapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deterministic identifiers derived from natural keys (64-bit FNV-1a hash).
+ *
+ * The same natural key always yields the same value, so repeated runs produce the same
+ * SKUs/IDs and no shared counter is needed. Every namespace keeps a registry of issued
+ * values; a value that is already taken is re-hashed with an occurrence suffix ("#2", "#3", ...).
+ * Taken by a different key is a real hash collision and is logged as a warning; taken by the
+ * same key means the input contains the same entity twice.
+ *
+ * The run-wide registries keep every issued value until the generator is dropped. High-volume
+ * keys that embed an already unique owner (e.g. attributes keyed by product or variant ID) are
+ * issued through a {@link Scope} instead, whose registry only lives as long as that owner.
+ */
+public class IdentifierGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdentifierGenerator.class);
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    // IDs stay within 53 bits so they survive JSON consumers that parse numbers as doubles
+    private static final long ID_MASK = (1L << 53) - 1;
+
+    private static final int CODE_LENGTH = 8;
+    private static final long CODE_RANGE = pow(36, CODE_LENGTH);
+
+    private final Map<String, Map<Object, String>> registries = new ConcurrentHashMap<>();
+    private final AtomicInteger collisions = new AtomicInteger();
+
+    /**
+     * Positive numeric ID for the natural key, unique within the namespace
+     */
+    public long id(String namespace, String naturalKey) {
+        return id(registries, namespace, naturalKey);
+    }
+
+    /**
+     * Fixed-length upper-case base-36 code for the natural key, unique within the namespace
+     */
+    public String code(String namespace, String naturalKey) {
+        String key = naturalKey;
+        for (int n = 2; ; n++) {
+            String code = toBase36(Long.remainderUnsigned(fnv1a64(namespace + "|" + key), CODE_RANGE));
+            if (register(registries, namespace, code, naturalKey)) {
+                return code;
+            }
+            key = naturalKey + "#" + n;
+        }
+    }
+
+    /**
+     * New scope: same values as {@link #id}, but uniqueness is only tracked within the scope
+     */
+    public Scope scope() {
+        return new Scope();
+    }
+
+    /**
+     * Number of real hash collisions (different keys, same value) seen so far, scopes included
+     */
+    public int getCollisionCount() {
+        return collisions.get();
+    }
+
+    /**
+     * Normalized natural key part: trimmed, lower-case, single spaces
+     */
+    public static String normalize(String value) {
+        return value != null ? value.trim().replaceAll("\\s+", " ").toLowerCase() : "";
+    }
+
+    static long fnv1a64(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private long id(Map<String, Map<Object, String>> registries, String namespace, String naturalKey) {
+        String key = naturalKey;
+        for (int n = 2; ; n++) {
+            long id = fnv1a64(namespace + "|" + key) & ID_MASK;
+            if (id != 0 && register(registries, namespace, id, naturalKey)) {
+                return id;
+            }
+            key = naturalKey + "#" + n;
+        }
+    }
+
+    private boolean register(Map<String, Map<Object, String>> registries, String namespace,
+                             Object value, String naturalKey) {
+        String owner = registries
+                .computeIfAbsent(namespace, ns -> new ConcurrentHashMap<>())
+                .putIfAbsent(value, naturalKey);
+
+        if (owner == null) {
+            return true;
+        }
+
+        if (owner.equals(naturalKey)) {
+            logger.debug("Duplicate natural key in {}: {}", namespace, naturalKey);
+        } else {
+            collisions.incrementAndGet();
+            logger.warn("Hash collision in {}: '{}' and '{}' -> {}", namespace, owner, naturalKey, value);
+        }
+        return false;
+    }
+
+    /**
+     * Identifiers whose uniqueness is tracked only among the keys issued through this scope.
+     * Not thread-safe; meant for one owner (e.g. the attributes of one product) mapped by one thread.
+     */
+    public class Scope {
+
+        private final Map<String, Map<Object, String>> registries = new HashMap<>();
+
+        private Scope() {}
+
+        /**
+         * Same value as {@link IdentifierGenerator#id} for the first occurrence of the key in this scope
+         */
+        public long id(String namespace, String naturalKey) {
+            return IdentifierGenerator.this.id(registries, namespace, naturalKey);
+        }
+    }
+
+    private static String toBase36(long value) {
+        StringBuilder code = new StringBuilder(Long.toString(value, 36).toUpperCase());
+        while (code.length() < CODE_LENGTH) {
+            code.insert(0, '0');
+        }
+        return code.toString();
+    }
+
+    private static long pow(long base, int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+}
@@ -1,6 +1,7 @@
 package com.ecommerce.scraper.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.ArrayList;
 import java.util.List;
@@ -16,12 +17,16 @@ public class Product {
     @JsonProperty("variants")
     private List<ProductVariant> variants = new ArrayList<>();
 
-    @JsonIgnore  // Hide from JSON export, keep for internal use
+    @JsonProperty("specifications")  // scraped_raw arxivində saxlanır ki, replay attributes-u yenidən qura bilsin
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private ProductSpecifications specifications;
 
     @JsonProperty("attributes")
     private List<AttributeGroup> attributes;
 
+    @JsonIgnore  // Spesifikasiya cədvəlinin hash-i (incremental re-crawl üçün)
+    private String specFingerprint;
+
     // Constructors
     public Product() {}
 
@@ -75,6 +80,14 @@ public class Product {
         this.attributes = attributes;
     }
 
+    public String getSpecFingerprint() {
+        return specFingerprint;
+    }
+
+    public void setSpecFingerprint(String specFingerprint) {
+        this.specFingerprint = specFingerprint;
+    }
+
     @Override
     public String toString() {
         return "Product{" +
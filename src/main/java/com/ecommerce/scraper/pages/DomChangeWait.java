@@ -0,0 +1,148 @@
+package com.ecommerce.scraper.pages;
+
+import com.ecommerce.scraper.jfr.ScrapeContext;
+import com.ecommerce.scraper.jfr.WaitEvent;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * MutationObserver əsaslı gözləmə.
+ *
+ * arm() səhifəyə observer quraşdırır, await() isə selector-a uyğun element
+ * (və ya onun içi) həqiqətən dəyişənə qədər gözləyir. Dəyişiklik arm() ilə
+ * await() arasında baş veribsə await() dərhal qayıdır.
+ *
+ * itemSelector verilibsə, hər mutasiya dəyişiklik sayılmır: konteynerin ilk item-i arm()-dakı
+ * snapshot-dan fərqli olana qədər (yeni node və ya başqa mətn) gözlənilir. Belə ki, sətirlərdən
+ * əvvəl gələn loading class-ı və ya spinner köhnə siyahını "dəyişmiş" kimi göstərmir.
+ */
+class DomChangeWait {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomChangeWait.class);
+
+    private static final String ARM_SCRIPT =
+            "var sel = arguments[0], itemSel = arguments[1];" +
+            "var watches = window.__qmDomWatches = window.__qmDomWatches || {};" +
+            "if (watches[sel] && watches[sel].observer) { watches[sel].observer.disconnect(); }" +
+            "function firstItem() {" +
+            "  var item = document.querySelector(sel + ' ' + itemSel);" +
+            "  return {node: item, text: item ? item.textContent : null};" +
+            "}" +
+            "var before = itemSel ? firstItem() : null;" +
+            "var state = watches[sel] = {changed: false, waiters: []};" +
+            "function replaced() {" +
+            "  if (!itemSel) { return true; }" +
+            "  var now = firstItem();" +
+            "  return !!now.node && (now.node !== before.node || now.text !== before.text);" +
+            "}" +
+            "function inside(node) {" +
+            "  if (node && node.nodeType !== 1) { node = node.parentElement; }" +
+            "  return !!node && !!node.closest(sel);" +
+            "}" +
+            "function contains(node) {" +
+            "  return !!node && node.nodeType === 1 && (node.matches(sel) || !!node.querySelector(sel));" +
+            "}" +
+            "state.observer = new MutationObserver(function (mutations) {" +
+            "  var hit = false;" +
+            "  for (var i = 0; !hit && i < mutations.length; i++) {" +
+            "    var m = mutations[i];" +
+            "    hit = inside(m.target);" +
+            "    for (var j = 0; !hit && j < m.addedNodes.length; j++) { hit = contains(m.addedNodes[j]); }" +
+            "    for (var k = 0; !hit && k < m.removedNodes.length; k++) { hit = contains(m.removedNodes[k]); }" +
+            "  }" +
+            "  if (hit && replaced()) {" +
+            "    state.changed = true;" +
+            "    state.observer.disconnect();" +
+            "    state.waiters.splice(0).forEach(function (w) { w(true); });" +
+            "  }" +
+            "});" +
+            "state.observer.observe(document.body," +
+            "  {childList: true, subtree: true, characterData: true, attributes: true});" +
+            "return true;";
+
+    private static final String AWAIT_SCRIPT =
+            "var sel = arguments[0], timeoutMs = arguments[1];" +
+            "var done = arguments[arguments.length - 1];" +
+            "var state = window.__qmDomWatches && window.__qmDomWatches[sel];" +
+            "if (!state) { done(false); return; }" +
+            "if (state.changed) { done(true); return; }" +
+            "var timer = setTimeout(function () { state.observer.disconnect(); done(false); }, timeoutMs);" +
+            "state.waiters.push(function (v) { clearTimeout(timer); done(v); });";
+
+    private final WebDriver driver;
+    private final String cssSelector;
+    private final String itemSelector;
+    private final Duration timeout;
+
+    DomChangeWait(WebDriver driver, String cssSelector, Duration timeout) {
+        this(driver, cssSelector, null, timeout);
+    }
+
+    /**
+     * itemSelector - cssSelector daxilindəki item-lər (məs. li.price-item); yalnız ilk item
+     * əvəz olunanda və ya mətni dəyişəndə dəyişiklik sayılır
+     */
+    DomChangeWait(WebDriver driver, String cssSelector, String itemSelector, Duration timeout) {
+        this.driver = driver;
+        this.cssSelector = cssSelector;
+        this.itemSelector = itemSelector;
+        this.timeout = timeout;
+
+        // Async script timeout gözləmədən qısa olmamalıdır
+        Duration minScriptTimeout = timeout.plusSeconds(5);
+        if (driver.manage().timeouts().getScriptTimeout().compareTo(minScriptTimeout) < 0) {
+            driver.manage().timeouts().scriptTimeout(minScriptTimeout);
+        }
+    }
+
+    /**
+     * Observer-i quraşdır (əməliyyatdan ƏVVƏL çağırılmalıdır)
+     */
+    void arm() {
+        ((JavascriptExecutor) driver).executeScript(ARM_SCRIPT, cssSelector, itemSelector);
+    }
+
+    /**
+     * Dəyişikliyi və ya timeout-u gözlə. Dəyişiklik olubsa true.
+     */
+    boolean await() {
+        WaitEvent event = new WaitEvent();
+        event.begin();
+
+        try {
+            Object changed = ((JavascriptExecutor) driver)
+                    .executeAsyncScript(AWAIT_SCRIPT, cssSelector, timeout.toMillis());
+
+            if (!Boolean.TRUE.equals(changed)) {
+                logger.debug("DOM dəyişikliyi {} ms ərzində gəlmədi: {}", timeout.toMillis(), cssSelector);
+                return false;
+            }
+            event.changed = true;
+            return true;
+
+        } catch (Exception e) {
+            logger.debug("DOM gözləmə xətası ({}): {}", cssSelector, e.getMessage());
+            return false;
+
+        } finally {
+            event.selector = cssSelector;
+            event.timeout = timeout.toMillis();
+            event.productUrl = ScrapeContext.getProductUrl();
+            event.variant = ScrapeContext.getVariant();
+            event.commit();
+        }
+    }
+
+    /**
+     * arm() + action + await()
+     */
+    boolean runAndAwait(Runnable action) {
+        arm();
+        action.run();
+        return await();
+    }
+}
@@ -0,0 +1,373 @@
+package com.ecommerce.scraper.pages;
+
+import com.ecommerce.scraper.jfr.SpecificationParseEvent;
+import com.ecommerce.scraper.model.Product;
+import com.ecommerce.scraper.model.ProductSpecifications;
+import com.ecommerce.scraper.model.ProductVariant;
+import com.ecommerce.scraper.utils.HtmlPageCache;
+import com.ecommerce.scraper.utils.HttpPageFetcher;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ProductDetailPage-in brauzersiz variantı.
+ *
+ * Server tərəfində render olunan title, spesifikasiya cədvəli və ilk qiymət
+ * elementi Jsoup ilə oxunur. İnteraktiv variant matrisi olan səhifələrdə
+ * hasVariantOptions() true qaytarır və variantlar Selenium ilə toplanmalıdır -
+ * HtmlPageCache-də bütün kombinasiyaların qiymət siyahısı varsa (hasCachedVariants)
+ * variantlar cache-dən qurulur.
+ */
+public class HttpProductDetailPage {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpProductDetailPage.class);
+
+    // innerText-də yeni sətir yaradan elementlər
+    private static final Set<String> BLOCK_TAGS = Set.of(
+            "address", "article", "aside", "blockquote", "dd", "div", "dl", "dt",
+            "fieldset", "figcaption", "figure", "footer", "form", "h1", "h2", "h3",
+            "h4", "h5", "h6", "header", "hr", "li", "main", "nav", "ol", "p", "pre",
+            "section", "table", "tbody", "td", "tfoot", "th", "thead", "tr", "ul"
+    );
+
+    private final Document document;
+    private final String url;
+    private final HtmlPageCache cache;
+
+    private boolean cacheChecked;
+    private List<ProductVariant> cachedVariants;
+
+    // Constructor
+    public HttpProductDetailPage(String html, String url) {
+        this(html, url, null);
+    }
+
+    public HttpProductDetailPage(String html, String url, HtmlPageCache cache) {
+        this.document = Jsoup.parse(html, url);
+        this.url = url;
+        this.cache = cache;
+    }
+
+    /**
+     * Səhifəni HTTP ilə yüklə (fetcher-in cache-i variantlar üçün də istifadə olunur)
+     */
+    public static HttpProductDetailPage fetch(HttpPageFetcher fetcher, String url) throws IOException {
+        return new HttpProductDetailPage(fetcher.fetch(url), url, fetcher.getReadCache());
+    }
+
+    /**
+     * Məhsul məlumatlarını topla.
+     * Variant matrisi varsa variantlar boş qalır (bax: hasVariantOptions).
+     */
+    public Product scrapeProductData() {
+        logger.info("Məhsul data HTTP ilə toplanır: {}", url);
+
+        Product product = new Product();
+
+        // Brand və Title
+        extractBrandAndTitle(product);
+
+        // Specifications
+        ProductSpecifications specs = extractSpecifications();
+        product.setSpecifications(specs);
+        product.setSpecFingerprint(getSpecificationsFingerprint());
+
+        // Variantlar - yalnız matris yoxdursa
+        List<ProductVariant> variants = scrapeVariants();
+        product.setVariants(variants);
+
+        logger.info("Məhsul data toplandı (HTTP): {} - {} variant",
+                product.getTitle(), variants.size());
+
+        return product;
+    }
+
+    /**
+     * Yalnız qiymət siyahısını oxu. Variant matrisi varsa və cache-də yoxdursa boş list (Selenium lazımdır).
+     */
+    public List<ProductVariant> scrapeVariants() {
+        List<ProductVariant> variants = new ArrayList<>();
+        if (!hasVariantOptions()) {
+            ProductVariant variant = extractPriceData();
+            if (variant != null) {
+                variants.add(variant);
+            }
+        } else if (hasCachedVariants()) {
+            variants.addAll(cachedVariants);
+        }
+        return variants;
+    }
+
+    /**
+     * Variant matrisinin bütün kombinasiyaları cache-də varsa true
+     */
+    public boolean hasCachedVariants() {
+        if (!cacheChecked) {
+            cacheChecked = true;
+            cachedVariants = cache != null ? loadCachedVariants() : null;
+        }
+        return cachedVariants != null;
+    }
+
+    /**
+     * Spesifikasiya cədvəlinin HTML fingerprint-i
+     */
+    public String getSpecificationsFingerprint() {
+        return ProductPageSupport.fingerprint(
+                document.select(ProductPageSupport.SPECIFICATIONS_TABLE_CSS).outerHtml());
+    }
+
+    /**
+     * Storage və ya color seçimləri varsa true
+     */
+    public boolean hasVariantOptions() {
+        return hasOption(ProductPageSupport.STORAGE_OPTIONS_XPATH)
+                || hasOption(ProductPageSupport.COLOR_OPTIONS_XPATH);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Kombinasiyaları ProductDetailPage ilə eyni sırada (storage xarici dövr) cache-dən oxu.
+     * Hər hansı kombinasiya çatışmırsa null.
+     */
+    private List<ProductVariant> loadCachedVariants() {
+        List<Element> storageOptions = options(ProductPageSupport.STORAGE_OPTIONS_XPATH);
+        List<Element> colorOptions = options(ProductPageSupport.COLOR_OPTIONS_XPATH);
+
+        List<Element[]> combinations = new ArrayList<>();
+        if (colorOptions.isEmpty()) {
+            storageOptions.forEach(storage -> combinations.add(new Element[]{storage, null}));
+        } else if (storageOptions.isEmpty()) {
+            colorOptions.forEach(color -> combinations.add(new Element[]{null, color}));
+        } else {
+            for (Element storage : storageOptions) {
+                for (Element color : colorOptions) {
+                    combinations.add(new Element[]{storage, color});
+                }
+            }
+        }
+
+        List<ProductVariant> variants = new ArrayList<>();
+        for (Element[] combination : combinations) {
+            Element storage = combination[0];
+            Element color = combination[1];
+
+            String html = cache.get(url, HtmlPageCache.variantKey(
+                    storage != null ? storage.attr("data-spec-id") : null,
+                    color != null ? color.attr("data-spec-id") : null));
+            if (html == null) {
+                logger.debug("Variant cache-də yoxdur: {}", url);
+                return null;
+            }
+
+            ProductVariant variant = VariantNetworkCapture.decodePriceResponse(html);
+            if (variant == null) {
+                continue;
+            }
+            if (storage != null) {
+                variant.setStorage(storage.attr("data-spec-text"));
+            }
+            if (color != null) {
+                variant.setColor(color.attr("data-spec-text"));
+            }
+            variants.add(variant);
+        }
+
+        logger.debug("{} variant cache-dən quruldu: {}", variants.size(), url);
+        return variants;
+    }
+
+    private List<Element> options(String xpath) {
+        List<Element> options = new ArrayList<>();
+        for (Element option : document.selectXpath(xpath)) {
+            if (!option.attr("data-spec-text").isEmpty()) {
+                options.add(option);
+            }
+        }
+        return options;
+    }
+
+    private boolean hasOption(String xpath) {
+        for (Element option : document.selectXpath(xpath)) {
+            if (!option.attr("data-spec-text").isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Brand və Title çıxarma
+     */
+    private void extractBrandAndTitle(Product product) {
+        Element titleElement = document.selectFirst(ProductPageSupport.PRODUCT_TITLE_CSS);
+        if (titleElement == null) {
+            logger.error("Brand və ya Title çıxarıla bilmədi: {}", url);
+            return;
+        }
+
+        String fullTitle = renderedText(titleElement).trim();
+        product.setTitle(fullTitle);
+
+        Element processorElement = document.getElementById(ProductPageSupport.PROCESSOR_FIELD_ID);
+        String processorText = processorElement != null ? renderedText(processorElement) : null;
+
+        String brand = ProductPageSupport.resolveBrand(processorText, fullTitle);
+        product.setBrand(brand);
+
+        logger.debug("Brand: {}, Title: {}", brand, fullTitle);
+    }
+
+    /**
+     * İlk (ən yuxarıdakı) qiymət məlumatını çıxar
+     */
+    private ProductVariant extractPriceData() {
+        Element firstPriceItem = document.selectFirst(ProductPageSupport.FIRST_PRICE_ITEM_CSS);
+        ProductVariant variant = priceFromItem(firstPriceItem);
+
+        if (variant == null) {
+            logger.error("Qiymət məlumatı çıxarıla bilmədi: {}", url);
+        }
+
+        return variant;
+    }
+
+    /**
+     * li.price-item elementindən variant qiymətini oxu (yoxdursa null)
+     */
+    static ProductVariant priceFromItem(Element priceItem) {
+        if (priceItem == null) {
+            return null;
+        }
+
+        Element price = priceItem.selectFirst("meta[itemprop='price']");
+        Element currency = priceItem.selectFirst("meta[itemprop='priceCurrency']");
+        if (price == null || currency == null) {
+            return null;
+        }
+
+        ProductVariant variant = new ProductVariant();
+        variant.setPrice(price.attr("content"));
+        variant.setCurrency(currency.attr("content"));
+
+        // Satıcı
+        Element seller = priceItem.selectFirst("meta[itemprop='name']");
+        if (seller != null) {
+            variant.setSeller(seller.attr("content"));
+        }
+
+        // Website
+        Element website = priceItem.selectFirst(".website");
+        if (website != null) {
+            variant.setWebsite(renderedText(website).trim());
+        }
+
+        return variant;
+    }
+
+    /**
+     * Spesifikasiyaları çıxar
+     */
+    private ProductSpecifications extractSpecifications() {
+        SpecificationParseEvent event = new SpecificationParseEvent();
+        event.begin();
+        List<SpecificationRow> rows = new ArrayList<>();
+
+        for (Element table : document.select(ProductPageSupport.SPECIFICATIONS_TABLE_CSS)) {
+            for (Element row : table.select("tbody tr")) {
+                Element fieldNameElement = row.selectFirst(".field-name");
+                Element valueElement = row.selectFirst(".values .value");
+                Element valuesElement = row.selectFirst(".values");
+
+                if (fieldNameElement == null || valueElement == null) {
+                    logger.debug("Spesifikasiya sətri oxuna bilmədi");
+                    continue;
+                }
+
+                rows.add(new SpecificationRow(
+                        row.id(),
+                        renderedText(fieldNameElement),
+                        valueElement.hasAttr("data-value") ? valueElement.attr("data-value") : null,
+                        valueElement.attr("class"),
+                        renderedText(valuesElement)
+                ));
+            }
+        }
+
+        ProductSpecifications specs = ProductPageSupport.buildSpecifications(rows);
+
+        event.productUrl = url;
+        event.source = "jsoup";
+        event.rows = rows.size();
+        event.commit();
+        return specs;
+    }
+
+    /**
+     * WebElement.getText()-ə yaxın mətn: blok elementlər arasında yeni sətir,
+     * sətir daxilində boşluqlar birləşdirilir.
+     */
+    static String renderedText(Element element) {
+        List<String> lines = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        appendRendered(element, lines, current);
+        flushLine(lines, current);
+        return String.join("\n", lines);
+    }
+
+    private static void appendRendered(Node node, List<String> lines, StringBuilder current) {
+        if (node instanceof TextNode) {
+            current.append(((TextNode) node).text());
+            return;
+        }
+
+        if (!(node instanceof Element)) {
+            return;
+        }
+
+        Element element = (Element) node;
+        String tag = element.normalName();
+
+        if ("br".equals(tag)) {
+            flushLine(lines, current);
+            return;
+        }
+        if ("script".equals(tag) || "style".equals(tag) || "meta".equals(tag)) {
+            return;
+        }
+
+        boolean block = BLOCK_TAGS.contains(tag);
+        if (block) {
+            flushLine(lines, current);
+        }
+
+        for (Node child : element.childNodes()) {
+            appendRendered(child, lines, current);
+        }
+
+        if (block) {
+            flushLine(lines, current);
+        }
+    }
+
+    private static void flushLine(List<String> lines, StringBuilder current) {
+        String line = current.toString().replaceAll("\\s+", " ").trim();
+        if (!line.isEmpty()) {
+            lines.add(line);
+        }
+        current.setLength(0);
+    }
+}
@@ -0,0 +1,75 @@
+package com.ecommerce.scraper.pages;
+
+import com.ecommerce.scraper.utils.HttpPageFetcher;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ProductListPage-in brauzersiz variantı (HttpClient + Jsoup)
+ */
+public class HttpProductListPage {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpProductListPage.class);
+
+    private final Document document;
+    private final String url;
+
+    // Constructor
+    public HttpProductListPage(String html, String url) {
+        this.document = Jsoup.parse(html, url);
+        this.url = url;
+    }
+
+    /**
+     * Siyahı səhifəsini HTTP ilə yüklə
+     */
+    public static HttpProductListPage fetch(HttpPageFetcher fetcher, String url) throws IOException {
+        return new HttpProductListPage(fetcher.fetch(url), url);
+    }
+
+    /**
+     * Səhifədəki bütün məhsul linklərini topla
+     */
+    public List<String> getProductLinks() {
+        List<String> productLinks = new ArrayList<>();
+
+        for (int i = 2; i <= ProductPageSupport.MAX_PRODUCTS_PER_PAGE + 1; i++) {
+            String xpath = String.format(ProductPageSupport.PRODUCT_LINK_XPATH_TEMPLATE, i);
+            Elements links = document.selectXpath(xpath);
+
+            if (links.isEmpty()) {
+                logger.debug("Məhsul #{} tapılmadı, davam edirik", i);
+                break;
+            }
+
+            String href = links.first().absUrl("href");
+            if (!href.isEmpty()) {
+                productLinks.add(href);
+            }
+        }
+
+        logger.info("Səhifədə {} ədəd məhsul tapıldı: {}", productLinks.size(), url);
+        return productLinks;
+    }
+
+    /**
+     * Səhifə nömrələri widget-indən son səhifə nömrəsini tap
+     */
+    public int getLastPageNumber() {
+        List<String> labels = new ArrayList<>();
+
+        for (Element pageNumber : document.select(ProductPageSupport.PAGE_NUMBERS_CSS)) {
+            labels.add(pageNumber.text());
+        }
+
+        return ProductPageSupport.lastPageNumber(labels);
+    }
+}
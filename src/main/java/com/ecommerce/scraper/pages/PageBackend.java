@@ -0,0 +1,23 @@
+package com.ecommerce.scraper.pages;
+
+/**
+ * Səhifə növü üçün istifadə olunan backend
+ */
+public enum PageBackend {
+
+    /** ChromeDriver ilə tam render */
+    SELENIUM,
+
+    /** HttpClient + Jsoup, brauzersiz (variant matrisi Selenium-a düşür) */
+    HTTP;
+
+    /**
+     * Property dəyərini parse et (selenium / http)
+     */
+    public static PageBackend parse(String value, PageBackend defaultValue) {
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        return PageBackend.valueOf(value.trim().toUpperCase());
+    }
+}
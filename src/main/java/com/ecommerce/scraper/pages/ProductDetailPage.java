@@ -1,10 +1,14 @@
 package com.ecommerce.scraper.pages;
 
-import com.ecommerce.scraper.mapper.AttributeMapper;
-import com.ecommerce.scraper.model.AttributeGroup;
+import com.ecommerce.scraper.jfr.ScrapeContext;
+import com.ecommerce.scraper.jfr.SpecificationParseEvent;
+import com.ecommerce.scraper.jfr.VariantClickEvent;
 import com.ecommerce.scraper.model.Product;
 import com.ecommerce.scraper.model.ProductSpecifications;
 import com.ecommerce.scraper.model.ProductVariant;
+import com.ecommerce.scraper.utils.FetchGovernor;
+import com.ecommerce.scraper.utils.HtmlPageCache;
+import com.ecommerce.scraper.utils.MetricsRegistry;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -13,41 +17,117 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ProductDetailPage {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductDetailPage.class);
 
+    public static final Duration DEFAULT_PRICE_UPDATE_TIMEOUT = Duration.ofSeconds(3);
+
     private final WebDriver driver;
     private final WebDriverWait wait;
+    private final VariantMode variantMode;
+    private final DomChangeWait priceListChange;
+    private final DomChangeWait filterChange;
 
-    // Locators
-    private static final By PRODUCT_TITLE = By.cssSelector("h2.heading");
-
-    private static final By STORAGE_OPTIONS =
-            By.xpath("//div[@class='filter']//span[@class='option' and @data-field-key='yaddas']");
+    // Variant qiymət siyahılarının yazıldığı cache (offline rejim üçün, yoxdursa null)
+    private HtmlPageCache pageCache;
+    private String pageUrl;
 
-    private static final By COLOR_OPTIONS =
-            By.xpath("//div[@class='filter']//span[@class='option' and @data-field-key='color']");
+    // Variant klikləri / filter sorğuları üçün ortaq sorğu tənzimləyicisi (yoxdursa null)
+    private FetchGovernor governor;
 
-    private static final By FIRST_PRICE_ITEM =
-            By.cssSelector("ul.price-list li.price-item:first-of-type");
+    // Spesifikasiya / variant / gözləmə vaxtları (yoxdursa null)
+    private MetricsRegistry metrics;
 
-    private static final By SPECIFICATIONS_TABLE =
-            By.cssSelector("#specifications table.specifications");
-
-    private static final By PROCESSOR_FIELD = By.id("smartphone_processor");
-
-    // Boolean icon detection constants
-    private static final String ICON_CLASS = "icon";
-    private static final String ICON_TRUE_VALUE = "1.00";
-    private static final String ICON_FALSE_VALUE = "0.00";
+    // Locators
+    private static final By PRODUCT_TITLE = By.cssSelector(ProductPageSupport.PRODUCT_TITLE_CSS);
+
+    private static final By STORAGE_OPTIONS = By.xpath(ProductPageSupport.STORAGE_OPTIONS_XPATH);
+
+    private static final By COLOR_OPTIONS = By.xpath(ProductPageSupport.COLOR_OPTIONS_XPATH);
+
+    private static final By FIRST_PRICE_ITEM = By.cssSelector(ProductPageSupport.FIRST_PRICE_ITEM_CSS);
+
+    private static final By SPECIFICATIONS_TABLE = By.cssSelector(ProductPageSupport.SPECIFICATIONS_TABLE_CSS);
+
+    private static final By PROCESSOR_FIELD = By.id(ProductPageSupport.PROCESSOR_FIELD_ID);
+
+    // Bütün spesifikasiya sətirlərini {id, name, dataValue, class, text} kimi qaytarır.
+    // Mətn WebElement.getText() kimi normallaşdırılır: sətirlər trim, boş sətirlər atılır, &nbsp; -> boşluq
+    private static final String SPECIFICATION_ROWS_SCRIPT =
+            "function visibleText(el) {" +
+            "  if (!el || !el.getClientRects().length) { return ''; }" +
+            "  return el.innerText.split('\\n')" +
+            "    .map(function (l) { return l.replace(/^[ \\t\\r\\f\\v]+|[ \\t\\r\\f\\v]+$/g, ''); })" +
+            "    .filter(function (l) { return l.length > 0; })" +
+            "    .join('\\n').replace(/\\u00a0/g, ' ');" +
+            "}" +
+            "var rows = [];" +
+            "document.querySelectorAll(arguments[0]).forEach(function (table) {" +
+            "  table.querySelectorAll('tbody tr').forEach(function (row) {" +
+            "    var nameEl = row.querySelector('.field-name');" +
+            "    var valueEl = row.querySelector('.values .value');" +
+            "    if (!nameEl || !valueEl) { return; }" +
+            "    rows.push({" +
+            "      id: row.id," +
+            "      name: visibleText(nameEl)," +
+            "      dataValue: valueEl.getAttribute('data-value')," +
+            "      'class': valueEl.className," +
+            "      text: visibleText(row.querySelector('.values'))" +
+            "    });" +
+            "  });" +
+            "});" +
+            "return rows;";
+
+    // MutationObserver hədəfləri
+    private static final String PRICE_LIST_CSS = "ul.price-list";
+    private static final String PRICE_ITEM_CSS = "li.price-item";
+    private static final String FILTER_CSS = "div.filter";
 
     // Constructor
     public ProductDetailPage(WebDriver driver) {
+        this(driver, VariantMode.CLICK);
+    }
+
+    public ProductDetailPage(WebDriver driver, VariantMode variantMode) {
+        this(driver, variantMode, DEFAULT_PRICE_UPDATE_TIMEOUT);
+    }
+
+    public ProductDetailPage(WebDriver driver, VariantMode variantMode, Duration priceUpdateTimeout) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        this.variantMode = variantMode;
+        this.priceListChange = new DomChangeWait(driver, PRICE_LIST_CSS, PRICE_ITEM_CSS, priceUpdateTimeout);
+        this.filterChange = new DomChangeWait(driver, FILTER_CSS, priceUpdateTimeout);
+    }
+
+    /**
+     * Hər kombinasiyanın qiymət siyahısını url + variant açarı ilə cache-ə yaz
+     */
+    public ProductDetailPage recordTo(HtmlPageCache cache, String url) {
+        this.pageCache = cache;
+        this.pageUrl = url;
+        return this;
+    }
+
+    /**
+     * Hər variant kliki / filter sorğusu governor-dan icazə alsın
+     */
+    public ProductDetailPage throttledBy(FetchGovernor governor) {
+        this.governor = governor;
+        return this;
+    }
+
+    /**
+     * Spesifikasiya, variant kliki və gözləmə vaxtlarını metrics-ə yaz
+     */
+    public ProductDetailPage measuredBy(MetricsRegistry metrics) {
+        this.metrics = metrics;
+        return this;
     }
 
     /**
@@ -62,13 +142,11 @@ public class ProductDetailPage {
         extractBrandAndTitle(product);
 
         // Specifications
+        long specsStart = System.nanoTime();
         ProductSpecifications specs = extractSpecifications();
+        record("specifications", specsStart);
         product.setSpecifications(specs);
-        
-        // Convert specifications to attributes format
-        AttributeMapper attributeMapper = new AttributeMapper();
-        List<AttributeGroup> attributes = attributeMapper.mapToAttributes(specs);
-        product.setAttributes(attributes);
+        product.setSpecFingerprint(getSpecificationsFingerprint());
 
         // Variantlar
         List<ProductVariant> variants = extractAllVariantCombinations();
@@ -80,6 +158,31 @@ public class ProductDetailPage {
         return product;
     }
 
+    /**
+     * Yalnız variant matrisini topla (HTTP backend üçün fallback)
+     */
+    public List<ProductVariant> scrapeVariants() {
+        logger.info("Variant matrisi Selenium ilə toplanır: {}", driver.getCurrentUrl());
+        return extractAllVariantCombinations();
+    }
+
+    /**
+     * Spesifikasiya cədvəlinin HTML fingerprint-i (bir executeScript çağırışı)
+     */
+    public String getSpecificationsFingerprint() {
+        try {
+            Object html = ((JavascriptExecutor) driver).executeScript(
+                    "return Array.prototype.map.call(document.querySelectorAll(arguments[0])," +
+                    " function (t) { return t.outerHTML; }).join('');",
+                    ProductPageSupport.SPECIFICATIONS_TABLE_CSS);
+            return ProductPageSupport.fingerprint(html != null ? html.toString() : "");
+
+        } catch (Exception e) {
+            logger.debug("Spesifikasiya fingerprint-i alınmadı: {}", e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Brand və Title çıxarma
      */
@@ -106,34 +209,15 @@ public class ProductDetailPage {
      * Brand adını müəyyən et
      */
     private String extractBrand(String fullTitle) {
+        String processorText = null;
+
         try {
-            WebElement processorElement = driver.findElement(PROCESSOR_FIELD);
-            String processorText = processorElement.getText().toLowerCase();
-
-            if (processorText.contains("apple")) {
-                return "Apple";
-            } else if (processorText.contains("samsung")) {
-                return "Samsung";
-            } else if (processorText.contains("snapdragon") || processorText.contains("qualcomm")) {
-                return extractBrandFromTitle(fullTitle);
-            }
+            processorText = driver.findElement(PROCESSOR_FIELD).getText();
         } catch (Exception e) {
             logger.debug("Prosessordan brand tapılmadı, title-dan çıxarılır");
         }
 
-        return extractBrandFromTitle(fullTitle);
-    }
-
-    /**
-     * Title-dan brand çıxar
-     */
-    private String extractBrandFromTitle(String title) {
-        if (title == null || title.isEmpty()) {
-            return "Unknown";
-        }
-
-        String[] words = title.split("\\s+");
-        return words[0];
+        return ProductPageSupport.resolveBrand(processorText, fullTitle);
     }
 
     /**
@@ -161,31 +245,138 @@ public class ProductDetailPage {
                 return allVariants;
             }
 
-            // Əgər yalnız storage varsa
-            if (!storageOptions.isEmpty() && colorOptions.isEmpty()) {
-                for (VariantOption storage : storageOptions) {
-                    clickAndExtractVariant(storage, null, allVariants);
+            List<VariantCombination> combinations = buildCombinations(storageOptions, colorOptions);
+
+            // Network rejimi: filter sorğusunu tut və birbaşa çağır
+            if (variantMode == VariantMode.NETWORK) {
+                List<ProductVariant> captured = extractVariantsViaNetwork(combinations);
+                if (captured != null) {
+                    return captured;
                 }
-                return allVariants;
+                logger.info("Network capture alınmadı, klik rejiminə keçilir");
             }
 
-            // Əgər yalnız color varsa
-            if (storageOptions.isEmpty() && !colorOptions.isEmpty()) {
-                for (VariantOption color : colorOptions) {
-                    clickAndExtractVariant(null, color, allVariants);
-                }
-                return allVariants;
+            // Bütün kombinasiyalar (yalnız storage, yalnız color və ya storage×color)
+            for (VariantCombination combination : combinations) {
+                clickAndExtractVariant(combination.storage, combination.color, allVariants);
             }
 
-            // Hər iki variant varsa - bütün kombinasiyalar
+        } catch (Exception e) {
+            logger.error("Variantlar toplanarkən xəta: {}", e.getMessage(), e);
+        }
+
+        return allVariants;
+    }
+
+    /**
+     * Storage və color seçimlərindən kombinasiyalar (storage xarici dövr)
+     */
+    private List<VariantCombination> buildCombinations(List<VariantOption> storageOptions,
+                                                       List<VariantOption> colorOptions) {
+        List<VariantCombination> combinations = new ArrayList<>();
+
+        if (colorOptions.isEmpty()) {
+            for (VariantOption storage : storageOptions) {
+                combinations.add(new VariantCombination(storage, null));
+            }
+        } else if (storageOptions.isEmpty()) {
+            for (VariantOption color : colorOptions) {
+                combinations.add(new VariantCombination(null, color));
+            }
+        } else {
             for (VariantOption storage : storageOptions) {
                 for (VariantOption color : colorOptions) {
-                    clickAndExtractVariant(storage, color, allVariants);
+                    combinations.add(new VariantCombination(storage, color));
                 }
             }
+        }
+
+        return combinations;
+    }
+
+    /**
+     * Network rejimi: ilk kombinasiyanı klik edib filter sorğusunu CDP ilə tut,
+     * sonra bütün kombinasiyalar üçün sorğunu bir round trip-də təkrarla.
+     * Sorğu tutulmasa null qaytarır.
+     */
+    private List<ProductVariant> extractVariantsViaNetwork(List<VariantCombination> combinations) {
+        VariantNetworkCapture capture = new VariantNetworkCapture(driver);
+        if (!capture.isSupported()) {
+            logger.debug("Driver CDP dəstəkləmir");
+            return null;
+        }
 
+        VariantCombination first = combinations.get(0);
+
+        VariantNetworkCapture.RequestTemplate template = capture.capture(() -> {
+            if (first.storage != null) {
+                selectVariantOption(first.storage);
+            }
+            if (first.color != null) {
+                selectVariantOption(first.color);
+            }
+        }, first.storage != null ? first.storage.specId : null, first.color != null ? first.color.specId : null);
+
+        clearAllSelectedVariants();
+
+        if (template == null) {
+            return null;
+        }
+
+        List<Map<String, String>> requestArgs = new ArrayList<>();
+        for (VariantCombination combination : combinations) {
+            Map<String, String> args = new HashMap<>();
+            args.put("storage", combination.storage != null ? combination.storage.specId : "");
+            args.put("color", combination.color != null ? combination.color.specId : "");
+            requestArgs.add(args);
+        }
+
+        List<String> responses;
+        long fetchStart;
+        try {
+            fetchStart = acquireFetch();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        FetchGovernor.Outcome outcome = FetchGovernor.Outcome.SUCCESS;
+        try {
+            responses = capture.replay(template, requestArgs);
+            record("filter_replay", fetchStart);
         } catch (Exception e) {
-            logger.error("Variantlar toplanarkən xəta: {}", e.getMessage(), e);
+            outcome = e instanceof TimeoutException || e instanceof ScriptTimeoutException
+                    ? FetchGovernor.Outcome.TIMEOUT : FetchGovernor.Outcome.ERROR;
+            logger.debug("Filter sorğusu təkrarlana bilmədi: {}", e.getMessage());
+            return null;
+        } finally {
+            releaseFetch(fetchStart, outcome);
+        }
+        List<ProductVariant> allVariants = new ArrayList<>();
+
+        for (int i = 0; i < combinations.size(); i++) {
+            VariantCombination combination = combinations.get(i);
+            ProductVariant variant = VariantNetworkCapture.decodePriceResponse(responses.get(i));
+
+            if (variant == null) {
+                // Bu kombinasiya üçün klik rejimi
+                clickAndExtractVariant(combination.storage, combination.color, allVariants);
+                continue;
+            }
+            recordVariant(combination.storage, combination.color, responses.get(i));
+
+            if (combination.storage != null) {
+                variant.setStorage(combination.storage.text);
+            }
+            if (combination.color != null) {
+                variant.setColor(combination.color.text);
+            }
+            allVariants.add(variant);
+
+            logger.info("✅ Variant toplandı (network): {} - {} (Qiymət: {} {})",
+                    combination.storage != null ? combination.storage.text : "N/A",
+                    combination.color != null ? combination.color.text : "N/A",
+                    variant.getPrice(),
+                    variant.getCurrency());
         }
 
         return allVariants;
@@ -197,21 +388,39 @@ public class ProductDetailPage {
     private void clickAndExtractVariant(VariantOption storage,
                                         VariantOption color,
                                         List<ProductVariant> allVariants) {
+        long fetchStart;
+        try {
+            fetchStart = acquireFetch();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        FetchGovernor.Outcome outcome = FetchGovernor.Outcome.SUCCESS;
+        long variantStart = System.nanoTime();
+
+        VariantClickEvent event = new VariantClickEvent();
+        event.begin();
+        event.productUrl = ScrapeContext.getProductUrl();
+        event.storage = storage != null ? storage.text : null;
+        event.color = color != null ? color.text : null;
+        ScrapeContext.setVariant(ScrapeContext.variantLabel(event.storage, event.color));
+
         try {
             // 1. Storage seç (əgər var)
             if (storage != null) {
-                clickVariantOption(storage);
-                waitForPriceUpdate();
+                selectVariantOption(storage);
             }
 
             // 2. Color seç (əgər var)
             if (color != null) {
-                clickVariantOption(color);
-                waitForPriceUpdate();
+                selectVariantOption(color);
             }
 
             // 3. Data çək
             ProductVariant variant = extractPriceData();
+            if (pageCache != null) {
+                recordVariant(storage, color, priceListHtml());
+            }
             if (variant != null) {
                 if (storage != null) {
                     variant.setStorage(storage.text);
@@ -220,6 +429,8 @@ public class ProductDetailPage {
                     variant.setColor(color.text);
                 }
                 allVariants.add(variant);
+                event.price = variant.getPrice() + " " + variant.getCurrency();
+                event.success = true;
 
                 logger.info("✅ Variant toplandı: {} - {} (Qiymət: {} {})",
                         storage != null ? storage.text : "N/A",
@@ -232,7 +443,66 @@ public class ProductDetailPage {
             clearAllSelectedVariants();
 
         } catch (Exception e) {
+            if (e instanceof TimeoutException) {
+                outcome = FetchGovernor.Outcome.TIMEOUT;
+            }
+            increment("variants_failed");
             logger.error("Variant kombinasiya xətası: {}", e.getMessage());
+
+        } finally {
+            releaseFetch(fetchStart, outcome);
+            record("variant", variantStart);
+            ScrapeContext.setVariant(null);
+            event.commit();
+        }
+    }
+
+    private void record(String timer, long startNanos) {
+        if (metrics != null) {
+            metrics.recordSince(timer, startNanos);
+        }
+    }
+
+    private void increment(String counter) {
+        if (metrics != null) {
+            metrics.increment(counter);
+        }
+    }
+
+    private long acquireFetch() throws InterruptedException {
+        return governor != null ? governor.acquire() : 0;
+    }
+
+    private void releaseFetch(long start, FetchGovernor.Outcome outcome) {
+        if (governor != null) {
+            governor.release(start, outcome);
+        }
+    }
+
+    /**
+     * Kombinasiyanın qiymət siyahısını (HTML və ya filter cavabı) cache-ə yaz
+     */
+    private void recordVariant(VariantOption storage, VariantOption color, String html) {
+        if (pageCache == null) {
+            return;
+        }
+        pageCache.put(pageUrl, HtmlPageCache.variantKey(
+                storage != null ? storage.specId : null,
+                color != null ? color.specId : null), html);
+    }
+
+    /**
+     * Cari qiymət siyahısının outerHTML-i (yoxdursa boş sətir)
+     */
+    private String priceListHtml() {
+        try {
+            Object html = ((JavascriptExecutor) driver).executeScript(
+                    "var list = document.querySelector(arguments[0]); return list ? list.outerHTML : '';",
+                    PRICE_LIST_CSS);
+            return html != null ? html.toString() : "";
+        } catch (Exception e) {
+            logger.debug("Qiymət siyahısı HTML-i alınmadı: {}", e.getMessage());
+            return null;
         }
     }
 
@@ -256,17 +526,15 @@ public class ProductDetailPage {
                             By.cssSelector("span.x")
                     );
 
-                    // JavaScript ilə klik et (daha etibarlı)
-                    ((JavascriptExecutor) driver).executeScript(
+                    String variantText = selectedVariant.getAttribute("data-spec-text");
+
+                    // JavaScript ilə klik et (daha etibarlı) və qiymət siyahısının yenilənməsini gözlə
+                    priceListChange.runAndAwait(() -> ((JavascriptExecutor) driver).executeScript(
                             "arguments[0].click();", closeButton
-                    );
+                    ));
 
-                    String variantText = selectedVariant.getAttribute("data-spec-text");
                     logger.debug("Variant təmizləndi: {}", variantText);
 
-                    // Qısa gözləmə
-                    Thread.sleep(200);
-
                 } catch (Exception e) {
                     logger.debug("Variant təmizləmə xətası: {}", e.getMessage());
                 }
@@ -302,6 +570,20 @@ public class ProductDetailPage {
         return options;
     }
 
+    /**
+     * Variant option-a klik et və qiymət siyahısı dəyişənə qədər gözlə
+     */
+    private void selectVariantOption(VariantOption option) {
+        priceListChange.arm();
+        clickVariantOption(option);
+
+        long waitStart = System.nanoTime();
+        if (!priceListChange.await()) {
+            increment("price_wait_timeouts");
+        }
+        record("price_wait", waitStart);
+    }
+
     /**
      * ✅ DÜZƏLDİLMİŞ: Variant option-a klik et (stale element handling ilə)
      */
@@ -310,6 +592,9 @@ public class ProductDetailPage {
 
         for (int i = 0; i < maxRetries; i++) {
             try {
+                // Filter yenidən render olunarsa retry dərhal başlasın
+                filterChange.arm();
+
                 // Fresh element tap - SELECTED olmayan elementi seç
                 WebElement freshElement = wait.until(driver -> {
                     List<WebElement> elements = driver.findElements(
@@ -326,35 +611,24 @@ public class ProductDetailPage {
                     return;
                 }
 
-                // Scroll into view
+                // Scroll into view (animasiyasız) və JavaScript click - bir round trip
                 ((JavascriptExecutor) driver).executeScript(
-                        "arguments[0].scrollIntoView({behavior: 'smooth', block: 'center'});",
+                        "arguments[0].scrollIntoView({block: 'center'}); arguments[0].click();",
                         freshElement
                 );
 
-                Thread.sleep(300);
-
-                // JavaScript click
-                ((JavascriptExecutor) driver).executeScript(
-                        "arguments[0].click();", freshElement
-                );
-
                 logger.debug("Variant seçildi: {}", option.text);
                 return;
 
             } catch (StaleElementReferenceException e) {
                 logger.debug("Stale element, retry {}/{}", i + 1, maxRetries);
-                waitForPriceUpdate();
+                filterChange.await();
             } catch (Exception e) {
                 logger.warn("Variant klik xətası (retry {}/{}): {}",
                         i + 1, maxRetries, e.getMessage());
 
                 if (i < maxRetries - 1) {
-                    try {
-                        Thread.sleep(500);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                    }
+                    filterChange.await();
                 }
             }
         }
@@ -362,29 +636,6 @@ public class ProductDetailPage {
         logger.error("Variant klik edilə bilmədi: {}", option.text);
     }
 
-    /**
-     * Qiymət yenilənməsini gözlə
-     */
-    private void waitForPriceUpdate() {
-        try {
-            Thread.sleep(500);
-
-            wait.until(ExpectedConditions.presenceOfElementLocated(FIRST_PRICE_ITEM));
-
-            wait.until(driver -> {
-                try {
-                    driver.findElement(FIRST_PRICE_ITEM);
-                    return true;
-                } catch (Exception e) {
-                    return false;
-                }
-            });
-
-        } catch (Exception e) {
-            logger.debug("Qiymət yenilənməsi gözləmədi: {}", e.getMessage());
-        }
-    }
-
     /**
      * İlk (ən yuxarıdakı) qiymət məlumatını çıxar
      */
@@ -437,9 +688,48 @@ public class ProductDetailPage {
     }
 
     /**
-     * Spesifikasiyaları çıxar
+     * Spesifikasiyaları çıxar - bütün sətirlər bir executeScript çağırışı ilə
      */
     private ProductSpecifications extractSpecifications() {
+        SpecificationParseEvent event = new SpecificationParseEvent();
+        event.begin();
+        event.productUrl = ScrapeContext.getProductUrl();
+
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(
+                    SPECIFICATION_ROWS_SCRIPT, ProductPageSupport.SPECIFICATIONS_TABLE_CSS);
+
+            if (result instanceof List) {
+                List<SpecificationRow> rows = new ArrayList<>();
+                for (Object row : (List<?>) result) {
+                    rows.add(SpecificationRow.fromMap((Map<?, ?>) row));
+                }
+                event.source = "script";
+                event.rows = rows.size();
+                return ProductPageSupport.buildSpecifications(rows);
+            }
+
+        } catch (Exception e) {
+            logger.debug("Spesifikasiyalar script ilə oxunmadı, element-element oxunur: {}", e.getMessage());
+
+        } finally {
+            if (event.source != null) {
+                event.commit();
+            }
+        }
+
+        event.source = "element";
+        try {
+            return extractSpecificationsPerElement(event);
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Spesifikasiyaları çıxar (hər sətir üçün ayrıca WebDriver çağırışları - fallback)
+     */
+    private ProductSpecifications extractSpecificationsPerElement(SpecificationParseEvent event) {
         ProductSpecifications specs = new ProductSpecifications();
 
         try {
@@ -459,23 +749,15 @@ public class ProductDetailPage {
                         String dataValue = valueElement.getAttribute("data-value");
                         String valueClass = valueElement.getAttribute("class");
                         
-                        String value;
-                        if (valueClass != null && valueClass.contains(ICON_CLASS)) {
-                            // Boolean field with icon
-                            if (ICON_TRUE_VALUE.equals(dataValue)) {
-                                value = "true";
-                            } else if (ICON_FALSE_VALUE.equals(dataValue)) {
-                                value = "false";
-                            } else {
-                                value = "";
-                            }
-                        } else {
+                        String valuesText = null;
+                        if (!ProductPageSupport.isIconValue(valueClass)) {
                             // Regular text value
-                            value = row.findElement(By.cssSelector(".values"))
-                                    .getText().trim();
+                            valuesText = row.findElement(By.cssSelector(".values")).getText();
                         }
 
-                        mapSpecificationField(specs, fieldId, fieldName, value);
+                        String value = ProductPageSupport.resolveSpecValue(valueClass, dataValue, valuesText);
+                        ProductPageSupport.mapSpecificationField(specs, fieldId, fieldName, value);
+                        event.rows++;
 
                     } catch (Exception e) {
                         logger.debug("Spesifikasiya sətri oxuna bilmədi");
@@ -490,91 +772,6 @@ public class ProductDetailPage {
         return specs;
     }
 
-    /**
-     * Spesifikasiya field-lərini map et
-     */
-    private void mapSpecificationField(ProductSpecifications specs,
-                                       String fieldId, String fieldName, String value) {
-        if (fieldId == null) return;
-
-        switch (fieldId) {
-            case "osystem":
-                specs.setOperatingSystem(value);
-                break;
-            case "smartphone_processor":
-                specs.setProcessor(value);
-                break;
-            case "prosessort":
-                specs.setMaxProcessorSpeed(value);
-                break;
-            case "prosessors":
-                specs.setProcessorCount(value);
-                break;
-            case "graphic_processor":
-                specs.setGraphicProcessor(value);
-                break;
-            case "ekrano":
-                specs.setScreenSize(value);
-                break;
-            case "smartphone_screen_type":
-                specs.setScreenType(value);
-                break;
-            case "refresh_rate":
-                specs.setRefreshRate(value);
-                break;
-            case "resolution":
-                specs.setResolution(value);
-                break;
-            case "back_camera_mp":
-                specs.setBackCameraMp(value);
-                break;
-            case "back_camera_count":
-                specs.setBackCameraCount(value);
-                break;
-            case "front_camera_mp":
-                specs.setFrontCameraMp(value);
-                break;
-            case "video_resolution":
-                specs.setVideoResolution(value);
-                break;
-            case "ram":
-                specs.setRam(value);
-                break;
-            case "batareya":
-                specs.setBattery(value);
-                break;
-            case "weight":
-                specs.setWeight(value);
-                break;
-            case "uzunluq":
-                specs.getDimensions().put("length", value);
-                break;
-            case "eni":
-                specs.getDimensions().put("width", value);
-                break;
-            case "qalinliq":
-                specs.getDimensions().put("thickness", value);
-                break;
-            default:
-                specs.getAdditionalSpecs().put(fieldName, value);
-                break;
-        }
-    }
-
-    /**
-     * Geri qayıt (browser back)
-     */
-    public void navigateBack() {
-        driver.navigate().back();
-
-        wait.until(driver ->
-                ((JavascriptExecutor) driver).executeScript("return document.readyState")
-                        .equals("complete")
-        );
-
-        logger.debug("Geri qayıdıldı");
-    }
-
     /**
      * Inner class - Variant option data holder
      */
@@ -589,4 +786,17 @@ public class ProductDetailPage {
             this.specId = specId;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Inner class - Storage/color kombinasiyası
+     */
+    private static class VariantCombination {
+        VariantOption storage;
+        VariantOption color;
+
+        VariantCombination(VariantOption storage, VariantOption color) {
+            this.storage = storage;
+            this.color = color;
+        }
+    }
+}
@@ -21,12 +21,9 @@ public class ProductListPage {
 
     // Locators
     private static final String PRODUCT_LINK_XPATH_TEMPLATE =
-            "/html/body/div/section/div[2]/div/div[%d]/div[2]/a";
+            ProductPageSupport.PRODUCT_LINK_XPATH_TEMPLATE;
 
-    private static final By NEXT_BUTTON =
-            By.xpath("//a[@class='next page-numbers' and contains(text(), 'Sonrakı')]");
-
-    private static final int MAX_PRODUCTS_PER_PAGE = 28;
+    private static final int MAX_PRODUCTS_PER_PAGE = ProductPageSupport.MAX_PRODUCTS_PER_PAGE;
 
     // Constructor
     public ProductListPage(WebDriver driver) {
@@ -64,42 +61,26 @@ public class ProductListPage {
     }
 
     /**
-     * Next düyməsinə klik et
+     * Səhifə nömrələri widget-indən son səhifə nömrəsini tap
      */
-    public boolean clickNextPage() {
-        try {
-            WebElement nextButton = wait.until(
-                    ExpectedConditions.elementToBeClickable(NEXT_BUTTON)
-            );
-
-            nextButton.click();
-
-            // Səhifə yüklənməsini gözlə
-            wait.until(ExpectedConditions.presenceOfElementLocated(
-                    By.xpath(String.format(PRODUCT_LINK_XPATH_TEMPLATE, 2))
-            ));
+    public int getLastPageNumber() {
+        List<String> labels = new ArrayList<>();
 
-            logger.info("Növbəti səhifəyə keçid edildi");
-            return true;
-
-        } catch (Exception e) {
-            logger.warn("Next düyməsi tapılmadı və ya klik edilmədi: {}", e.getMessage());
-            return false;
+        for (WebElement pageNumber : driver.findElements(By.cssSelector(ProductPageSupport.PAGE_NUMBERS_CSS))) {
+            labels.add(pageNumber.getText());
         }
+
+        return ProductPageSupport.lastPageNumber(labels);
     }
 
     /**
-     * Hazırki səhifə nömrəsini əldə et
+     * N-ci siyahı səhifəsinin URL-i (…/telefon/page/N/), 1-ci səhifə üçün baseUrl özü
      */
-    public int getCurrentPageNumber() {
-        try {
-            WebElement currentPageElement = driver.findElement(
-                    By.xpath("//span[@aria-current='page']")
-            );
-            return Integer.parseInt(currentPageElement.getText().trim());
-        } catch (Exception e) {
-            logger.debug("Səhifə nömrəsi tapılmadı, default 1 qaytarılır");
-            return 1;
+    public static String pageUrl(String baseUrl, int pageNumber) {
+        if (pageNumber <= 1) {
+            return baseUrl;
         }
+        String base = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        return base + "page/" + pageNumber + "/";
     }
 }
\ No newline at end of file
@@ -0,0 +1,215 @@
+package com.ecommerce.scraper.pages;
+
+import com.ecommerce.scraper.model.ProductSpecifications;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Selenium və HTTP backend-lərinin ortaq parsing qaydaları.
+ *
+ * Hər iki backend eyni locator-ları və eyni field mapping-i istifadə edir ki,
+ * nəticə Product modeli backend-dən asılı olmasın.
+ */
+final class ProductPageSupport {
+
+    // Ortaq locator-lar (XPath)
+    static final String STORAGE_OPTIONS_XPATH =
+            "//div[@class='filter']//span[@class='option' and @data-field-key='yaddas']";
+
+    static final String COLOR_OPTIONS_XPATH =
+            "//div[@class='filter']//span[@class='option' and @data-field-key='color']";
+
+    static final String PRODUCT_LINK_XPATH_TEMPLATE =
+            "/html/body/div/section/div[2]/div/div[%d]/div[2]/a";
+
+    static final int MAX_PRODUCTS_PER_PAGE = 28;
+
+    // Ortaq locator-lar (CSS)
+    static final String PRODUCT_TITLE_CSS = "h2.heading";
+    static final String FIRST_PRICE_ITEM_CSS = "ul.price-list li.price-item:first-of-type";
+    static final String SPECIFICATIONS_TABLE_CSS = "#specifications table.specifications";
+    static final String PROCESSOR_FIELD_ID = "smartphone_processor";
+    static final String PAGE_NUMBERS_CSS = ".page-numbers";
+
+    // Boolean icon detection constants
+    private static final String ICON_CLASS = "icon";
+    private static final String ICON_TRUE_VALUE = "1.00";
+    private static final String ICON_FALSE_VALUE = "0.00";
+
+    private ProductPageSupport() {}
+
+    /**
+     * Səhifə nömrələri widget-indən son səhifə nömrəsi (rəqəm yoxdursa 1)
+     */
+    static int lastPageNumber(List<String> labels) {
+        int lastPage = 1;
+
+        for (String label : labels) {
+            String digits = label == null ? "" : label.trim();
+            if (!digits.isEmpty() && digits.chars().allMatch(Character::isDigit) && digits.length() < 7) {
+                lastPage = Math.max(lastPage, Integer.parseInt(digits));
+            }
+        }
+
+        return lastPage;
+    }
+
+    /**
+     * Dəyər boolean icon-dursa true (mətn oxumağa ehtiyac yoxdur)
+     */
+    static boolean isIconValue(String valueClass) {
+        return valueClass != null && valueClass.contains(ICON_CLASS);
+    }
+
+    /**
+     * Spesifikasiya dəyərini müəyyən et (icon boolean və ya mətn)
+     */
+    static String resolveSpecValue(String valueClass, String dataValue, String valuesText) {
+        if (isIconValue(valueClass)) {
+            // Boolean field with icon
+            if (ICON_TRUE_VALUE.equals(dataValue)) {
+                return "true";
+            } else if (ICON_FALSE_VALUE.equals(dataValue)) {
+                return "false";
+            }
+            return "";
+        }
+
+        // Regular text value
+        return valuesText != null ? valuesText.trim() : "";
+    }
+
+    /**
+     * Prosessor mətni və title-a görə brand adını müəyyən et
+     */
+    static String resolveBrand(String processorText, String fullTitle) {
+        if (processorText != null) {
+            String processor = processorText.toLowerCase();
+
+            if (processor.contains("apple")) {
+                return "Apple";
+            } else if (processor.contains("samsung")) {
+                return "Samsung";
+            }
+        }
+
+        return extractBrandFromTitle(fullTitle);
+    }
+
+    /**
+     * Title-dan brand çıxar
+     */
+    static String extractBrandFromTitle(String title) {
+        if (title == null || title.isEmpty()) {
+            return "Unknown";
+        }
+
+        String[] words = title.split("\\s+");
+        return words[0];
+    }
+
+    /**
+     * Spesifikasiya cədvəlinin HTML-indən ucuz fingerprint (SHA-256, hex)
+     */
+    static String fingerprint(String html) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(html.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 mövcud deyil", e);
+        }
+    }
+
+    /**
+     * Cədvəl sətirlərindən ProductSpecifications yarat
+     */
+    static ProductSpecifications buildSpecifications(List<SpecificationRow> rows) {
+        ProductSpecifications specs = new ProductSpecifications();
+
+        for (SpecificationRow row : rows) {
+            if (row.name == null) {
+                continue;
+            }
+
+            String value = resolveSpecValue(row.valueClass, row.dataValue, row.text);
+            mapSpecificationField(specs, row.id, row.name.trim(), value);
+        }
+
+        return specs;
+    }
+
+    /**
+     * Spesifikasiya field-lərini map et
+     */
+    static void mapSpecificationField(ProductSpecifications specs,
+                                      String fieldId, String fieldName, String value) {
+        if (fieldId == null) return;
+
+        switch (fieldId) {
+            case "osystem":
+                specs.setOperatingSystem(value);
+                break;
+            case "smartphone_processor":
+                specs.setProcessor(value);
+                break;
+            case "prosessort":
+                specs.setMaxProcessorSpeed(value);
+                break;
+            case "prosessors":
+                specs.setProcessorCount(value);
+                break;
+            case "graphic_processor":
+                specs.setGraphicProcessor(value);
+                break;
+            case "ekrano":
+                specs.setScreenSize(value);
+                break;
+            case "smartphone_screen_type":
+                specs.setScreenType(value);
+                break;
+            case "refresh_rate":
+                specs.setRefreshRate(value);
+                break;
+            case "resolution":
+                specs.setResolution(value);
+                break;
+            case "back_camera_mp":
+                specs.setBackCameraMp(value);
+                break;
+            case "back_camera_count":
+                specs.setBackCameraCount(value);
+                break;
+            case "front_camera_mp":
+                specs.setFrontCameraMp(value);
+                break;
+            case "video_resolution":
+                specs.setVideoResolution(value);
+                break;
+            case "ram":
+                specs.setRam(value);
+                break;
+            case "batareya":
+                specs.setBattery(value);
+                break;
+            case "weight":
+                specs.setWeight(value);
+                break;
+            case "uzunluq":
+                specs.getDimensions().put("length", value);
+                break;
+            case "eni":
+                specs.getDimensions().put("width", value);
+                break;
+            case "qalinliq":
+                specs.getDimensions().put("thickness", value);
+                break;
+            default:
+                specs.getAdditionalSpecs().put(fieldName, value);
+                break;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.scraper.pages;
+
+import java.util.Map;
+
+/**
+ * Spesifikasiya cədvəlinin bir sətri (backend-dən asılı olmayan xam data)
+ */
+class SpecificationRow {
+
+    final String id;
+    final String name;
+    final String dataValue;
+    final String valueClass;
+    final String text;
+
+    SpecificationRow(String id, String name, String dataValue, String valueClass, String text) {
+        this.id = id;
+        this.name = name;
+        this.dataValue = dataValue;
+        this.valueClass = valueClass;
+        this.text = text;
+    }
+
+    /**
+     * executeScript nəticəsindəki {id, name, dataValue, class, text} map-dən
+     */
+    static SpecificationRow fromMap(Map<?, ?> row) {
+        return new SpecificationRow(
+                asString(row.get("id")),
+                asString(row.get("name")),
+                asString(row.get("dataValue")),
+                asString(row.get("class")),
+                asString(row.get("text"))
+        );
+    }
+
+    private static String asString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.scraper.pages;
+
+/**
+ * Variant qiymətlərinin toplanma üsulu
+ */
+public enum VariantMode {
+
+    /** Hər storage×color cütünə DOM-da klik */
+    CLICK,
+
+    /** Filter sorğusu CDP ilə tutulur və bütün kombinasiyalar üçün birbaşa çağırılır */
+    NETWORK;
+
+    /**
+     * Property dəyərini parse et (click / network)
+     */
+    public static VariantMode parse(String value, VariantMode defaultValue) {
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        return VariantMode.valueOf(value.trim().toUpperCase());
+    }
+}
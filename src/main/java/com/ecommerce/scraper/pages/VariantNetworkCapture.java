@@ -0,0 +1,302 @@
+package com.ecommerce.scraper.pages;
+
+import com.ecommerce.scraper.model.ProductVariant;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Variant filter widget-inin XHR/fetch sorğusunu CDP (NetworkInterceptor) ilə tutur
+ * və həmin sorğunu bütün storage×color kombinasiyaları üçün birbaşa təkrarlayır.
+ *
+ * Tutulan sorğuda seçilmiş data-spec-id dəyərləri {storage} / {color} placeholder-ləri
+ * ilə əvəz olunur. Bütün kombinasiyalar bir executeAsyncScript çağırışında paralel
+ * fetch() ilə göndərilir, cavablar Jsoup ilə decode olunur.
+ */
+class VariantNetworkCapture {
+
+    private static final Logger logger = LoggerFactory.getLogger(VariantNetworkCapture.class);
+
+    static final String STORAGE_PLACEHOLDER = "{storage}";
+    static final String COLOR_PLACEHOLDER = "{color}";
+
+    private static final Pattern STATIC_RESOURCE =
+            Pattern.compile(".*\\.(js|css|png|jpe?g|gif|svg|webp|ico|woff2?|ttf)(\\?.*)?$");
+
+    // Sorğu başlıqlarından təkrarlanmalı olanlar
+    private static final List<String> REPLAY_HEADERS =
+            List.of("Content-Type", "X-Requested-With", "Accept");
+
+    private static final String REPLAY_SCRIPT =
+            "var template = arguments[0], combos = arguments[1];" +
+            "var done = arguments[arguments.length - 1];" +
+            "function fill(s, c) {" +
+            "  return s.split('{storage}').join(c.storage || '').split('{color}').join(c.color || '');" +
+            "}" +
+            "Promise.all(combos.map(function (c) {" +
+            "  var init = {method: template.method, credentials: 'include', headers: template.headers};" +
+            "  if (template.body) { init.body = fill(template.body, c); }" +
+            "  return fetch(fill(template.url, c), init)" +
+            "    .then(function (r) { return r.ok ? r.text() : null; })" +
+            "    .catch(function () { return null; });" +
+            "})).then(done, function () { done(null); });";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final WebDriver driver;
+
+    VariantNetworkCapture(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Driver CDP dəstəkləyirsə true
+     */
+    boolean isSupported() {
+        return driver instanceof HasDevTools && driver instanceof JavascriptExecutor;
+    }
+
+    /**
+     * selectAction icra olunarkən filter sorğusunu tut və template-ə çevir.
+     * Uyğun sorğu tapılmasa null qaytarır.
+     */
+    RequestTemplate capture(Runnable selectAction, String storageSpecId, String colorSpecId) {
+        List<CapturedRequest> captured = new ArrayList<>();
+
+        Filter recorder = next -> req -> {
+            HttpResponse res = next.execute(req);
+
+            if (isCandidate(req)) {
+                byte[] requestBody = Contents.bytes(req.getContent());
+
+                Map<String, String> headers = new LinkedHashMap<>();
+                for (String name : REPLAY_HEADERS) {
+                    if (req.getHeader(name) != null) {
+                        headers.put(name, req.getHeader(name));
+                    }
+                }
+
+                synchronized (captured) {
+                    captured.add(new CapturedRequest(req.getMethod().name(), req.getUri(),
+                            new String(requestBody, req.getContentEncoding()), headers));
+                }
+            }
+
+            return res;
+        };
+
+        NetworkInterceptor interceptor = null;
+        try {
+            interceptor = new NetworkInterceptor(driver, recorder);
+            selectAction.run();
+        } catch (Exception e) {
+            logger.debug("Network capture xətası: {}", e.getMessage());
+            return null;
+        } finally {
+            close(interceptor);
+        }
+
+        List<CapturedRequest> snapshot;
+        synchronized (captured) {
+            snapshot = new ArrayList<>(captured);
+        }
+
+        // Son sorğu bütün seçilmiş id-ləri daşıyır
+        for (int i = snapshot.size() - 1; i >= 0; i--) {
+            RequestTemplate template = snapshot.get(i).toTemplate(storageSpecId, colorSpecId);
+            if (template != null) {
+                logger.debug("Filter sorğusu tutuldu: {} {}", template.method, template.url);
+                return template;
+            }
+        }
+
+        logger.debug("Filter sorğusu tapılmadı ({} sorğu tutuldu)", snapshot.size());
+        return null;
+    }
+
+    private static void close(NetworkInterceptor interceptor) {
+        if (interceptor == null) {
+            return;
+        }
+        try {
+            interceptor.close();
+        } catch (Exception e) {
+            logger.debug("NetworkInterceptor bağlanmadı: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Bütün kombinasiyalar üçün sorğunu bir round trip-də göndər.
+     * Nəticə combos ilə eyni sıradadır, uğursuz cavablar null-dur.
+     */
+    List<String> replay(RequestTemplate template, List<Map<String, String>> combos) {
+        Map<String, Object> templateArg = new LinkedHashMap<>();
+        templateArg.put("method", template.method);
+        templateArg.put("url", template.url);
+        templateArg.put("body", template.body);
+        templateArg.put("headers", template.headers);
+
+        Object result = ((JavascriptExecutor) driver).executeAsyncScript(REPLAY_SCRIPT, templateArg, combos);
+
+        List<String> bodies = new ArrayList<>();
+        if (result instanceof List) {
+            for (Object body : (List<?>) result) {
+                bodies.add(body != null ? body.toString() : null);
+            }
+        }
+
+        while (bodies.size() < combos.size()) {
+            bodies.add(null);
+        }
+
+        return bodies;
+    }
+
+    /**
+     * Filter cavabından ilk qiyməti çıxar (HTML fragment və ya HTML daşıyan JSON)
+     */
+    static ProductVariant decodePriceResponse(String body) {
+        if (body == null || body.trim().isEmpty()) {
+            return null;
+        }
+
+        String html = body.trim();
+        if (html.startsWith("{") || html.startsWith("[")) {
+            html = findPriceListHtml(html);
+            if (html == null) {
+                return null;
+            }
+        }
+
+        Document fragment = Jsoup.parseBodyFragment(html);
+        Element firstPriceItem = fragment.selectFirst(ProductPageSupport.FIRST_PRICE_ITEM_CSS);
+        if (firstPriceItem == null) {
+            firstPriceItem = fragment.selectFirst("li.price-item");
+        }
+
+        return HttpProductDetailPage.priceFromItem(firstPriceItem);
+    }
+
+    private static String findPriceListHtml(String json) {
+        try {
+            return findPriceListHtml(objectMapper.readTree(json));
+        } catch (Exception e) {
+            logger.debug("Filter cavabı JSON kimi oxunmadı: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String findPriceListHtml(JsonNode node) {
+        if (node.isTextual()) {
+            return node.asText().contains("price-item") ? node.asText() : null;
+        }
+
+        Iterator<JsonNode> children = node.elements();
+        while (children.hasNext()) {
+            String html = findPriceListHtml(children.next());
+            if (html != null) {
+                return html;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isCandidate(HttpRequest req) {
+        String uri = req.getUri().toLowerCase(Locale.ROOT);
+        return !STATIC_RESOURCE.matcher(uri).matches();
+    }
+
+    /**
+     * Tutulmuş sorğu
+     */
+    static class CapturedRequest {
+        final String method;
+        final String url;
+        final String body;
+        final Map<String, String> headers;
+
+        CapturedRequest(String method, String url, String body, Map<String, String> headers) {
+            this.method = method;
+            this.url = url;
+            this.body = body;
+            this.headers = headers;
+        }
+
+        /**
+         * Seçilmiş id-lər URL və ya body-də varsa placeholder-li template qaytar
+         */
+        RequestTemplate toTemplate(String storageSpecId, String colorSpecId) {
+            String templateUrl = url;
+            String templateBody = body;
+
+            if (storageSpecId != null) {
+                if (!containsToken(templateUrl + " " + templateBody, storageSpecId)) {
+                    return null;
+                }
+                templateUrl = replaceToken(templateUrl, storageSpecId, STORAGE_PLACEHOLDER);
+                templateBody = replaceToken(templateBody, storageSpecId, STORAGE_PLACEHOLDER);
+            }
+
+            if (colorSpecId != null) {
+                if (!containsToken(templateUrl + " " + templateBody, colorSpecId)) {
+                    return null;
+                }
+                templateUrl = replaceToken(templateUrl, colorSpecId, COLOR_PLACEHOLDER);
+                templateBody = replaceToken(templateBody, colorSpecId, COLOR_PLACEHOLDER);
+            }
+
+            return new RequestTemplate(method, templateUrl,
+                    templateBody.isEmpty() ? null : templateBody, headers);
+        }
+
+        private static boolean containsToken(String text, String token) {
+            return tokenPattern(token).matcher(text).find();
+        }
+
+        private static String replaceToken(String text, String token, String placeholder) {
+            return tokenPattern(token).matcher(text).replaceAll(Matcher.quoteReplacement(placeholder));
+        }
+
+        private static Pattern tokenPattern(String token) {
+            return Pattern.compile("(?<![0-9A-Za-z])" + Pattern.quote(token) + "(?![0-9A-Za-z])");
+        }
+    }
+
+    /**
+     * {storage} / {color} placeholder-li filter sorğusu
+     */
+    static class RequestTemplate {
+        final String method;
+        final String url;
+        final String body;
+        final Map<String, String> headers;
+
+        RequestTemplate(String method, String url, String body, Map<String, String> headers) {
+            this.method = method;
+            this.url = url;
+            this.body = body;
+            this.headers = headers;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.scraper.utils;
+
+/**
+ * ChromeDriver profili
+ */
+public enum BrowserProfile {
+
+    /** Səhifə bütün resursları ilə yüklənir */
+    DEFAULT,
+
+    /** Şəkil, media, şrift, reklam və analitika bloklanır, PageLoadStrategy.EAGER */
+    LEAN;
+
+    /**
+     * Property dəyərini parse et (default / lean)
+     */
+    public static BrowserProfile parse(String value, BrowserProfile defaultValue) {
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        return BrowserProfile.valueOf(value.trim().toUpperCase());
+    }
+}
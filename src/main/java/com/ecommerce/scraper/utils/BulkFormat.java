@@ -0,0 +1,33 @@
+package com.ecommerce.scraper.utils;
+
+/**
+ * Bulk-load fayllarının formatı (hər entity növünə bir fayl, bax: BulkLoadWriter)
+ */
+public enum BulkFormat {
+
+    /** RFC 4180 CSV, başlıq sətri ilə (PostgreSQL COPY ... WITH (FORMAT csv, HEADER), MySQL LOAD DATA, H2 CSVREAD) */
+    CSV("csv"),
+
+    /** PostgreSQL COPY text formatı: tab ilə ayrılmış, NULL = \N, backslash escape */
+    COPY("copy");
+
+    private final String extension;
+
+    BulkFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Property dəyərini parse et (csv / copy), boş dəyər → defaultValue
+     */
+    public static BulkFormat parse(String value, BulkFormat defaultValue) {
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        return BulkFormat.valueOf(value.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,235 @@
+package com.ecommerce.scraper.utils;
+
+import com.ecommerce.scraper.mapper.DatabaseOutput;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Database entity-lərini bulk-load üçün sütunlu fayllara yazır: hər cədvələ bir fayl
+ * (<base>_brands.csv, <base>_products.csv, ...) və onları yükləyən <base>_load.sql.
+ *
+ * Fayllar BOM-suz UTF-8-dir, Azərbaycan hərfləri (ə, ğ, ı, ö, ü, ç, ş) olduğu kimi yazılır.
+ * Sütun sırası db/schema.sql ilə eynidir (bax: EntityTable), sətir sırası foreign key sırasıdır.
+ *
+ * CSV: NULL boş sahədir, boş string isə "" (PostgreSQL COPY csv qaydası).
+ * COPY: PostgreSQL text formatı, NULL = \N; backslash, tab və sətir sonları escape olunur.
+ */
+public class BulkLoadWriter implements Closeable {
+
+    private final File baseFile;
+    private final BulkFormat format;
+    private final Map<String, Table> tables = new LinkedHashMap<>();
+
+    private boolean closed;
+
+    BulkLoadWriter(File baseFile, BulkFormat format) throws IOException {
+        this.baseFile = baseFile;
+        this.format = format;
+
+        for (EntityTable<?> table : EntityTable.ALL) {
+            tables.put(table.getName(), new Table(table, tableFile(table.getName())));
+        }
+    }
+
+    /**
+     * Bir məhsulun entity-lərini cədvəl fayllarına əlavə et
+     */
+    public synchronized void append(DatabaseOutput entities) throws IOException {
+        for (Table table : tables.values()) {
+            List<Object[]> rows = table.table.rows(entities);
+            for (Object[] row : rows) {
+                writeRow(table.writer, row);
+            }
+            table.count += rows.size();
+            table.writer.flush();
+        }
+    }
+
+    public synchronized int getCount(String tableName) {
+        return tables.get(tableName).count;
+    }
+
+    /**
+     * Cədvəl fayllarının və load skriptinin yolları
+     */
+    public List<String> getPaths() {
+        List<String> paths = new ArrayList<>();
+        for (Table table : tables.values()) {
+            paths.add(table.file.getPath());
+        }
+        paths.add(scriptFile().getPath());
+        return paths;
+    }
+
+    public BulkFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Faylları bağla və psql \copy skriptini yaz
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        for (Table table : tables.values()) {
+            table.writer.close();
+        }
+
+        try (Writer script = new OutputStreamWriter(new FileOutputStream(scriptFile()), StandardCharsets.UTF_8)) {
+            script.write("-- psql -f " + scriptFile().getName() + "\n");
+            script.write("BEGIN;\n");
+            for (Table table : tables.values()) {
+                script.write(copyCommand(table));
+                script.write("\n");
+            }
+            script.write("COMMIT;\n");
+        }
+    }
+
+    private String copyCommand(Table table) {
+        List<String> columns = table.table.getColumns().stream().map(column -> column.name).toList();
+        String options = format == BulkFormat.CSV
+                ? "FORMAT csv, HEADER true, ENCODING 'UTF8'"
+                : "FORMAT text, ENCODING 'UTF8'";
+
+        return "\\copy " + table.table.getName() + " (" + String.join(", ", columns) + ") FROM '"
+                + table.file.getAbsolutePath().replace("'", "''") + "' WITH (" + options + ")";
+    }
+
+    private void writeRow(Writer writer, Object[] row) throws IOException {
+        char delimiter = format == BulkFormat.CSV ? ',' : '\t';
+
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                writer.write(delimiter);
+            }
+            writer.write(format == BulkFormat.CSV ? csvField(row[i]) : copyField(row[i]));
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * CSV sahəsi: ayırıcı, dırnaq, sətir sonu və ya kənar boşluq varsa dırnaq içində, dırnaqlar ikiqat
+     */
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+
+        String text = stripNul(toText(value, "true", "false"));
+
+        // Boş string NULL-dan fərqlənməlidir; tək "\." PostgreSQL-də data sonu markeridir
+        boolean quote = text.isEmpty()
+                || text.equals("\\.")
+                || Character.isWhitespace(text.charAt(0))
+                || Character.isWhitespace(text.charAt(text.length() - 1));
+
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+
+        return quote ? "\"" + text.replace("\"", "\"\"") + "\"" : text;
+    }
+
+    /**
+     * PostgreSQL COPY text sahəsi
+     */
+    static String copyField(Object value) {
+        if (value == null) {
+            return "\\N";
+        }
+
+        String text = stripNul(toText(value, "t", "f"));
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case '\t' -> escaped.append("\\t");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\b' -> escaped.append("\\b");
+                case '\f' -> escaped.append("\\f");
+                case 0x0B -> escaped.append("\\v");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Dəyərin bazanın qəbul etdiyi mətn forması (elmi notasiyasız rəqəm, boşluqlu timestamp)
+     */
+    private static String toText(Object value, String trueText, String falseText) {
+        if (value instanceof Boolean) {
+            return (Boolean) value ? trueText : falseText;
+        }
+        if (value instanceof Double) {
+            return BigDecimal.valueOf((Double) value).toPlainString();
+        }
+        if (value instanceof LocalDateTime) {
+            return value.toString().replace('T', ' ');
+        }
+        return value.toString();
+    }
+
+    // Mətn sütunları NUL simvolu saxlaya bilməz
+    private static String stripNul(String text) {
+        return text.indexOf('\0') >= 0 ? text.replace("\0", "") : text;
+    }
+
+    private File tableFile(String tableName) {
+        return new File(basePath() + "_" + tableName + "." + format.getExtension());
+    }
+
+    private File scriptFile() {
+        return new File(basePath() + "_load.sql");
+    }
+
+    private String basePath() {
+        String path = baseFile.getPath();
+        String suffix = "." + format.getExtension();
+        return path.endsWith(suffix) ? path.substring(0, path.length() - suffix.length()) : path;
+    }
+
+    /**
+     * Bir cədvəlin faylı
+     */
+    private class Table {
+        final EntityTable<?> table;
+        final File file;
+        final Writer writer;
+        int count;
+
+        Table(EntityTable<?> table, File file) throws IOException {
+            this.table = table;
+            this.file = file;
+            this.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+
+            if (format == BulkFormat.CSV) {
+                List<String> header = table.getColumns().stream().map(column -> column.name).toList();
+                writer.write(String.join(",", header));
+                writer.write('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.ecommerce.scraper.utils;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Export fayllarının stream sıxılması (OutputFormat-dan asılı deyil)
+ */
+public enum Compression {
+
+    NONE(""),
+
+    /** gzip, hər flush()-da SYNC_FLUSH: yarımçıq dayanmış run-ın yazılmış obyektləri oxuna bilir */
+    GZIP(".gz");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String suffix;
+
+    Compression(String suffix) {
+        this.suffix = suffix;
+    }
+
+    /**
+     * Fayl adına əlavə olunan uzantı (".gz" və ya boş)
+     */
+    public String getSuffix() {
+        return suffix;
+    }
+
+    public OutputStream wrap(OutputStream out) throws IOException {
+        return this == GZIP ? new GZIPOutputStream(out, BUFFER_SIZE, true) : out;
+    }
+
+    /**
+     * Giriş stream-i: gzip magic baytları varsa açılır (uzantıdan asılı olmadan)
+     */
+    public static InputStream unwrap(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+
+        if (first == 0x1f && second == 0x8b) {
+            return new GZIPInputStream(buffered, BUFFER_SIZE);
+        }
+        return buffered;
+    }
+
+    /**
+     * Property dəyərini parse et (none / gzip)
+     */
+    public static Compression parse(String value, Compression defaultValue) {
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        return Compression.valueOf(value.trim().toUpperCase());
+    }
+
+    /**
+     * Yoldan sıxılma uzantısını at ("x.json.gz" → "x.json")
+     */
+    static String stripSuffix(String path) {
+        return path.endsWith(GZIP.suffix) ? path.substring(0, path.length() - GZIP.suffix.length()) : path;
+    }
+}
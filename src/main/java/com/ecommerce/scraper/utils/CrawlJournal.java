@@ -0,0 +1,233 @@
+package com.ecommerce.scraper.utils;
+
+import com.ecommerce.scraper.model.Product;
+import com.ecommerce.scraper.model.ProductSpecifications;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only checkpoint jurnalı: hər bitmiş məhsul URL ilə birlikdə bir NDJSON sətri kimi yazılır.
+ *
+ * Resume rejimində mövcud jurnal oxunur, yalnız URL → fayl mövqeyi indeksi yaddaşda saxlanılır,
+ * Product isə lazım olanda diskdən oxunur. Yarımçıq yazılmış son sətir atılır.
+ * Resume olmadan açılanda boş olmayan köhnə jurnal silinmir, *.bak kimi saxlanılır.
+ *
+ * Uğurla bitmiş run-ın jurnalı növbəti incremental run üçün snapshot kimi istifadə olunur
+ * (bax: openSnapshot).
+ */
+public class CrawlJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrawlJournal.class);
+
+    private final ObjectMapper objectMapper;
+    private final RandomAccessFile file;
+    private final Map<String, Location> index = new LinkedHashMap<>();
+
+    private CrawlJournal(File journalFile, boolean resume, boolean readOnly) throws IOException {
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        File parentDir = journalFile.getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+
+        // Uğurlu run jurnalı silir; qalıbsa yarımçıq run-ın checkpoint-idir
+        if (!resume && !readOnly && journalFile.length() > 0) {
+            rotate(journalFile);
+        }
+
+        long validLength = resume && journalFile.exists() ? scan(journalFile) : 0;
+
+        if (readOnly) {
+            this.file = new RandomAccessFile(journalFile, "r");
+            return;
+        }
+
+        this.file = new RandomAccessFile(journalFile, "rw");
+        this.file.setLength(validLength);
+        this.file.seek(validLength);
+    }
+
+    /**
+     * Jurnalı aç. resume=false olduqda yeni jurnal başlanır, köhnəsi *.bak kimi saxlanılır.
+     */
+    public static CrawlJournal open(String path, boolean resume) throws IOException {
+        CrawlJournal journal = new CrawlJournal(new File(path), resume, false);
+
+        if (resume) {
+            logger.info("📒 Jurnaldan {} məhsul bərpa olunacaq: {}", journal.index.size(), path);
+        }
+        return journal;
+    }
+
+    /**
+     * Köhnə jurnalı &lt;jurnal&gt;.&lt;son yazılma vaxtı&gt;.bak adı ilə saxla
+     */
+    private static void rotate(File journalFile) throws IOException {
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date(journalFile.lastModified()));
+        Path backup = journalFile.toPath().resolveSibling(journalFile.getName() + "." + timestamp + ".bak");
+        Files.move(journalFile.toPath(), backup, StandardCopyOption.REPLACE_EXISTING);
+
+        logger.warn("⚠️ Yarımçıq run-ın jurnalı resume olmadan silinmədi, saxlanıldı: {}", backup);
+        logger.warn("   Bərpa etmək üçün: -Dscraper.journal={} -Dscraper.resume=true", backup);
+    }
+
+    /**
+     * Əvvəlki run-ın snapshot-unu yalnız oxumaq üçün aç
+     */
+    public static CrawlJournal openSnapshot(String path) throws IOException {
+        CrawlJournal snapshot = new CrawlJournal(new File(path), true, true);
+        logger.info("📒 Snapshot-da {} məhsul var: {}", snapshot.index.size(), path);
+        return snapshot;
+    }
+
+    /**
+     * URL artıq jurnalda varsa true
+     */
+    public synchronized boolean contains(String url) {
+        return index.containsKey(url);
+    }
+
+    /**
+     * Jurnaldakı URL-lər (yazılma sırası ilə)
+     */
+    public synchronized List<String> getUrls() {
+        return new ArrayList<>(index.keySet());
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Bitmiş məhsulu jurnala əlavə et (sətir dərhal diskə yazılır)
+     */
+    public synchronized void record(String url, Product product) throws IOException {
+        ObjectNode entry = objectMapper.createObjectNode();
+        entry.put("url", url);
+        entry.set("product", objectMapper.valueToTree(product));
+        entry.put("spec_fingerprint", product.getSpecFingerprint());
+
+        byte[] line = objectMapper.writeValueAsBytes(entry);
+        long offset = file.getFilePointer();
+
+        file.write(line);
+        file.write('\n');
+
+        index.put(url, new Location(offset, line.length));
+    }
+
+    /**
+     * Jurnaldakı məhsulu oxu (yoxdursa null)
+     */
+    public synchronized Product read(String url) throws IOException {
+        Location location = index.get(url);
+        if (location == null) {
+            return null;
+        }
+
+        long position = file.getFilePointer();
+        byte[] line = new byte[location.length];
+        try {
+            file.seek(location.offset);
+            file.readFully(line);
+        } finally {
+            file.seek(position);
+        }
+
+        return toProduct(objectMapper.readTree(line));
+    }
+
+    private Product toProduct(JsonNode entry) throws IOException {
+        Product product = objectMapper.treeToValue(entry.get("product"), Product.class);
+        // Köhnə jurnallarda spesifikasiyalar məhsuldan ayrı sahədə yazılıb
+        JsonNode specs = entry.get("specifications");
+        if (specs != null && !specs.isNull()) {
+            product.setSpecifications(objectMapper.treeToValue(specs, ProductSpecifications.class));
+        }
+        JsonNode fingerprint = entry.get("spec_fingerprint");
+        if (fingerprint != null && !fingerprint.isNull()) {
+            product.setSpecFingerprint(fingerprint.asText());
+        }
+        return product;
+    }
+
+    /**
+     * Mövcud jurnalı oxuyub indeks qur, son düzgün sətrin sonunu qaytar
+     */
+    private long scan(File journalFile) throws IOException {
+        long offset = 0;
+        long validLength = 0;
+
+        try (InputStream in = new BufferedInputStream(new FileInputStream(journalFile))) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+
+            while ((b = in.read()) != -1) {
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+
+                byte[] bytes = line.toByteArray();
+                line.reset();
+
+                try {
+                    JsonNode entry = objectMapper.readTree(bytes);
+                    index.put(entry.get("url").asText(), new Location(offset, bytes.length));
+                    validLength = offset + bytes.length + 1;
+                } catch (Exception e) {
+                    logger.warn("⚠️ Jurnal sətri oxunmadı ({} bayt mövqedə), qalanı atılır: {}",
+                            offset, new String(bytes, 0, Math.min(bytes.length, 80), StandardCharsets.UTF_8));
+                    return validLength;
+                }
+
+                offset += bytes.length + 1;
+            }
+        }
+
+        return validLength;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        file.close();
+    }
+
+    /**
+     * Jurnal sətrinin fayldakı yeri
+     */
+    private static class Location {
+        final long offset;
+        final int length;
+
+        Location(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
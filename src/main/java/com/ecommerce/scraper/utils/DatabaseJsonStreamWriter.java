@@ -0,0 +1,169 @@
+package com.ecommerce.scraper.utils;
+
+import com.ecommerce.scraper.mapper.DatabaseOutput;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DatabaseOutput-u entity-lər gəldikcə yazır.
+ *
+ * brands / products / product_variants / product_attributes array-ləri bir-birinə
+ * qarışıq gəldiyi üçün hər biri əvvəlcə yanında ".part" faylına yazılır, close()
+ * zamanı isə DatabaseOutput ilə eyni strukturda bir JSON faylına birləşdirilir.
+ *
+ * NDJSON formatında hər entity növü ayrıca yekun fayldır
+ * (database_import_X_brands.ndjson, ..._products.ndjson və s.), birləşdirmə olmur.
+ *
+ * Smile / CBOR-da part faylları da binary-dir. gzip yalnız yekun fayllara tətbiq olunur.
+ */
+public class DatabaseJsonStreamWriter implements Closeable {
+
+    private final ObjectMapper objectMapper;
+    private final File outputFile;
+    private final OutputFormat format;
+    private final Compression compression;
+    private final Map<String, Section> sections = new LinkedHashMap<>();
+    private boolean closed;
+
+    DatabaseJsonStreamWriter(ObjectMapper objectMapper, File outputFile, OutputFormat format,
+                             Compression compression) throws IOException {
+        this.objectMapper = objectMapper;
+        this.outputFile = outputFile;
+        this.format = format;
+        this.compression = compression;
+
+        // Part / NDJSON faylları həmişə sətir-sətir compact yazılır, indent yalnız yekun JSON-da
+        ObjectMapper partMapper = objectMapper.copy().disable(SerializationFeature.INDENT_OUTPUT);
+
+        // Part faylları müvəqqətidir, sıxılmır; NDJSON faylları isə yekundur
+        Compression sectionCompression = format.isLineDelimited() ? compression : Compression.NONE;
+
+        for (String name : List.of("brands", "products", "product_variants", "product_attributes")) {
+            sections.put(name, new Section(partMapper, sectionFile(name), format.isBinary(), sectionCompression));
+        }
+    }
+
+    /**
+     * Bir məhsulun entity-lərini əlavə et
+     */
+    public synchronized void append(DatabaseOutput entities) throws IOException {
+        sections.get("brands").writeAll(entities.getBrands());
+        sections.get("products").writeAll(entities.getProducts());
+        sections.get("product_variants").writeAll(entities.getProductVariants());
+        sections.get("product_attributes").writeAll(entities.getProductAttributes());
+    }
+
+    public synchronized int getCount(String section) {
+        return sections.get(section).count;
+    }
+
+    /**
+     * Yekun fayl(lar)ın yolu
+     */
+    public List<String> getPaths() {
+        if (!format.isLineDelimited()) {
+            return List.of(outputFile.getPath());
+        }
+        return sections.values().stream().map(section -> section.file.getPath()).toList();
+    }
+
+    /**
+     * JSON / Smile / CBOR: ".part" spool faylı, NDJSON: entity növünün yekun faylı
+     */
+    private File sectionFile(String name) {
+        String path = outputFile.getPath();
+        if (!format.isLineDelimited()) {
+            return new File(path + "." + name + ".part");
+        }
+
+        String suffix = "." + format.getExtension() + compression.getSuffix();
+        String base = path.endsWith(suffix) ? path.substring(0, path.length() - suffix.length()) : path;
+        return new File(base + "_" + name + suffix);
+    }
+
+    /**
+     * Part fayllarını yekun JSON-a birləşdir və sil (NDJSON-da sadəcə bağla)
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        for (Section section : sections.values()) {
+            section.generator.close();
+        }
+
+        if (format.isLineDelimited()) {
+            return;
+        }
+
+        try (JsonGenerator generator = objectMapper.createGenerator(
+                compression.wrap(new FileOutputStream(outputFile)), JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+
+            for (Map.Entry<String, Section> entry : sections.entrySet()) {
+                generator.writeFieldName(entry.getKey());
+                generator.writeStartArray();
+
+                try (JsonParser parser = objectMapper.createParser(entry.getValue().file)) {
+                    while (parser.nextToken() != null) {
+                        generator.copyCurrentStructure(parser);
+                    }
+                }
+
+                generator.writeEndArray();
+            }
+
+            generator.writeEndObject();
+        }
+
+        for (Section section : sections.values()) {
+            Files.deleteIfExists(section.file.toPath());
+        }
+    }
+
+    /**
+     * Bir entity növünün part faylı
+     */
+    private static class Section {
+        final File file;
+        final JsonGenerator generator;
+        final boolean binary;
+        int count;
+
+        Section(ObjectMapper partMapper, File file, boolean binary, Compression compression) throws IOException {
+            this.file = file;
+            this.binary = binary;
+            this.generator = partMapper.createGenerator(compression.wrap(new FileOutputStream(file)), JsonEncoding.UTF8);
+            if (!binary) {
+                this.generator.setRootValueSeparator(null);
+            }
+        }
+
+        void writeAll(List<?> entities) throws IOException {
+            for (Object entity : entities) {
+                generator.writeObject(entity);
+                // Binary formatlarda root dəyərlər ayırıcısız ardıcıl yazılır
+                if (!binary) {
+                    generator.writeRaw('\n');
+                }
+                count++;
+            }
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.ecommerce.scraper.utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.config.Config;
+import io.github.bonigarcia.wdm.online.HttpClient;
+import io.github.bonigarcia.wdm.versions.VersionDetector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * ChromeDriver binary-sinin yolunu bir dəfə müəyyən edir (JVM daxilində yadda saxlanılır).
+ *
+ * Sıra:
+ *   1. pinnedPath verilibsə - birbaşa o fayl, şəbəkəyə müraciət yoxdur
+ *   2. cacheDir/driver-resolution.properties - TTL daxilindədirsə və quraşdırılmış Chrome-un
+ *      major versiyası fayldakı ilə eynidirsə (offline rejimdə həmişə)
+ *   3. WebDriverManager (cacheDir/wdm) - nəticə resolution faylına yazılır;
+ *      şəbəkə xətası olduqda köhnəlmiş cache yolu istifadə olunur
+ *
+ * Tapılan yol webdriver.chrome.driver property-sinə yazılır. Sessiya yenə də açılmırsa
+ * (SessionNotCreatedException) invalidate() cache-i keçib yenidən müəyyən etməyə məcbur edir.
+ */
+public class DriverResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverResolver.class);
+
+    public static final String DEFAULT_CACHE_DIR = System.getProperty("user.home") + "/.cache/qiymeti-scraper/driver";
+    public static final Duration DEFAULT_TTL = Duration.ofDays(7);
+
+    private static final String RESOLUTION_FILE = "driver-resolution.properties";
+
+    private final String pinnedPath;
+    private final Path cacheDir;
+    private final boolean offline;
+    private final Duration ttl;
+
+    private Path resolved;
+
+    // invalidate()-dən sonra resolution faylı nəzərə alınmır
+    private boolean skipCache;
+
+    public DriverResolver(String pinnedPath, String cacheDir, boolean offline, Duration ttl) {
+        this.pinnedPath = pinnedPath;
+        this.cacheDir = Paths.get(cacheDir != null ? cacheDir : DEFAULT_CACHE_DIR);
+        this.offline = offline;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Default: pin yoxdur, cache ~/.cache/qiymeti-scraper/driver, 7 gün TTL
+     */
+    public static DriverResolver defaults() {
+        return new DriverResolver(null, null, false, DEFAULT_TTL);
+    }
+
+    /**
+     * ChromeDriver yolunu qaytar (ilk çağırışda müəyyən edilir)
+     */
+    public synchronized Path resolve() {
+        if (resolved != null) {
+            return resolved;
+        }
+
+        long start = System.currentTimeMillis();
+        resolved = doResolve();
+        skipCache = false;
+        System.setProperty("webdriver.chrome.driver", resolved.toString());
+
+        logger.info("ChromeDriver: {} ({} ms)", resolved, System.currentTimeMillis() - start);
+        return resolved;
+    }
+
+    /**
+     * failedPath ilə sessiya açılmadı (məs. Chrome yenilənib): növbəti resolve() cache-i keçib
+     * WebDriverManager-ə müraciət edir. Başqa thread artıq yenidən müəyyən edibsə, təkrar etmir.
+     * Təkrar cəhdin mənası varsa true (pin və offline rejimdə yol dəyişə bilməz).
+     */
+    public synchronized boolean invalidate(Path failedPath) {
+        if (pinnedPath != null || offline) {
+            return false;
+        }
+        if (resolved != null && !resolved.equals(failedPath)) {
+            return true;
+        }
+
+        logger.warn("⚠️ ChromeDriver cache-i etibarsız sayıldı: {}", failedPath);
+        resolved = null;
+        skipCache = true;
+        return true;
+    }
+
+    private Path doResolve() {
+        // 1. Sabitlənmiş yol
+        if (pinnedPath != null) {
+            Path pinned = Paths.get(pinnedPath);
+            if (!Files.isExecutable(pinned)) {
+                throw new IllegalStateException("ChromeDriver tapılmadı və ya icra oluna bilmir: " + pinned);
+            }
+            return pinned;
+        }
+
+        // 2. Əvvəlki resolution
+        Properties cached = skipCache ? null : readResolution();
+        Path cachedPath = cached != null ? Paths.get(cached.getProperty("path")) : null;
+        boolean cachedUsable = cachedPath != null && Files.isExecutable(cachedPath);
+        long age = cached != null ? ageMillis(cached) : Long.MAX_VALUE;
+
+        String browserVersion = detectBrowserVersion();
+        boolean browserChanged = cached != null && browserVersion != null
+                && !VersionDetector.getMajorVersion(browserVersion)
+                        .equals(VersionDetector.getMajorVersion(cached.getProperty("browserVersion", "")));
+
+        if (cachedUsable && offline) {
+            if (browserChanged) {
+                logger.warn("⚠️ Offline rejim: Chrome {} üçün cache-dəki ChromeDriver {} uyğun olmaya bilər",
+                        browserVersion, cached.getProperty("version"));
+            }
+            return cachedPath;
+        }
+
+        if (cachedUsable && age <= ttl.toMillis() && !browserChanged) {
+            logger.debug("ChromeDriver cache-dən: {}", cachedPath);
+            return cachedPath;
+        }
+
+        if (browserChanged) {
+            logger.info("Chrome versiyası dəyişib ({} → {}), ChromeDriver yenidən müəyyən edilir",
+                    cached.getProperty("browserVersion", "?"), browserVersion);
+        }
+
+        if (offline) {
+            throw new IllegalStateException("Offline rejim: ChromeDriver cache-də yoxdur ("
+                    + cacheDir.resolve(RESOLUTION_FILE) + "), scraper.driver.path istifadə edin");
+        }
+
+        // 3. WebDriverManager (şəbəkə)
+        try {
+            WebDriverManager manager = WebDriverManager.chromedriver().cachePath(cacheDir.resolve("wdm").toString());
+            manager.setup();
+
+            Path downloaded = Paths.get(manager.getDownloadedDriverPath());
+            writeResolution(downloaded, manager.getDownloadedDriverVersion(), browserVersion);
+            return downloaded;
+
+        } catch (RuntimeException e) {
+            if (cachedUsable) {
+                logger.warn("⚠️ WebDriverManager xətası, köhnə cache istifadə olunur ({}): {}", cachedPath, e.getMessage());
+                return cachedPath;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Resolution faylının yaşı; resolvedAt yoxdursa və ya korlanıbsa köhnəlmiş sayılır
+     */
+    private static long ageMillis(Properties cached) {
+        try {
+            return System.currentTimeMillis() - Long.parseLong(cached.getProperty("resolvedAt", ""));
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Quraşdırılmış Chrome-un versiyası (WebDriverManager-in lokal shell əmrləri ilə, şəbəkəsiz).
+     * Tapılmırsa null - versiya yoxlaması atlanır.
+     */
+    private static String detectBrowserVersion() {
+        try {
+            Config config = WebDriverManager.chromedriver().config().setCommandsPropertiesOnlineFirst(false);
+            try (HttpClient httpClient = new HttpClient(config)) {
+                return new VersionDetector(config, httpClient).getBrowserVersionFromTheShell("chrome").orElse(null);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Chrome versiyası müəyyən edilmədi: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Properties readResolution() {
+        Path file = cacheDir.resolve(RESOLUTION_FILE);
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+            return properties.getProperty("path") != null ? properties : null;
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("⚠️ Driver resolution faylı oxunmadı: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeResolution(Path driverPath, String version, String browserVersion) {
+        Properties properties = new Properties();
+        properties.setProperty("path", driverPath.toAbsolutePath().toString());
+        properties.setProperty("version", version != null ? version : "");
+        properties.setProperty("browserVersion", browserVersion != null ? browserVersion : "");
+        properties.setProperty("resolvedAt", String.valueOf(System.currentTimeMillis()));
+
+        try {
+            Files.createDirectories(cacheDir);
+            try (Writer writer = Files.newBufferedWriter(cacheDir.resolve(RESOLUTION_FILE), StandardCharsets.UTF_8)) {
+                properties.store(writer, "ChromeDriver resolution");
+            }
+        } catch (IOException e) {
+            logger.warn("⚠️ Driver resolution faylı yazılmadı: {}", e.getMessage());
+        }
+    }
+}
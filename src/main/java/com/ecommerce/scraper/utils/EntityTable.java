@@ -0,0 +1,133 @@
+package com.ecommerce.scraper.utils;
+
+import com.ecommerce.scraper.mapper.DatabaseOutput;
+import com.ecommerce.scraper.model.db.BrandEntity;
+import com.ecommerce.scraper.model.db.ProductAttributeEntity;
+import com.ecommerce.scraper.model.db.ProductEntity;
+import com.ecommerce.scraper.model.db.ProductVariantEntity;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Database entity növünün cədvəl təsviri: cədvəl adı və sütunlar (ad, SQL tipi, dəyər).
+ *
+ * Sütun adları JSON export-dakı @JsonProperty adları ilə eynidir (bax: db/schema.sql).
+ * ALL sırası foreign key sırasıdır: brands → products → product_variants → product_attributes.
+ */
+final class EntityTable<T> {
+
+    static final EntityTable<BrandEntity> BRANDS = new EntityTable<BrandEntity>("brands", DatabaseOutput::getBrands)
+            .column("id", Types.BIGINT, BrandEntity::getId)
+            .column("name", Types.VARCHAR, BrandEntity::getName)
+            .column("slug", Types.VARCHAR, BrandEntity::getSlug)
+            .column("description", Types.VARCHAR, BrandEntity::getDescription)
+            .column("is_active", Types.BOOLEAN, BrandEntity::getIsActive)
+            .column("keywords", Types.VARCHAR, BrandEntity::getKeywords)
+            .column("created_at", Types.TIMESTAMP, BrandEntity::getCreatedAt)
+            .column("updated_at", Types.TIMESTAMP, BrandEntity::getUpdatedAt);
+
+    static final EntityTable<ProductEntity> PRODUCTS = new EntityTable<ProductEntity>("products", DatabaseOutput::getProducts)
+            .column("id", Types.BIGINT, ProductEntity::getId)
+            .column("name", Types.VARCHAR, ProductEntity::getName)
+            .column("slug", Types.VARCHAR, ProductEntity::getSlug)
+            .column("description", Types.VARCHAR, ProductEntity::getDescription)
+            .column("short_description", Types.VARCHAR, ProductEntity::getShortDescription)
+            .column("sku", Types.VARCHAR, ProductEntity::getSku)
+            .column("price", Types.DOUBLE, ProductEntity::getPrice)
+            .column("stock_status", Types.VARCHAR, ProductEntity::getStockStatus)
+            .column("brand_id", Types.BIGINT, ProductEntity::getBrandId)
+            .column("external_brand_name", Types.VARCHAR, ProductEntity::getExternalBrandName)
+            .column("is_featured", Types.BOOLEAN, ProductEntity::getIsFeatured)
+            .column("status", Types.VARCHAR, ProductEntity::getStatus)
+            .column("visibility", Types.VARCHAR, ProductEntity::getVisibility)
+            .column("meta_data", Types.VARCHAR, ProductEntity::getMetaData)
+            .column("keywords", Types.VARCHAR, ProductEntity::getKeywords)
+            .column("created_at", Types.TIMESTAMP, ProductEntity::getCreatedAt)
+            .column("updated_at", Types.TIMESTAMP, ProductEntity::getUpdatedAt);
+
+    static final EntityTable<ProductVariantEntity> PRODUCT_VARIANTS =
+            new EntityTable<ProductVariantEntity>("product_variants", DatabaseOutput::getProductVariants)
+            .column("id", Types.BIGINT, ProductVariantEntity::getId)
+            .column("product_id", Types.BIGINT, ProductVariantEntity::getProductId)
+            .column("variant_name", Types.VARCHAR, ProductVariantEntity::getVariantName)
+            .column("sku", Types.VARCHAR, ProductVariantEntity::getSku)
+            .column("price", Types.DOUBLE, ProductVariantEntity::getPrice)
+            .column("stock_status", Types.VARCHAR, ProductVariantEntity::getStockStatus)
+            .column("is_active", Types.BOOLEAN, ProductVariantEntity::getIsActive)
+            .column("is_default", Types.BOOLEAN, ProductVariantEntity::getIsDefault)
+            .column("slug", Types.VARCHAR, ProductVariantEntity::getSlug)
+            .column("keywords", Types.VARCHAR, ProductVariantEntity::getKeywords)
+            .column("created_at", Types.TIMESTAMP, ProductVariantEntity::getCreatedAt)
+            .column("updated_at", Types.TIMESTAMP, ProductVariantEntity::getUpdatedAt);
+
+    static final EntityTable<ProductAttributeEntity> PRODUCT_ATTRIBUTES =
+            new EntityTable<ProductAttributeEntity>("product_attributes", DatabaseOutput::getProductAttributes)
+            .column("id", Types.BIGINT, ProductAttributeEntity::getId)
+            .column("product_id", Types.BIGINT, ProductAttributeEntity::getProductId)
+            .column("variant_id", Types.BIGINT, ProductAttributeEntity::getVariantId)
+            .column("attribute_name", Types.VARCHAR, ProductAttributeEntity::getAttributeName)
+            .column("attribute_value", Types.VARCHAR, ProductAttributeEntity::getAttributeValue)
+            .column("attribute_type", Types.VARCHAR, ProductAttributeEntity::getAttributeType)
+            .column("attribute_unit", Types.VARCHAR, ProductAttributeEntity::getAttributeUnit)
+            .column("is_visible", Types.BOOLEAN, ProductAttributeEntity::getIsVisible)
+            .column("sort_order", Types.INTEGER, ProductAttributeEntity::getSortOrder)
+            .column("created_at", Types.TIMESTAMP, ProductAttributeEntity::getCreatedAt)
+            .column("updated_at", Types.TIMESTAMP, ProductAttributeEntity::getUpdatedAt);
+
+    static final List<EntityTable<?>> ALL = List.of(BRANDS, PRODUCTS, PRODUCT_VARIANTS, PRODUCT_ATTRIBUTES);
+
+    private final String name;
+    private final Function<DatabaseOutput, List<T>> entities;
+    private final List<Column<T>> columns = new ArrayList<>();
+
+    private EntityTable(String name, Function<DatabaseOutput, List<T>> entities) {
+        this.name = name;
+        this.entities = entities;
+    }
+
+    private EntityTable<T> column(String columnName, int sqlType, Function<T, Object> value) {
+        columns.add(new Column<>(columnName, sqlType, value));
+        return this;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    List<Column<T>> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Bu cədvəlin DatabaseOutput-dakı sətirləri (sütun sırası ilə dəyərlər)
+     */
+    List<Object[]> rows(DatabaseOutput output) {
+        List<Object[]> rows = new ArrayList<>();
+        for (T entity : entities.apply(output)) {
+            Object[] row = new Object[columns.size()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = columns.get(i).value.apply(entity);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Cədvəl sütunu
+     */
+    static final class Column<T> {
+        final String name;
+        final int sqlType;
+        final Function<T, Object> value;
+
+        Column(String name, int sqlType, Function<T, Object> value) {
+            this.name = name;
+            this.sqlType = sqlType;
+            this.value = value;
+        }
+    }
+}
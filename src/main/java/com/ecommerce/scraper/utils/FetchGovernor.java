@@ -0,0 +1,220 @@
+package com.ecommerce.scraper.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sayta gedən bütün sorğuların (Selenium naviqasiyası, HTTP fetch, variant klikləri) ortaq tənzimləyicisi.
+ *
+ * İki məhdudiyyət birlikdə işləyir:
+ *   - token bucket: saniyədə rate sorğu, burst qədər ani yığılma
+ *   - eyni anda ən çox limit sorğu
+ *
+ * Hər ikisi AIMD ilə dəyişir: sürətli uğurlu cavab limit-i 1/limit, rate-i RATE_STEP qədər artırır;
+ * xəta səhifəsi (429, 5xx, blok) və timeout ikisini də yarıya, yavaş cavab (slowMillis-dən uzun)
+ * DECREASE_ON_SLOW dəfə azaldır. Azalma ən çox slowMillis-də bir dəfə tətbiq olunur ki, eyni
+ * dalğanın paralel xətaları limiti sıfıra endirməsin.
+ *
+ * İstifadə: long start = governor.acquire(); ... governor.release(start, Outcome.SUCCESS);
+ */
+public class FetchGovernor {
+
+    private static final Logger logger = LoggerFactory.getLogger(FetchGovernor.class);
+
+    // Hər sürətli uğurlu cavabdan sonra rate artımı (sorğu/saniyə)
+    private static final double RATE_STEP = 0.2;
+    private static final double MIN_RATE = 0.2;
+    private static final double DECREASE_ON_ERROR = 0.5;
+    private static final double DECREASE_ON_SLOW = 0.75;
+
+    // Brauzerdə açılan xəta / blok səhifələrinin title-larında rast gəlinən ifadələr.
+    // Yalnız tam ifadələr: "429", "503" kimi rəqəmlər model adlarında da olur (məs. "X1502ZA")
+    private static final List<String> ERROR_TITLE_MARKERS = List.of(
+            "too many requests", "service unavailable", "bad gateway", "gateway timeout",
+            "access denied", "attention required", "just a moment", "rate limited");
+
+    public enum Outcome {
+        SUCCESS, ERROR, TIMEOUT
+    }
+
+    private final double maxRate;
+    private final int maxConcurrency;
+    private final double burst;
+    private final long slowNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    private double rate;
+    private double limit;
+    private double tokens;
+    private long lastRefillNanos;
+    private long lastDecreaseNanos;
+    private int inFlight;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong slow = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+
+    public FetchGovernor(double initialRate, double maxRate, int initialConcurrency, int maxConcurrency,
+                         long slowMillis) {
+        this.maxRate = Math.max(MIN_RATE, maxRate);
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.rate = Math.min(this.maxRate, Math.max(MIN_RATE, initialRate));
+        this.limit = Math.min(this.maxConcurrency, Math.max(1, initialConcurrency));
+        this.burst = Math.max(1, this.maxConcurrency);
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, slowMillis));
+
+        this.tokens = 1;
+        this.lastRefillNanos = System.nanoTime();
+        this.lastDecreaseNanos = lastRefillNanos - slowNanos;
+    }
+
+    /**
+     * Brauzerdə açılmış səhifənin title-ı xəta / blok səhifəsinə oxşayırsa true
+     */
+    public static boolean isErrorTitle(String title) {
+        if (title == null) {
+            return false;
+        }
+        String normalized = title.toLowerCase(Locale.ROOT);
+        for (String marker : ERROR_TITLE_MARKERS) {
+            if (normalized.contains(marker)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Token və boş slot olana qədər gözlə. Qaytarılan dəyər release() üçün başlanğıc vaxtıdır.
+     */
+    public long acquire() throws InterruptedException {
+        long waitStart = System.nanoTime();
+        lock.lockInterruptibly();
+
+        try {
+            while (true) {
+                refill();
+
+                if (inFlight >= (int) limit) {
+                    changed.await();
+                } else if (tokens < 1) {
+                    changed.awaitNanos((long) ((1 - tokens) / rate * 1e9) + 1);
+                } else {
+                    tokens -= 1;
+                    inFlight++;
+                    break;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        requests.incrementAndGet();
+        long now = System.nanoTime();
+        waitNanos.addAndGet(now - waitStart);
+        return now;
+    }
+
+    /**
+     * Sorğunun nəticəsini bildir və slotu boşalt
+     */
+    public void release(long startNanos, Outcome outcome) {
+        long now = System.nanoTime();
+        long latency = now - startNanos;
+
+        lock.lock();
+        try {
+            inFlight--;
+
+            if (outcome == Outcome.ERROR || outcome == Outcome.TIMEOUT) {
+                (outcome == Outcome.ERROR ? errors : timeouts).incrementAndGet();
+                decrease(now, DECREASE_ON_ERROR, outcome.name());
+            } else if (latency > slowNanos) {
+                slow.incrementAndGet();
+                decrease(now, DECREASE_ON_SLOW, "SLOW");
+            } else {
+                limit = Math.min(maxConcurrency, limit + 1 / limit);
+                rate = Math.min(maxRate, rate + RATE_STEP);
+            }
+
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void decrease(long now, double factor, String reason) {
+        if (now - lastDecreaseNanos < slowNanos) {
+            return;
+        }
+        lastDecreaseNanos = now;
+
+        limit = Math.max(1, limit * factor);
+        rate = Math.max(MIN_RATE, rate * factor);
+        logger.info("🚦 Sorğu tempi azaldıldı ({}): {} paralel, {} sorğu/s", reason,
+                (int) limit, String.format("%.1f", rate));
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) / 1e9 * rate);
+        lastRefillNanos = now;
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getRate() {
+        lock.lock();
+        try {
+            return rate;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    /**
+     * acquire()-də gözləmənin cəmi (millisaniyə)
+     */
+    public double getWaitMillis() {
+        return waitNanos.get() / 1e6;
+    }
+
+    /**
+     * Sorğu / xəta statistikasını log et
+     */
+    public void logStats() {
+        logger.info("🚦 Fetch governor: {} sorğu, {} xəta, {} timeout, {} yavaş, gözləmə {} s, son hədd: {} paralel, {} sorğu/s",
+                getRequests(), getErrors(), getTimeouts(), slow.get(), String.format("%.1f", getWaitMillis() / 1000),
+                getLimit(), String.format("%.1f", getRate()));
+    }
+}
@@ -0,0 +1,370 @@
+package com.ecommerce.scraper.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Yüklənmiş səhifə HTML-nin diskdə content-addressed cache-i.
+ *
+ * Struktur:
+ *   objects/ab/&lt;sha256(html)&gt;.html.gz   - gzip-lənmiş HTML, eyni məzmun bir dəfə saxlanır
+ *   keys/cd/&lt;sha256(url + variant)&gt;.ref  - "hash \t fetchedAt \t url \t variant"
+ *
+ * Açar URL və variant seçimidir (bax: variantKey; tam səhifə üçün boş sətir). TTL-i keçmiş
+ * açarlar miss sayılır, objects ölçüsü maxBytes-ı keçəndə ən köhnə istifadə olunmuş açarlar
+ * silinir (LRU - .ref faylının lastModified-i). Offline rejimdə TTL nəzərə alınmır və
+ * cache-ə yazılmır. Fayllar temp + atomic move ilə yazılır. put()-lar read lock, evict() isə
+ * write lock altında işləyir: put-lar paralel gedir, amma təmizləmə ref-i hələ yazılmamış
+ * obyekti yetim sayıb silə bilmir. Bu şəkildə thread-safe-dir.
+ */
+public class HtmlPageCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(HtmlPageCache.class);
+
+    public static final Duration DEFAULT_TTL = Duration.ofHours(24);
+    public static final long DEFAULT_MAX_BYTES = 512L * 1024 * 1024;
+
+    // Bu qədər put-dan sonra ölçü yenidən yoxlanılır
+    private static final int EVICT_EVERY_PUTS = 256;
+
+    private final Path objectsDir;
+    private final Path keysDir;
+    private final Duration ttl;
+    private final long maxBytes;
+    private final boolean offline;
+
+    private final ReadWriteLock evictionLock = new ReentrantReadWriteLock();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong puts = new AtomicLong();
+
+    public HtmlPageCache(Path dir, Duration ttl, long maxBytes, boolean offline) throws IOException {
+        this.objectsDir = dir.resolve("objects");
+        this.keysDir = dir.resolve("keys");
+        this.ttl = ttl;
+        this.maxBytes = maxBytes;
+        this.offline = offline;
+
+        Files.createDirectories(objectsDir);
+        Files.createDirectories(keysDir);
+        evict();
+    }
+
+    /**
+     * Variant seçiminin cache açarı (seçim yoxdursa boş hissə)
+     */
+    public static String variantKey(String storageSpecId, String colorSpecId) {
+        return "storage=" + (storageSpecId != null ? storageSpecId : "")
+                + ";color=" + (colorSpecId != null ? colorSpecId : "");
+    }
+
+    /**
+     * Tam səhifənin HTML-i (yoxdursa və ya köhnəlibsə null)
+     */
+    public String get(String url) {
+        return get(url, "");
+    }
+
+    /**
+     * URL + variant üçün saxlanmış HTML (yoxdursa və ya köhnəlibsə null)
+     */
+    public String get(String url, String variant) {
+        Path refFile = refPath(url, variant);
+
+        try {
+            String[] ref = Files.readString(refFile, StandardCharsets.UTF_8).split("\t", 4);
+            long fetchedAt = Long.parseLong(ref[1]);
+
+            if (!offline && System.currentTimeMillis() - fetchedAt > ttl.toMillis()) {
+                misses.incrementAndGet();
+                return null;
+            }
+
+            String html;
+            try (InputStream in = Compression.unwrap(Files.newInputStream(objectPath(ref[0])))) {
+                html = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+
+            // LRU: son istifadə vaxtı
+            Files.setLastModifiedTime(refFile, FileTime.fromMillis(System.currentTimeMillis()));
+            hits.incrementAndGet();
+            return html;
+
+        } catch (NoSuchFileException e) {
+            misses.incrementAndGet();
+            return null;
+
+        } catch (IOException | RuntimeException e) {
+            logger.warn("⚠️ Cache oxuna bilmədi ({}): {}", url, e.getMessage());
+            misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Tam səhifənin HTML-ni saxla
+     */
+    public void put(String url, String html) {
+        put(url, "", html);
+    }
+
+    /**
+     * URL + variant üçün HTML-i saxla (offline rejimdə heç nə etmir)
+     */
+    public void put(String url, String variant, String html) {
+        if (offline || html == null) {
+            return;
+        }
+
+        evictionLock.readLock().lock();
+        try {
+            byte[] bytes = html.getBytes(StandardCharsets.UTF_8);
+            String hash = sha256(bytes);
+
+            Path objectFile = objectPath(hash);
+            if (!Files.exists(objectFile)) {
+                writeAtomically(objectFile, out -> {
+                    try (OutputStream gzip = Compression.GZIP.wrap(out)) {
+                        gzip.write(bytes);
+                    }
+                });
+            }
+
+            String ref = hash + "\t" + System.currentTimeMillis() + "\t" + url + "\t" + variant;
+            writeAtomically(refPath(url, variant), out -> out.write(ref.getBytes(StandardCharsets.UTF_8)));
+
+        } catch (IOException e) {
+            logger.warn("⚠️ Cache-ə yazıla bilmədi ({}): {}", url, e.getMessage());
+            return;
+        } finally {
+            evictionLock.readLock().unlock();
+        }
+
+        if (puts.incrementAndGet() % EVICT_EVERY_PUTS == 0) {
+            evict();
+        }
+    }
+
+    /**
+     * Köhnəlmiş açarları, ölçü limitini keçən ən köhnə açarları və
+     * heç bir açarın göstərmədiyi obyektləri sil
+     */
+    public void evict() {
+        evictionLock.writeLock().lock();
+        try {
+            List<Path> refs = listFiles(keysDir);
+            refs.sort(Comparator.comparingLong(HtmlPageCache::lastModified));
+
+            long now = System.currentTimeMillis();
+            List<Path> live = new ArrayList<>();
+            int expired = 0;
+
+            for (Path refFile : refs) {
+                if (!offline && now - fetchedAt(refFile) > ttl.toMillis()) {
+                    Files.deleteIfExists(refFile);
+                    expired++;
+                } else {
+                    live.add(refFile);
+                }
+            }
+
+            // Hər obyektə neçə açar istinad edir
+            Map<Path, String> hashes = new HashMap<>();
+            Map<String, Integer> refCounts = new HashMap<>();
+            for (Path refFile : live) {
+                String hash = readHash(refFile);
+                if (hash != null) {
+                    hashes.put(refFile, hash);
+                    refCounts.merge(hash, 1, Integer::sum);
+                }
+            }
+
+            long size = 0;
+            for (String hash : refCounts.keySet()) {
+                size += objectSize(hash);
+            }
+
+            // Ölçü limiti: ən köhnə istifadə olunmuş açarlardan başlayaraq
+            int evicted = 0;
+            for (int i = 0; i < live.size() && size > maxBytes; i++) {
+                Path refFile = live.get(i);
+                Files.deleteIfExists(refFile);
+                evicted++;
+
+                String hash = hashes.remove(refFile);
+                if (hash != null && refCounts.merge(hash, -1, Integer::sum) == 0) {
+                    refCounts.remove(hash);
+                    size -= objectSize(hash);
+                }
+            }
+
+            // Heç kimin istinad etmədiyi obyektlər
+            int orphans = 0;
+            for (Path objectFile : listFiles(objectsDir)) {
+                if (!refCounts.containsKey(hashOf(objectFile))) {
+                    Files.deleteIfExists(objectFile);
+                    orphans++;
+                }
+            }
+
+            if (expired + evicted + orphans > 0) {
+                logger.info("🧹 HTML cache: {} köhnəlmiş, {} LRU açar, {} obyekt silindi",
+                        expired, evicted, orphans);
+            }
+
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("⚠️ Cache təmizlənə bilmədi: {}", e.getMessage());
+        } finally {
+            evictionLock.writeLock().unlock();
+        }
+    }
+
+    public boolean isOffline() {
+        return offline;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getPuts() {
+        return puts.get();
+    }
+
+    /**
+     * objects qovluğunun diskdəki ölçüsü (bayt)
+     */
+    public long getSizeBytes() {
+        try {
+            long total = 0;
+            for (Path objectFile : listFiles(objectsDir)) {
+                total += Files.size(objectFile);
+            }
+            return total;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Hit / miss statistikasını log et
+     */
+    public void logStats() {
+        logger.info("📦 HTML cache: {} hit, {} miss, {} yazılış, {} KB{}",
+                getHits(), getMisses(), getPuts(), getSizeBytes() / 1024, offline ? " (offline)" : "");
+    }
+
+    private Path refPath(String url, String variant) {
+        String hash = sha256((url + "\n" + variant).getBytes(StandardCharsets.UTF_8));
+        return keysDir.resolve(hash.substring(0, 2)).resolve(hash + ".ref");
+    }
+
+    private Path objectPath(String hash) {
+        return objectsDir.resolve(hash.substring(0, 2)).resolve(hash + ".html.gz");
+    }
+
+    private static String readHash(Path refFile) throws IOException {
+        try {
+            return Files.readString(refFile, StandardCharsets.UTF_8).split("\t", 2)[0];
+        } catch (NoSuchFileException e) {
+            // Paralel olaraq silinib
+            return null;
+        }
+    }
+
+    private long objectSize(String hash) throws IOException {
+        Path objectFile = objectPath(hash);
+        return Files.exists(objectFile) ? Files.size(objectFile) : 0;
+    }
+
+    private static long fetchedAt(Path refFile) {
+        try {
+            return Long.parseLong(Files.readString(refFile, StandardCharsets.UTF_8).split("\t", 3)[1]);
+        } catch (IOException | RuntimeException e) {
+            return 0;
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static String hashOf(Path objectFile) {
+        String name = objectFile.getFileName().toString();
+        int dot = name.indexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    private static List<Path> listFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> !file.getFileName().toString().endsWith(".tmp"))
+                    .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        }
+    }
+
+    private static void writeAtomically(Path target, StreamWriter writer) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                writer.write(out);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StreamWriter {
+        void write(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,150 @@
+package com.ecommerce.scraper.utils;
+
+import com.ecommerce.scraper.jfr.NavigationEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Brauzersiz səhifə yükləyici (java.net.http.HttpClient).
+ *
+ * Thread-safe-dir, bütün worker-lər eyni instance-ı paylaşa bilər.
+ * HtmlPageCache verilibsə yüklənən səhifələr cache-ə yazılır. Cache-dən yalnız offline rejimdə
+ * (şəbəkəyə heç müraciət edilmir) və ya readCacheOnline ilə oxunur: əks halda TTL ərzində
+ * köhnə qiymətlər qaytarılardı. FetchGovernor verilibsə hər şəbəkə sorğusu ondan keçir
+ * (cache hit-lər keçmir); 429 / 5xx cavablar və timeout-lar tempi azaldır.
+ */
+public class HttpPageFetcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpPageFetcher.class);
+
+    private final HttpClient client;
+    private final Duration timeout;
+    private final HtmlPageCache cache;
+    private final boolean readCacheOnline;
+    private final FetchGovernor governor;
+
+    public HttpPageFetcher() {
+        this(Duration.ofSeconds(15));
+    }
+
+    public HttpPageFetcher(Duration timeout) {
+        this(timeout, null);
+    }
+
+    public HttpPageFetcher(Duration timeout, HtmlPageCache cache) {
+        this(timeout, cache, null);
+    }
+
+    public HttpPageFetcher(Duration timeout, HtmlPageCache cache, FetchGovernor governor) {
+        this(timeout, cache, governor, false);
+    }
+
+    /**
+     * readCacheOnline=true - online rejimdə də TTL-i keçməmiş səhifələr cache-dən oxunur
+     */
+    public HttpPageFetcher(Duration timeout, HtmlPageCache cache, FetchGovernor governor, boolean readCacheOnline) {
+        this.timeout = timeout;
+        this.cache = cache;
+        this.readCacheOnline = readCacheOnline;
+        this.governor = governor;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * Səhifənin HTML-ni yüklə
+     */
+    public String fetch(String url) throws IOException {
+        NavigationEvent event = new NavigationEvent();
+        event.begin();
+        event.url = url;
+        event.backend = "http";
+
+        HtmlPageCache readCache = getReadCache();
+        if (readCache != null) {
+            String cached = readCache.get(url);
+            if (cached != null) {
+                logger.debug("Səhifə cache-dən oxundu: {}", url);
+                event.cached = true;
+                event.outcome = FetchGovernor.Outcome.SUCCESS.name();
+                event.commit();
+                return cached;
+            }
+            if (readCache.isOffline()) {
+                throw new IOException("Offline rejim: səhifə cache-də yoxdur: " + url);
+            }
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .header("User-Agent", WebDriverFactory.USER_AGENT)
+                .header("Accept", "text/html,application/xhtml+xml")
+                .header("Accept-Language", "az,en;q=0.8")
+                .GET()
+                .build();
+
+        long start = governor != null ? acquire(url) : 0;
+        FetchGovernor.Outcome outcome = FetchGovernor.Outcome.ERROR;
+
+        try {
+            HttpResponse<String> response = client.send(
+                    request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+
+            int status = response.statusCode();
+            // 404 və s. saytın yüklənməsi ilə bağlı deyil, tempə təsir etmir
+            outcome = status == 429 || status >= 500 ? FetchGovernor.Outcome.ERROR : FetchGovernor.Outcome.SUCCESS;
+
+            if (status >= 400) {
+                throw new IOException("HTTP " + status + ": " + url);
+            }
+
+            logger.debug("Səhifə yükləndi: {} ({} simvol)", url, response.body().length());
+            if (cache != null) {
+                cache.put(url, response.body());
+            }
+            return response.body();
+
+        } catch (HttpTimeoutException e) {
+            outcome = FetchGovernor.Outcome.TIMEOUT;
+            throw e;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Yükləmə dayandırıldı: " + url, e);
+
+        } finally {
+            if (governor != null) {
+                governor.release(start, outcome);
+            }
+            event.outcome = outcome.name();
+            event.commit();
+        }
+    }
+
+    private long acquire(String url) throws IOException {
+        try {
+            return governor.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Yükləmə dayandırıldı: " + url, e);
+        }
+    }
+
+    /**
+     * Oxunacaq cache: offline rejimdə və ya readCacheOnline ilə (əks halda null - cache yalnız yazılır)
+     */
+    public HtmlPageCache getReadCache() {
+        return cache != null && (cache.isOffline() || readCacheOnline) ? cache : null;
+    }
+}
@@ -0,0 +1,398 @@
+package com.ecommerce.scraper.utils;
+
+import com.ecommerce.scraper.mapper.DatabaseOutput;
+import com.ecommerce.scraper.model.db.BrandEntity;
+import com.ecommerce.scraper.model.db.ProductEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Database entity-lərini JSON-suz, birbaşa JDBC ilə cədvəllərə yazır.
+ *
+ * Sətirlər cədvəl üzrə buffer-də toplanır. Hər rowsPerStatement sətir bir multi-row upsert
+ * (PostgreSQL: INSERT ... ON CONFLICT, MySQL: ON DUPLICATE KEY, H2: MERGE ... KEY) kimi
+ * PreparedStatement-ə bağlanıb addBatch() olunur, batchSize sətirdən bir executeBatch() çağırılır.
+ * Uşaq cədvəl yazılmazdan əvvəl valideyn cədvəllərin gözləyən sətirləri yazılır (foreign key sırası).
+ *
+ * commitPage() bir transaction-ı bağlayır: bir siyahı səhifəsinin bütün məhsulları birlikdə
+ * commit və ya rollback olunur.
+ *
+ * Mapper brendi yalnız ilk dəfə göndərir. Həmin səhifə rollback olunsa, sonrakı səhifələr
+ * brands foreign key-ni pozmasın deyə, commit olunmamış brend hər səhifədə yenidən upsert olunur.
+ */
+public class JdbcBatchLoader implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcBatchLoader.class);
+
+    private static final String SCHEMA_RESOURCE = "/db/schema.sql";
+
+    private final Connection connection;
+    private final Dialect dialect;
+    private final int batchSize;
+    private final int rowsPerStatement;
+    private final List<TableBatch> tables = new ArrayList<>();
+
+    // Görülmüş bütün brendlər, commit olunmuş və cari səhifəyə əlavə olunmuş brend ID-ləri
+    private final Map<Long, BrandEntity> knownBrands = new HashMap<>();
+    private final Set<Long> committedBrandIds = new HashSet<>();
+    private final Set<Long> pageBrandIds = new HashSet<>();
+
+    private int pageCount;
+    private int failedPageCount;
+
+    // Səhifənin bir hissəsi uğursuz olubsa qalan məhsulları da atılır (səhifə bütöv rollback olunur)
+    private boolean pageFailed;
+
+    public JdbcBatchLoader(Connection connection, int batchSize, int rowsPerStatement) throws SQLException {
+        this.connection = connection;
+        this.dialect = Dialect.detect(connection.getMetaData().getDatabaseProductName());
+        this.batchSize = Math.max(1, batchSize);
+        this.rowsPerStatement = Math.max(1, Math.min(rowsPerStatement, this.batchSize));
+
+        connection.setAutoCommit(false);
+
+        for (EntityTable<?> table : EntityTable.ALL) {
+            tables.add(new TableBatch(table));
+        }
+    }
+
+    /**
+     * JDBC URL ilə bağlan (driver classpath-də olmalıdır)
+     */
+    public static JdbcBatchLoader connect(String url, String user, String password,
+                                          int batchSize, int rowsPerStatement) throws SQLException {
+        JdbcBatchLoader loader = new JdbcBatchLoader(DriverManager.getConnection(url, user, password),
+                batchSize, rowsPerStatement);
+        logger.info("🗄️ JDBC loader: {} ({}), batch {} sətir, statement-də {} sətir",
+                url, loader.dialect, loader.batchSize, loader.rowsPerStatement);
+        return loader;
+    }
+
+    /**
+     * db/schema.sql cədvəllərini yarat (CREATE TABLE IF NOT EXISTS)
+     */
+    public synchronized void createSchema() throws SQLException, IOException {
+        String script;
+        try (InputStream in = JdbcBatchLoader.class.getResourceAsStream(SCHEMA_RESOURCE)) {
+            if (in == null) {
+                throw new IOException("Schema tapılmadı: " + SCHEMA_RESOURCE);
+            }
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : script.split(";")) {
+                String body = sql.lines()
+                        .filter(line -> !line.trim().startsWith("--"))
+                        .collect(Collectors.joining("\n"))
+                        .trim();
+                if (!body.isEmpty()) {
+                    statement.execute(body);
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    /**
+     * Entity-ləri cari transaction-a əlavə et (batchSize dolduqca bazaya göndərilir)
+     */
+    public synchronized void append(DatabaseOutput entities) throws SQLException {
+        for (BrandEntity brand : entities.getBrands()) {
+            knownBrands.put(brand.getId(), brand);
+        }
+        if (pageFailed) {
+            return;
+        }
+
+        DatabaseOutput page = withReferencedBrands(entities);
+
+        try {
+            for (int i = 0; i < tables.size(); i++) {
+                TableBatch table = tables.get(i);
+
+                for (Object[] row : table.table.rows(page)) {
+                    table.pending.add(row);
+
+                    if (table.pending.size() >= rowsPerStatement) {
+                        table.addStatement();
+                    }
+                    if (table.batchedRows >= batchSize) {
+                        executeThrough(i);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            rollback();
+            throw e;
+        }
+    }
+
+    /**
+     * Gözləyən bütün sətirləri yaz və transaction-ı commit et.
+     * Xəta olduqda səhifənin bütün sətirləri rollback olunur.
+     */
+    public synchronized void commitPage() throws SQLException {
+        if (pageFailed) {
+            pageFailed = false;
+            return;
+        }
+
+        try {
+            executeThrough(tables.size() - 1);
+            connection.commit();
+            tables.forEach(TableBatch::committed);
+            committedBrandIds.addAll(pageBrandIds);
+            pageBrandIds.clear();
+            pageCount++;
+        } catch (SQLException e) {
+            rollback();
+            pageFailed = false;
+            throw e;
+        }
+    }
+
+    /**
+     * Commit olunmuş sətir sayı (cədvəl adı ilə)
+     */
+    public synchronized Map<String, Integer> getRowCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (TableBatch table : tables) {
+            counts.put(table.table.getName(), table.committedRows);
+        }
+        return counts;
+    }
+
+    public synchronized int getPageCount() {
+        return pageCount;
+    }
+
+    public synchronized int getFailedPageCount() {
+        return failedPageCount;
+    }
+
+    /**
+     * Məhsulların istinad etdiyi, hələ commit olunmamış brendləri səhifəyə əlavə et
+     * (giriş obyekti dəyişmir, digər output-lar onu paylaşır)
+     */
+    private DatabaseOutput withReferencedBrands(DatabaseOutput entities) {
+        DatabaseOutput page = new DatabaseOutput();
+        page.setProducts(entities.getProducts());
+        page.setProductVariants(entities.getProductVariants());
+        page.setProductAttributes(entities.getProductAttributes());
+
+        for (BrandEntity brand : entities.getBrands()) {
+            if (pageBrandIds.add(brand.getId())) {
+                page.addBrand(brand);
+            }
+        }
+        for (ProductEntity product : entities.getProducts()) {
+            Long brandId = product.getBrandId();
+            if (brandId == null || committedBrandIds.contains(brandId) || !knownBrands.containsKey(brandId)) {
+                continue;
+            }
+            if (pageBrandIds.add(brandId)) {
+                page.addBrand(knownBrands.get(brandId));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * 0..tableIndex cədvəllərinin gözləyən sətirlərini sıra ilə bazaya göndər
+     */
+    private void executeThrough(int tableIndex) throws SQLException {
+        for (int i = 0; i <= tableIndex; i++) {
+            tables.get(i).execute();
+        }
+    }
+
+    private void rollback() {
+        failedPageCount++;
+        pageFailed = true;
+        pageBrandIds.clear();
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            logger.error("Rollback xətası: {}", e.getMessage());
+        }
+        tables.forEach(TableBatch::discard);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            commitPage();
+        } catch (SQLException e) {
+            logger.error("❌ Son səhifə bazaya yazılmadı: {}", e.getMessage());
+        }
+
+        try {
+            for (TableBatch table : tables) {
+                table.closeStatement();
+            }
+            connection.close();
+        } catch (SQLException e) {
+            throw new IOException("JDBC bağlantısı bağlanmadı: " + e.getMessage(), e);
+        }
+
+        logger.info("✅ Bazaya yazıldı: {} səhifə ({} uğursuz), sətirlər {}",
+                pageCount, failedPageCount, getRowCounts());
+    }
+
+    /**
+     * Bir cədvəlin buffer-i və hazır multi-row statement-i
+     */
+    private class TableBatch {
+        final EntityTable<?> table;
+        final List<Object[]> pending = new ArrayList<>();
+        PreparedStatement fullStatement;
+        int batchedRows;
+        int uncommittedRows;
+        int committedRows;
+
+        TableBatch(EntityTable<?> table) {
+            this.table = table;
+        }
+
+        /**
+         * rowsPerStatement sətri bir upsert statement-ə bağla və batch-ə əlavə et
+         */
+        void addStatement() throws SQLException {
+            if (fullStatement == null) {
+                fullStatement = connection.prepareStatement(dialect.upsertSql(table, rowsPerStatement));
+            }
+            bind(fullStatement, pending);
+            fullStatement.addBatch();
+            batchedRows += pending.size();
+            pending.clear();
+        }
+
+        /**
+         * Batch-i və natamam qalığı bazaya göndər
+         */
+        void execute() throws SQLException {
+            if (batchedRows > 0) {
+                fullStatement.executeBatch();
+                uncommittedRows += batchedRows;
+                batchedRows = 0;
+            }
+
+            if (!pending.isEmpty()) {
+                try (PreparedStatement remainder = connection.prepareStatement(dialect.upsertSql(table, pending.size()))) {
+                    bind(remainder, pending);
+                    remainder.executeUpdate();
+                }
+                uncommittedRows += pending.size();
+                pending.clear();
+            }
+        }
+
+        void committed() {
+            committedRows += uncommittedRows;
+            uncommittedRows = 0;
+        }
+
+        void discard() {
+            pending.clear();
+            batchedRows = 0;
+            uncommittedRows = 0;
+            if (fullStatement != null) {
+                try {
+                    fullStatement.clearBatch();
+                } catch (SQLException e) {
+                    logger.debug("clearBatch xətası: {}", e.getMessage());
+                }
+            }
+        }
+
+        void closeStatement() throws SQLException {
+            if (fullStatement != null) {
+                fullStatement.close();
+            }
+        }
+
+        private void bind(PreparedStatement statement, List<Object[]> rows) throws SQLException {
+            int columnCount = table.getColumns().size();
+            int index = 1;
+
+            for (Object[] row : rows) {
+                for (int c = 0; c < columnCount; c++) {
+                    Object value = row[c];
+                    if (value == null) {
+                        statement.setNull(index++, table.getColumns().get(c).sqlType);
+                    } else if (value instanceof LocalDateTime) {
+                        statement.setTimestamp(index++, Timestamp.valueOf((LocalDateTime) value));
+                    } else {
+                        statement.setObject(index++, value);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Upsert sintaksisi (konflikt açarı: id)
+     */
+    enum Dialect {
+        POSTGRESQL, MYSQL, H2;
+
+        static Dialect detect(String productName) {
+            String name = productName.toLowerCase(Locale.ROOT);
+            if (name.contains("postgresql")) {
+                return POSTGRESQL;
+            }
+            if (name.contains("mysql") || name.contains("mariadb")) {
+                return MYSQL;
+            }
+            if (name.contains("h2")) {
+                return H2;
+            }
+            throw new IllegalArgumentException("Dəstəklənməyən baza: " + productName);
+        }
+
+        String upsertSql(EntityTable<?> table, int rowCount) {
+            List<String> columns = table.getColumns().stream().map(column -> column.name).toList();
+            String columnList = String.join(", ", columns);
+            String rowPlaceholders = "(" + String.join(", ", columns.stream().map(c -> "?").toList()) + ")";
+            String values = String.join(", ", Collections.nCopies(rowCount, rowPlaceholders));
+            List<String> updated = columns.stream().filter(c -> !c.equals("id") && !c.equals("created_at")).toList();
+
+            switch (this) {
+                case POSTGRESQL:
+                    return "INSERT INTO " + table.getName() + " (" + columnList + ") VALUES " + values
+                            + " ON CONFLICT (id) DO UPDATE SET "
+                            + updated.stream().map(c -> c + " = EXCLUDED." + c).collect(Collectors.joining(", "));
+                case MYSQL:
+                    return "INSERT INTO " + table.getName() + " (" + columnList + ") VALUES " + values
+                            + " ON DUPLICATE KEY UPDATE "
+                            + updated.stream().map(c -> c + " = VALUES(" + c + ")").collect(Collectors.joining(", "));
+                default:
+                    // H2 MERGE bütün sütunları yeniləyir, created_at da daxil
+                    return "MERGE INTO " + table.getName() + " (" + columnList + ") KEY (id) VALUES " + values;
+            }
+        }
+    }
+}
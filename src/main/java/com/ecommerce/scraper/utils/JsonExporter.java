@@ -2,6 +2,9 @@ package com.ecommerce.scraper.utils;
 
 import com.ecommerce.scraper.mapper.DatabaseOutput;
 import com.ecommerce.scraper.model.Product;
+import com.ecommerce.scraper.model.db.ProductVariantEntity;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -9,10 +12,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 public class JsonExporter {
 
@@ -20,32 +25,78 @@ public class JsonExporter {
     private final ObjectMapper objectMapper;
     private final ObjectMapper databaseObjectMapper;
 
+    private final boolean compact;
+    private final OutputFormat format;
+    private final Compression compression;
+
     public JsonExporter() {
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        this(false);
+    }
+
+    public JsonExporter(boolean compact) {
+        this(compact, OutputFormat.JSON);
+    }
+
+    /**
+     * compact=true - indent-siz, bir sətirlik JSON (production üçün).
+     * NDJSON formatı həmişə compact-dır.
+     */
+    public JsonExporter(boolean compact, OutputFormat format) {
+        this(compact, format, Compression.NONE);
+    }
+
+    /**
+     * format=SMILE/CBOR - binary output (compact nəzərə alınmır), compression=GZIP - ".gz" fayllar
+     */
+    public JsonExporter(boolean compact, OutputFormat format, Compression compression) {
+        this.compact = compact;
+        this.format = format;
+        this.compression = compression;
+
+        boolean indent = !compact && !format.isBinary();
+
+        this.objectMapper = new ObjectMapper(format.createFactory());
+        if (indent) {
+            this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        }
 
         // Configure ObjectMapper for database output with LocalDateTime support
-        this.databaseObjectMapper = new ObjectMapper();
+        this.databaseObjectMapper = new ObjectMapper(format.createFactory());
         this.databaseObjectMapper.registerModule(new JavaTimeModule());
         this.databaseObjectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        this.databaseObjectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        if (indent) {
+            this.databaseObjectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        }
+    }
+
+    public boolean isCompact() {
+        return compact;
+    }
+
+    public OutputFormat getFormat() {
+        return format;
+    }
+
+    public Compression getCompression() {
+        return compression;
+    }
+
+    /**
+     * Output fayllarının uzantısı, məs. "json", "ndjson.gz", "smile"
+     */
+    public String getExtension() {
+        return format.getExtension() + compression.getSuffix();
     }
 
     /**
      * Məhsulları JSON fayla yaz
      */
     public void exportToJson(List<Product> products, String outputPath) {
-        try {
-            File outputFile = new File(outputPath);
-
-            // Parent directory yarat
-            File parentDir = outputFile.getParentFile();
-            if (parentDir != null && !parentDir.exists()) {
-                parentDir.mkdirs();
+        try (ProductJsonStreamWriter writer = openProductStream(outputPath)) {
+            for (Product product : products) {
+                writer.append(product);
             }
 
-            objectMapper.writeValue(outputFile, products);
-
             logger.info("✅ {} ədəd məhsul JSON-a yazıldı: {}",
                     products.size(), outputPath);
 
@@ -54,6 +105,48 @@ public class JsonExporter {
         }
     }
 
+    /**
+     * Məhsullar üçün streaming writer aç (append / close)
+     */
+    public ProductJsonStreamWriter openProductStream(String outputPath) throws IOException {
+        return new ProductJsonStreamWriter(objectMapper, prepareOutputFile(outputPath), format, compression);
+    }
+
+    /**
+     * Database entity-ləri üçün streaming writer aç (append / close)
+     */
+    public DatabaseJsonStreamWriter openDatabaseStream(String outputPath) throws IOException {
+        return new DatabaseJsonStreamWriter(databaseObjectMapper, prepareOutputFile(outputPath), format, compression);
+    }
+
+    /**
+     * Qiymət dəyişiklikləri üçün streaming writer aç (ProductVariantEntity)
+     */
+    public JsonStreamWriter<ProductVariantEntity> openVariantStream(String outputPath) throws IOException {
+        return new JsonStreamWriter<>(databaseObjectMapper, prepareOutputFile(outputPath), format, compression);
+    }
+
+    /**
+     * Database entity-ləri üçün bulk-load writer aç (hər cədvələ CSV / COPY faylı)
+     */
+    public BulkLoadWriter openBulkStream(String outputBase, BulkFormat bulkFormat) throws IOException {
+        return new BulkLoadWriter(prepareOutputFile(outputBase), bulkFormat);
+    }
+
+    /**
+     * Parent directory yarat və File qaytar
+     */
+    private static File prepareOutputFile(String outputPath) {
+        File outputFile = new File(outputPath);
+
+        File parentDir = outputFile.getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+
+        return outputFile;
+    }
+
     /**
      * Timestamp ilə fayl adı yarat
      */
@@ -66,16 +159,15 @@ public class JsonExporter {
      * Export database output to JSON file
      */
     public void exportDatabaseOutput(DatabaseOutput dbOutput, String outputPath) {
-        try {
-            File outputFile = new File(outputPath);
+        if (format.isLineDelimited()) {
+            exportDatabaseOutputLines(dbOutput, outputPath);
+            return;
+        }
 
-            // Parent directory yarat
-            File parentDir = outputFile.getParentFile();
-            if (parentDir != null && !parentDir.exists()) {
-                parentDir.mkdirs();
-            }
+        try (JsonGenerator generator = databaseObjectMapper.createGenerator(
+                compression.wrap(new FileOutputStream(prepareOutputFile(outputPath))), JsonEncoding.UTF8)) {
 
-            databaseObjectMapper.writeValue(outputFile, dbOutput);
+            generator.writeObject(dbOutput);
 
             logger.info("✅ Database output yazıldı: {} (Brands: {}, Products: {}, Variants: {}, Attributes: {})",
                     outputPath,
@@ -89,12 +181,52 @@ public class JsonExporter {
         }
     }
 
+    /**
+     * NDJSON: hər entity növü üçün ayrıca fayl
+     */
+    private void exportDatabaseOutputLines(DatabaseOutput dbOutput, String outputPath) {
+        try (DatabaseJsonStreamWriter writer = openDatabaseStream(outputPath)) {
+            writer.append(dbOutput);
+
+            logger.info("✅ Database output yazıldı: {} (Brands: {}, Products: {}, Variants: {}, Attributes: {})",
+                    writer.getPaths(),
+                    dbOutput.getBrands().size(),
+                    dbOutput.getProducts().size(),
+                    dbOutput.getProductVariants().size(),
+                    dbOutput.getProductAttributes().size());
+
+        } catch (IOException e) {
+            logger.error("Database NDJSON fayllarına yazma xətası: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Delta run-da silinmiş entity ID-lərini yaz (həmişə tək JSON obyekt)
+     */
+    public void exportDeletes(Map<String, List<Long>> deletes, String outputPath) {
+        try {
+            ObjectMapper deletesMapper = format.isBinary() ? new ObjectMapper() : databaseObjectMapper;
+            deletesMapper.writeValue(prepareOutputFile(outputPath), deletes);
+
+            logger.info("✅ Silinmələr yazıldı: {} (Brands: {}, Products: {}, Variants: {}, Attributes: {})",
+                    outputPath,
+                    deletes.get("brands").size(),
+                    deletes.get("products").size(),
+                    deletes.get("product_variants").size(),
+                    deletes.get("product_attributes").size());
+
+        } catch (IOException e) {
+            logger.error("Silinmə faylına yazma xətası: {}", e.getMessage(), e);
+        }
+    }
+
     /**
      * Tək məhsulu JSON-a çevir (debug üçün)
      */
     public String toJsonString(Product product) {
         try {
-            return objectMapper.writeValueAsString(product);
+            ObjectMapper textMapper = format.isBinary() ? new ObjectMapper() : objectMapper;
+            return textMapper.writeValueAsString(product);
         } catch (IOException e) {
             logger.error("JSON string-ə çevirmə xətası: {}", e.getMessage());
             return "{}";
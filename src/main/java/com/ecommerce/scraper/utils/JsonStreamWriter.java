@@ -0,0 +1,80 @@
+package com.ecommerce.scraper.utils;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Obyektləri JSON array-ə (və ya NDJSON-da hər sətrə bir) bir-bir yazır,
+ * bütün siyahını yaddaşda saxlamadan. Smile / CBOR-da array binary yazılır,
+ * gzip-də fayl stream-i sıxılır.
+ *
+ * Hər append()-dən sonra flush olunur ki, proses yarımçıq dayansa belə
+ * yazılmış obyektlər faylda qalsın.
+ */
+public class JsonStreamWriter<T> implements Closeable {
+
+    private final JsonGenerator generator;
+    private final OutputFormat format;
+    private final File outputFile;
+    private int count;
+
+    JsonStreamWriter(ObjectMapper objectMapper, File outputFile, OutputFormat format,
+                     Compression compression) throws IOException {
+        this.format = format;
+        this.outputFile = outputFile;
+
+        OutputStream out = compression.wrap(new FileOutputStream(outputFile));
+
+        if (format.isLineDelimited()) {
+            // Hər obyekt bir sətir - indent olmadan
+            ObjectMapper lineMapper = objectMapper.copy().disable(SerializationFeature.INDENT_OUTPUT);
+            this.generator = lineMapper.createGenerator(out, JsonEncoding.UTF8);
+            this.generator.setRootValueSeparator(null);
+        } else {
+            this.generator = objectMapper.createGenerator(out, JsonEncoding.UTF8);
+            this.generator.writeStartArray();
+        }
+    }
+
+    /**
+     * Bir obyekti array-ə əlavə et
+     */
+    public synchronized void append(T value) throws IOException {
+        generator.writeObject(value);
+        if (format.isLineDelimited()) {
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        count++;
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public String getPath() {
+        return outputFile.getPath();
+    }
+
+    /**
+     * Array-i bağla və faylı yekunlaşdır
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (generator.isClosed()) {
+            return;
+        }
+        if (!format.isLineDelimited()) {
+            generator.writeEndArray();
+        }
+        generator.close();
+    }
+}
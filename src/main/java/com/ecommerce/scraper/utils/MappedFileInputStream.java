@@ -0,0 +1,87 @@
+package com.ecommerce.scraper.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Faylı memory-mapped pəncərələrlə oxuyan InputStream.
+ *
+ * Fayl heap-ə köçürülmür: baytlar page cache-dən birbaşa parser-in buffer-inə gəlir.
+ * Pəncərə bitəndə növbəti hissə map olunur, ona görə 2 GB-dan böyük fayllar da oxunur.
+ */
+class MappedFileInputStream extends InputStream {
+
+    static final long DEFAULT_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long windowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    MappedFileInputStream(File file) throws IOException {
+        this(file, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedFileInputStream(File file, long windowSize) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureWindow()) {
+            return -1;
+        }
+        return window.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!ensureWindow()) {
+            return -1;
+        }
+
+        int count = Math.min(length, window.remaining());
+        window.get(buffer, offset, count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return window != null ? window.remaining() : 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    /**
+     * Cari pəncərə bitibsə növbətisini map et; faylın sonunda false
+     */
+    private boolean ensureWindow() throws IOException {
+        if (window != null && window.hasRemaining()) {
+            return true;
+        }
+
+        long next = window != null ? windowStart + window.capacity() : 0;
+        if (next >= size) {
+            return false;
+        }
+
+        windowStart = next;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(windowSize, size - windowStart));
+        return true;
+    }
+}
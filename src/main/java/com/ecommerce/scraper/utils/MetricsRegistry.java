@@ -0,0 +1,255 @@
+package com.ecommerce.scraper.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Scrape mərhələlərinin timer-ləri (gecikmə histogramı) və counter-ləri.
+ *
+ * Thread-safe-dir: worker-lər və pipeline thread-ləri eyni instance-a yazır.
+ * Qeyd lock-suz və allocation-suzdur (ConcurrentHashMap lookup + LongAdder + sabit ölçülü
+ * histogram), hot path-də hər variant üçün çağırıla bilər. Yalnız yeni adın ilk qeydi
+ * ConcurrentHashMap-in bucket lock-unu tutur. Hesabatda timer və counter-lər ilk qeyd
+ * sırası ilə gəlir.
+ */
+public class MetricsRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    // İlk qeyd sırası (hesabat üçün), yalnız yeni ad yarananda yazılır
+    private final List<String> timerNames = new CopyOnWriteArrayList<>();
+    private final List<String> counterNames = new CopyOnWriteArrayList<>();
+
+    /**
+     * Mərhələnin bir icrasını qeyd et
+     */
+    public void record(String timer, long nanos) {
+        timerFor(timer).add(nanos);
+    }
+
+    /**
+     * startNanos-dan (System.nanoTime()) bu ana qədər keçən vaxtı qeyd et
+     */
+    public void recordSince(String timer, long startNanos) {
+        record(timer, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Counter-i 1 artır
+     */
+    public void increment(String counter) {
+        add(counter, 1);
+    }
+
+    public void add(String counter, long amount) {
+        counterFor(counter).add(amount);
+    }
+
+    /**
+     * Timer-lərin cari vəziyyəti (qeyd sırası ilə)
+     */
+    public Map<String, Timer> getTimers() {
+        Map<String, Timer> snapshot = new LinkedHashMap<>();
+        for (String name : timerNames) {
+            Timer timer = timers.get(name);
+            if (timer != null) {
+                snapshot.put(name, timer);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Counter-lərin cari dəyərləri (qeyd sırası ilə)
+     */
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (String name : counterNames) {
+            LongAdder counter = counters.get(name);
+            if (counter != null) {
+                values.put(name, counter.sum());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Timer cədvəlini (p50 / p95 / p99) və counter-ləri log et
+     */
+    public void log() {
+        Map<String, Timer> snapshot = getTimers();
+        if (!snapshot.isEmpty()) {
+            logger.info("⏱️ Mərhələlər:");
+            logger.info(String.format("  %-16s %8s %9s %9s %9s %9s %11s",
+                    "stage", "count", "p50 ms", "p95 ms", "p99 ms", "max ms", "total s"));
+            snapshot.forEach((name, timer) -> logger.info(String.format("  %-16s %8d %9.1f %9.1f %9.1f %9.1f %11.1f",
+                    name, timer.getCount(), timer.getPercentileMillis(50), timer.getPercentileMillis(95),
+                    timer.getPercentileMillis(99), timer.getMaxMillis(), timer.getTotalMillis() / 1000)));
+        }
+
+        Map<String, Long> counterValues = getCounters();
+        if (!counterValues.isEmpty()) {
+            StringBuilder line = new StringBuilder("🔢 Counter-lər:");
+            counterValues.forEach((name, value) -> line.append(' ').append(name).append('=').append(value));
+            logger.info(line.toString());
+        }
+    }
+
+    /**
+     * Timer və counter-ləri JSON hesabat kimi yaz
+     */
+    public void writeReport(Path path) throws IOException {
+        ObjectNode report = objectMapper.createObjectNode();
+        report.put("generated_at", LocalDateTime.now().toString());
+
+        ObjectNode timerNodes = report.putObject("timers");
+        getTimers().forEach((name, timer) -> {
+            ObjectNode node = timerNodes.putObject(name);
+            node.put("count", timer.getCount());
+            node.put("total_ms", timer.getTotalMillis());
+            node.put("avg_ms", timer.getAverageMillis());
+            node.put("p50_ms", timer.getPercentileMillis(50));
+            node.put("p95_ms", timer.getPercentileMillis(95));
+            node.put("p99_ms", timer.getPercentileMillis(99));
+            node.put("max_ms", timer.getMaxMillis());
+        });
+
+        ObjectNode counterNodes = report.putObject("counters");
+        getCounters().forEach(counterNodes::put);
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        objectMapper.writeValue(path.toFile(), report);
+        logger.info("📈 Metrics hesabatı yazıldı: {}", path);
+    }
+
+    private Timer timerFor(String name) {
+        Timer timer = timers.get(name);
+        if (timer != null) {
+            return timer;
+        }
+        return timers.computeIfAbsent(name, key -> {
+            timerNames.add(key);
+            return new Timer();
+        });
+    }
+
+    private LongAdder counterFor(String name) {
+        LongAdder counter = counters.get(name);
+        if (counter != null) {
+            return counter;
+        }
+        return counters.computeIfAbsent(name, key -> {
+            counterNames.add(key);
+            return new LongAdder();
+        });
+    }
+
+    /**
+     * Bir mərhələnin sayı, cəmi, maksimumu və gecikmə histogramı.
+     *
+     * Histogram mikrosaniyə ilə log-linear bucket-lardır: hər 2-nin qüvvəti 8 bərabər hissəyə
+     * bölünür, percentile xətası 12.5%-dən çox deyil.
+     */
+    public static class Timer {
+        private static final int SUB_BUCKETS = 8;
+        private static final int SUB_BITS = 3;
+        private static final int BUCKETS = (63 - SUB_BITS + 1) * SUB_BUCKETS;
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            histogram.incrementAndGet(bucketOf(Math.max(0, nanos) / 1000));
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public double getTotalMillis() {
+            return totalNanos.sum() / 1e6;
+        }
+
+        public double getAverageMillis() {
+            long n = getCount();
+            return n == 0 ? 0 : getTotalMillis() / n;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos.get() / 1e6;
+        }
+
+        /**
+         * percentile (0-100) - bucket-ın yuxarı sərhədi, maksimumdan böyük olmur
+         */
+        public double getPercentileMillis(double percentile) {
+            long total = 0;
+            long[] counts = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = histogram.get(i);
+                total += counts[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+
+            long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBoundMicros(i) / 1e3, getMaxMillis());
+                }
+            }
+            return getMaxMillis();
+        }
+
+        static int bucketOf(long micros) {
+            if (micros < SUB_BUCKETS) {
+                return (int) micros;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(micros);
+            int sub = (int) (micros >>> (exponent - SUB_BITS)) - SUB_BUCKETS;
+            return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+        }
+
+        static long upperBoundMicros(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+            int sub = bucket % SUB_BUCKETS;
+            long width = 1L << (exponent - SUB_BITS);
+            return (SUB_BUCKETS + sub) * width + width - 1;
+        }
+    }
+}
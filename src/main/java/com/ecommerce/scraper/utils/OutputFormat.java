@@ -0,0 +1,81 @@
+package com.ecommerce.scraper.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Export fayllarının formatı
+ */
+public enum OutputFormat {
+
+    /** Tək JSON sənədi (array / DatabaseOutput obyekti) */
+    JSON("json"),
+
+    /** Newline-delimited JSON: hər sətirdə bir obyekt, database üçün hər entity növünə ayrıca fayl */
+    NDJSON("ndjson"),
+
+    /** Binary JSON (Smile): JSON ilə eyni struktur, təkrarlanan açar adları back-reference ilə bir dəfə yazılır */
+    SMILE("smile"),
+
+    /** Binary JSON (CBOR, RFC 8949): JSON ilə eyni struktur */
+    CBOR("cbor");
+
+    private final String extension;
+
+    OutputFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Hər obyekt ayrıca sətir / fayl (NDJSON), əks halda tək sənəd
+     */
+    public boolean isLineDelimited() {
+        return this == NDJSON;
+    }
+
+    public boolean isBinary() {
+        return this == SMILE || this == CBOR;
+    }
+
+    /**
+     * Bu format üçün Jackson factory (ObjectMapper bununla yaradılır)
+     */
+    public JsonFactory createFactory() {
+        switch (this) {
+            case SMILE:
+                return new SmileFactory();
+            case CBOR:
+                return new CBORFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+
+    /**
+     * Property dəyərini parse et (json / ndjson / smile / cbor)
+     */
+    public static OutputFormat parse(String value, OutputFormat defaultValue) {
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        return OutputFormat.valueOf(value.trim().toUpperCase());
+    }
+
+    /**
+     * Fayl adının uzantısından formatı tap (".gz" nəzərə alınmır), tanınmırsa JSON
+     */
+    public static OutputFormat fromPath(String path) {
+        String name = Compression.stripSuffix(path);
+        for (OutputFormat format : values()) {
+            if (name.endsWith("." + format.extension)) {
+                return format;
+            }
+        }
+        return JSON;
+    }
+}
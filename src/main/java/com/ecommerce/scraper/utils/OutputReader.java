@@ -0,0 +1,106 @@
+package com.ecommerce.scraper.utils;
+
+import com.ecommerce.scraper.mapper.DatabaseOutput;
+import com.ecommerce.scraper.model.Product;
+import com.ecommerce.scraper.model.db.BrandEntity;
+import com.ecommerce.scraper.model.db.ProductAttributeEntity;
+import com.ecommerce.scraper.model.db.ProductEntity;
+import com.ecommerce.scraper.model.db.ProductVariantEntity;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * JsonExporter-in yazdığı faylları geri oxuyur (replay / test alətləri üçün).
+ *
+ * Format fayl uzantısından (.json, .ndjson, .smile, .cbor), gzip isə magic baytlardan
+ * tapılır, ona görə ".gz"-siz adlandırılmış sıxılmış fayllar da oxunur.
+ */
+public final class OutputReader {
+
+    private OutputReader() {}
+
+    /**
+     * Fayl formatı üçün mapper (LocalDateTime dəstəyi ilə, köhnə arxivlərdəki əlavə sahələr nəzərə alınmır)
+     */
+    public static ObjectMapper mapperFor(OutputFormat format) {
+        ObjectMapper mapper = new ObjectMapper(format.createFactory());
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return mapper;
+    }
+
+    /**
+     * Faylın (lazım olsa gzip-dən açılmış) məzmunu
+     */
+    public static InputStream open(File file) throws IOException {
+        return Compression.unwrap(new FileInputStream(file));
+    }
+
+    /**
+     * scraped_raw faylından məhsulları bir-bir oxu (JSON array, NDJSON, Smile, CBOR).
+     * Iterator bağlananda fayl da bağlanır.
+     */
+    public static MappingIterator<Product> openProducts(File file) throws IOException {
+        return readValues(file, Product.class);
+    }
+
+    /**
+     * scraped_raw faylının bütün məhsulları
+     */
+    public static List<Product> readProducts(File file) throws IOException {
+        try (MappingIterator<Product> products = openProducts(file)) {
+            return products.readAll();
+        }
+    }
+
+    /**
+     * database_import faylı. NDJSON-da verilən yol JsonExporter-in işlətdiyi ad olmalıdır,
+     * entity növlərinin faylları (<base>_brands.ndjson, ...) ondan tapılır.
+     */
+    public static DatabaseOutput readDatabaseOutput(File file) throws IOException {
+        OutputFormat format = OutputFormat.fromPath(file.getPath());
+        if (!format.isLineDelimited()) {
+            try (InputStream in = open(file)) {
+                return mapperFor(format).readValue(in, DatabaseOutput.class);
+            }
+        }
+
+        DatabaseOutput output = new DatabaseOutput();
+        readSection(file, "brands", BrandEntity.class, output::addBrand);
+        readSection(file, "products", ProductEntity.class, output::addProduct);
+        readSection(file, "product_variants", ProductVariantEntity.class, output::addProductVariant);
+        readSection(file, "product_attributes", ProductAttributeEntity.class, output::addProductAttribute);
+        return output;
+    }
+
+    private static <T> void readSection(File file, String name, Class<T> type, Consumer<T> sink) throws IOException {
+        String path = file.getPath();
+        boolean gzip = path.endsWith(Compression.GZIP.getSuffix());
+        String base = Compression.stripSuffix(path);
+        base = base.substring(0, base.length() - (OutputFormat.NDJSON.getExtension().length() + 1));
+
+        File sectionFile = new File(base + "_" + name + "." + OutputFormat.NDJSON.getExtension()
+                + (gzip ? Compression.GZIP.getSuffix() : ""));
+
+        try (MappingIterator<T> values = readValues(sectionFile, type)) {
+            values.forEachRemaining(sink);
+        }
+    }
+
+    /**
+     * Root array elementləri və ya ardıcıl root dəyərləri (NDJSON) üzərində iterator
+     */
+    private static <T> MappingIterator<T> readValues(File file, Class<T> type) throws IOException {
+        OutputFormat format = OutputFormat.fromPath(file.getPath());
+        return mapperFor(format).readerFor(type).readValues(open(file));
+    }
+}
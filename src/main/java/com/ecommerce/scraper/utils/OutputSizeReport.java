@@ -0,0 +1,160 @@
+package com.ecommerce.scraper.utils;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Run-ın output faylını bütün format / sıxılma variantlarında yenidən kodlayıb
+ * ölçü və yazma vaxtını müqayisə edir (run sonunda log cədvəli).
+ *
+ * Fayl token-token oxunur və baytlar yalnız sayılır, ona görə yaddaş fayl ölçüsündən asılı deyil.
+ * Yazma vaxtı = kodlama keçidinin vaxtı - eyni faylın yalnız oxunma vaxtı.
+ */
+public final class OutputSizeReport {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutputSizeReport.class);
+
+    private OutputSizeReport() {}
+
+    /**
+     * Bir variantın nəticəsi
+     */
+    public static final class Row {
+        private final String name;
+        private final long bytes;
+        private final long writeNanos;
+
+        Row(String name, long bytes, long writeNanos) {
+            this.name = name;
+            this.bytes = bytes;
+            this.writeNanos = writeNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getWriteNanos() {
+            return writeNanos;
+        }
+    }
+
+    /**
+     * Faylı json (pretty və compact), smile, cbor - hər biri sıxılmamış və gzip - kimi kodla
+     */
+    public static List<Row> measure(File source) throws IOException {
+        OutputFormat sourceFormat = OutputFormat.fromPath(source.getPath());
+        JsonFactory sourceFactory = sourceFormat.createFactory();
+        long readNanos = copy(sourceFactory, source, null);
+
+        List<Row> rows = new ArrayList<>();
+        for (OutputFormat format : List.of(OutputFormat.JSON, OutputFormat.SMILE, OutputFormat.CBOR)) {
+            for (Compression compression : Compression.values()) {
+                boolean pretty = format == OutputFormat.JSON && compression == Compression.NONE;
+                if (pretty) {
+                    rows.add(encode(sourceFactory, source, format, compression, true, readNanos));
+                }
+                rows.add(encode(sourceFactory, source, format, compression, false, readNanos));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Faylların müqayisə cədvəlini log-a yaz (xəta run-ı dayandırmır)
+     */
+    public static void log(List<String> paths) {
+        for (String path : paths) {
+            File file = new File(path);
+            if (!file.exists() || file.length() == 0) {
+                continue;
+            }
+
+            try {
+                List<Row> rows = measure(file);
+                long baseline = rows.get(0).bytes;
+
+                logger.info("📦 {} ({}) - format müqayisəsi:", path, formatBytes(file.length()));
+                for (Row row : rows) {
+                    logger.info(String.format("   %-12s %10s  %5.1f%%  %6.1f ms",
+                            row.name, formatBytes(row.bytes), 100.0 * row.bytes / baseline, row.writeNanos / 1e6));
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Ölçü müqayisəsi alınmadı ({}): {}", path, e.getMessage());
+            }
+        }
+    }
+
+    private static Row encode(JsonFactory sourceFactory, File source, OutputFormat format,
+                              Compression compression, boolean pretty, long readNanos) throws IOException {
+        CountingOutputStream counter = new CountingOutputStream();
+        long nanos;
+
+        try (OutputStream out = compression.wrap(counter);
+             JsonGenerator generator = format.createFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            if (pretty) {
+                generator.useDefaultPrettyPrinter();
+            }
+            nanos = copy(sourceFactory, source, generator);
+        }
+
+        String name = format.getExtension() + (pretty ? "-pretty" : "") + compression.getSuffix();
+        return new Row(name, counter.count, Math.max(0, nanos - readNanos));
+    }
+
+    /**
+     * Faylı token-token oxu, generator verilibsə ora köçür; keçən vaxtı qaytar
+     */
+    private static long copy(JsonFactory sourceFactory, File source, JsonGenerator generator) throws IOException {
+        long start = System.nanoTime();
+
+        try (InputStream in = OutputReader.open(source);
+             JsonParser parser = sourceFactory.createParser(in)) {
+            while (parser.nextToken() != null) {
+                if (generator != null) {
+                    generator.copyCurrentEvent(parser);
+                }
+            }
+            if (generator != null) {
+                generator.flush();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static String formatBytes(long bytes) {
+        return bytes < 1024 ? bytes + " B" : String.format("%.1f KB", bytes / 1024.0);
+    }
+
+    /**
+     * Baytları yazmadan sayan stream
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.ecommerce.scraper.utils;
+
+import com.ecommerce.scraper.model.Product;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * scraped_raw arxivlərindən məhsulları bir-bir oxuyur (bir və ya bir neçə fayl ardıcıl).
+ *
+ * Fayllar memory-mapped oxunur (MappedFileInputStream) və Jackson streaming parser ilə
+ * məhsul-məhsul deserializə olunur, ona görə heap-də eyni anda yalnız bir məhsul olur.
+ * Bütün OutputReader formatları dəstəklənir: JSON array, NDJSON, Smile, CBOR, gzip.
+ */
+public class ProductArchiveReader implements Iterator<Product>, Closeable {
+
+    private static final String ARCHIVE_PREFIX = "scraped_raw_";
+
+    private final List<File> archives;
+    private final Map<OutputFormat, ObjectReader> readers = new EnumMap<>(OutputFormat.class);
+    private int nextArchive;
+    private File currentFile;
+    private MappingIterator<Product> current;
+    private long count;
+
+    public ProductArchiveReader(List<File> archives) {
+        this.archives = new ArrayList<>(archives);
+    }
+
+    /**
+     * Fayl və qovluq yollarından arxiv siyahısı: qovluqdakı scraped_raw_* faylları ad sırası ilə
+     */
+    public static List<File> findArchives(List<String> paths) {
+        List<File> archives = new ArrayList<>();
+        for (String path : paths) {
+            File file = new File(path);
+            if (file.isDirectory()) {
+                File[] found = file.listFiles((dir, name) -> name.startsWith(ARCHIVE_PREFIX));
+                if (found != null) {
+                    Arrays.sort(found);
+                    archives.addAll(Arrays.asList(found));
+                }
+            } else if (file.exists()) {
+                archives.add(file);
+            }
+        }
+        return archives;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (current == null || !current.hasNextValue()) {
+                if (!openNextArchive()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Arxiv oxuma xətası: " + currentFile, e);
+        }
+    }
+
+    @Override
+    public Product next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        try {
+            count++;
+            return current.nextValue();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Arxiv oxuma xətası: " + currentFile, e);
+        }
+    }
+
+    /**
+     * Sonuncu next()-in gəldiyi fayl
+     */
+    public File getCurrentFile() {
+        return currentFile;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+        nextArchive = archives.size();
+    }
+
+    private boolean openNextArchive() throws IOException {
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+        if (nextArchive >= archives.size()) {
+            return false;
+        }
+
+        currentFile = archives.get(nextArchive++);
+        OutputFormat format = OutputFormat.fromPath(currentFile.getPath());
+
+        // readValues(InputStream) root array-i açır, NDJSON / binary ardıcıllıqlarını da oxuyur
+        current = readers.computeIfAbsent(format, f -> OutputReader.mapperFor(f).readerFor(Product.class))
+                .readValues(Compression.unwrap(new MappedFileInputStream(currentFile)));
+        return true;
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.scraper.utils;
+
+import com.ecommerce.scraper.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * scraped_raw faylı üçün məhsul writer-i
+ */
+public class ProductJsonStreamWriter extends JsonStreamWriter<Product> {
+
+    ProductJsonStreamWriter(ObjectMapper objectMapper, File outputFile, OutputFormat format,
+                            Compression compression) throws IOException {
+        super(objectMapper, outputFile, format, compression);
+    }
+}
@@ -1,24 +1,91 @@
 package com.ecommerce.scraper.utils;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.ecommerce.scraper.jfr.JfrWebDriverListener;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.SessionNotCreatedException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 public class WebDriverFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(WebDriverFactory.class);
 
+    // Browser və HTTP backend eyni user agent ilə görünür
+    public static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) " +
+            "AppleWebKit/537.36 (KHTML, like Gecko) " +
+            "Chrome/120.0.0.0 Safari/537.36";
+
+    public static final Duration PAGE_LOAD_TIMEOUT = Duration.ofSeconds(30);
+
+    // LEAN profildə Network.setBlockedURLs ilə bloklanan URL-lər.
+    // Stylesheet-lər bloklanmır: görünmə (innerText, getClientRects) CSS-dən asılıdır.
+    public static final List<String> LEAN_BLOCKED_URLS = List.of(
+            // Şəkillər və media
+            "*.png*", "*.jpg*", "*.jpeg*", "*.gif*", "*.webp*", "*.avif*", "*.svg*", "*.ico*",
+            "*.mp4*", "*.webm*",
+            // Şriftlər
+            "*.woff*", "*.woff2*", "*.ttf*", "*.otf*", "*.eot*",
+            // Reklam və analitika
+            "*google-analytics.com*", "*googletagmanager.com*", "*googlesyndication.com*",
+            "*doubleclick.net*", "*adservice.google.*", "*facebook.net*", "*connect.facebook.*",
+            "*mc.yandex.ru*", "*hotjar.com*", "*clarity.ms*", "*/analytics.js*", "*/gtm.js*"
+    );
+
+    // ChromeDriver binary-si bir dəfə müəyyən edilir, hər driver üçün WebDriverManager çağırılmır
+    private static volatile DriverResolver driverResolver = DriverResolver.defaults();
+
+    // true - hər WebDriver əmri JFR WebDriverCommandEvent kimi qeyd olunur
+    private static volatile boolean commandEvents = true;
+
+    /**
+     * Driver binary-sinin necə tapılacağını təyin et (pin, cache qovluğu, offline)
+     */
+    public static void setDriverResolver(DriverResolver resolver) {
+        driverResolver = resolver;
+    }
+
+    /**
+     * Yeni driver-lər JfrWebDriverListener ilə əhatə olunsun (default: true)
+     */
+    public static void setCommandEvents(boolean enabled) {
+        commandEvents = enabled;
+    }
+
     /**
      * ChromeDriver yaradır (Selenium 4)
      */
     public static WebDriver createChromeDriver(boolean headless) {
-        logger.info("ChromeDriver yaradılır... (Headless: {})", headless);
+        return createChromeDriver(headless, BrowserProfile.DEFAULT);
+    }
 
-        // WebDriverManager - ChromeDriver avtomatik yüklənir
-        WebDriverManager.chromedriver().setup();
+    /**
+     * Verilən profillə ChromeDriver yaradır
+     */
+    public static WebDriver createChromeDriver(boolean headless, BrowserProfile profile) {
+        return createChromeDriver(headless, profile, null);
+    }
+
+    /**
+     * Verilən profillə ChromeDriver yaradır. userDataDir verilibsə Chrome profili
+     * (disk cache, cookie-lər) həmin qovluqda saxlanılır və növbəti sessiyada yenidən istifadə olunur.
+     */
+    public static WebDriver createChromeDriver(boolean headless, BrowserProfile profile, Path userDataDir) {
+        logger.info("ChromeDriver yaradılır... (Headless: {}, Profil: {})", headless, profile);
+        long start = System.currentTimeMillis();
+
+        // Pin / cache / WebDriverManager - JVM-də bir dəfə
+        Path driverPath = driverResolver.resolve();
 
         ChromeOptions options = new ChromeOptions();
 
@@ -34,9 +101,7 @@ public class WebDriverFactory {
         options.addArguments("--disable-blink-features=AutomationControlled");
 
         // User agent
-        options.addArguments("user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) " +
-                "AppleWebKit/537.36 (KHTML, like Gecko) " +
-                "Chrome/120.0.0.0 Safari/537.36");
+        options.addArguments("user-agent=" + USER_AGENT);
 
         // Window size
         options.addArguments("--window-size=1920,1080");
@@ -45,10 +110,80 @@ public class WebDriverFactory {
         options.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
         options.setExperimentalOption("useAutomationExtension", false);
 
-        WebDriver driver = new ChromeDriver(options);
+        if (userDataDir != null) {
+            options.addArguments("--user-data-dir=" + userDataDir.toAbsolutePath());
+        }
 
-        logger.info("✅ ChromeDriver hazırdır");
+        if (profile == BrowserProfile.LEAN) {
+            applyLeanOptions(options);
+        }
+
+        WebDriver driver;
+        try {
+            driver = new ChromeDriver(options);
+        } catch (SessionNotCreatedException e) {
+            // Cache-dəki driver yenilənmiş Chrome-a uyğun gəlmir: yenidən müəyyən et və bir dəfə təkrarla
+            if (!driverResolver.invalidate(driverPath)) {
+                throw e;
+            }
+            logger.warn("⚠️ Sessiya yaradılmadı, ChromeDriver yenidən müəyyən edilir: {}",
+                    e.getMessage() != null ? e.getMessage().lines().findFirst().orElse("") : "");
+            driverResolver.resolve();
+            driver = new ChromeDriver(options);
+        }
+
+        // Asılı qalan səhifə TimeoutException verir (FetchGovernor bunu tempi azaltmaq üçün istifadə edir)
+        driver.manage().timeouts().pageLoadTimeout(PAGE_LOAD_TIMEOUT);
+
+        if (profile == BrowserProfile.LEAN) {
+            blockUrls(driver, LEAN_BLOCKED_URLS);
+        }
+
+        if (commandEvents) {
+            driver = new EventFiringDecorator<WebDriver>(new JfrWebDriverListener()).decorate(driver);
+        }
+
+        logger.info("✅ ChromeDriver hazırdır ({} ms)", System.currentTimeMillis() - start);
 
         return driver;
     }
-}
\ No newline at end of file
+
+    /**
+     * LEAN profil: DOMContentLoaded-da qayıt, şəkil / bildiriş / media icazələrini söndür
+     */
+    private static void applyLeanOptions(ChromeOptions options) {
+        // DOM hazır olan kimi driver.get() qayıdır (şəkil və iframe-lərin yüklənməsi gözlənilmir)
+        options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+
+        options.addArguments("--blink-settings=imagesEnabled=false");
+        options.addArguments("--mute-audio");
+        options.addArguments("--disable-extensions");
+        options.addArguments("--disable-background-networking");
+
+        Map<String, Object> prefs = new HashMap<>();
+        prefs.put("profile.managed_default_content_settings.images", 2);
+        prefs.put("profile.default_content_setting_values.notifications", 2);
+        prefs.put("profile.default_content_setting_values.media_stream", 2);
+        prefs.put("profile.default_content_setting_values.geolocation", 2);
+        options.setExperimentalOption("prefs", prefs);
+    }
+
+    /**
+     * CDP Network.setBlockedURLs - uyğun sorğular brauzerdən çıxmır
+     */
+    private static void blockUrls(WebDriver driver, List<String> patterns) {
+        if (!(driver instanceof HasCdp)) {
+            logger.warn("⚠️ Driver CDP dəstəkləmir, URL bloklama tətbiq olunmadı");
+            return;
+        }
+
+        try {
+            HasCdp cdp = (HasCdp) driver;
+            cdp.executeCdpCommand("Network.enable", Map.of());
+            cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", patterns));
+            logger.debug("{} URL pattern-i bloklandı", patterns.size());
+        } catch (Exception e) {
+            logger.warn("⚠️ URL bloklama tətbiq olunmadı: {}", e.getMessage());
+        }
+    }
+}
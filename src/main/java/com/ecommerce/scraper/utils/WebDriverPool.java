@@ -0,0 +1,266 @@
+package com.ecommerce.scraper.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * WebDriverFactory ilə yaradılan məhdud ölçülü ChromeDriver pool-u.
+ *
+ * Driver-lər lazım olduqda yaradılır, hər borrow zamanı yoxlanılır və
+ * recycleAfter səhifədən sonra bağlanıb yenisi ilə əvəz olunur.
+ *
+ * userDataRoot verilibsə hər slot öz Chrome profilini (userDataRoot/driver-N) istifadə edir:
+ * recycle və növbəti run-lar disk cache-i soyuq başlamır. warmUp() sessiyaları arxa planda
+ * əvvəlcədən açır; warm-up thread-i də permit götürür, ona görə pool ölçüsü aşılmır.
+ */
+public class WebDriverPool implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebDriverPool.class);
+
+    private final int size;
+    private final int recycleAfter;
+    private final boolean headless;
+    private final BrowserProfile profile;
+    private final Path userDataRoot;
+
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<WebDriver> idleDrivers = new ConcurrentLinkedDeque<>();
+    private final Map<WebDriver, AtomicInteger> pageCounts = new ConcurrentHashMap<>();
+    private final Set<WebDriver> liveDrivers = ConcurrentHashMap.newKeySet();
+    private final Map<WebDriver, Integer> driverSlots = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Integer> freeSlots = new ConcurrentLinkedQueue<>();
+
+    // create() içində olan (hələ liveDrivers-ə düşməyən) driver-lər
+    private int creating;
+
+    private volatile boolean closed;
+
+    public WebDriverPool(int size, int recycleAfter, boolean headless) {
+        this(size, recycleAfter, headless, BrowserProfile.DEFAULT);
+    }
+
+    public WebDriverPool(int size, int recycleAfter, boolean headless, BrowserProfile profile) {
+        this(size, recycleAfter, headless, profile, null);
+    }
+
+    public WebDriverPool(int size, int recycleAfter, boolean headless, BrowserProfile profile, Path userDataRoot) {
+        this.profile = profile;
+        this.userDataRoot = userDataRoot;
+        this.size = Math.max(1, size);
+        this.recycleAfter = Math.max(1, recycleAfter);
+        this.headless = headless;
+        this.permits = new Semaphore(this.size, true);
+
+        for (int slot = 0; slot < this.size; slot++) {
+            freeSlots.add(slot);
+        }
+    }
+
+    /**
+     * count driver-i arxa planda yarat və boş driver-lər siyahısına əlavə et.
+     * borrow() boş permit olmadıqda warm-up-ın bitməsini gözləyir və hazır driver-i götürür.
+     */
+    public void warmUp(int count) {
+        int target = Math.min(count, size);
+
+        for (int i = 0; i < target; i++) {
+            Thread thread = new Thread(this::warmOne, "driver-warmup-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        if (target > 0) {
+            logger.info("🔥 {} driver arxa planda açılır", target);
+        }
+    }
+
+    private void warmOne() {
+        // Bütün slotlar artıq işlədilirsə warm-up lazım deyil
+        if (closed || !permits.tryAcquire()) {
+            return;
+        }
+
+        try {
+            if (!reserveForWarmUp()) {
+                return;
+            }
+
+            WebDriver driver = createReserved();
+            if (closed) {
+                destroy(driver);
+            } else {
+                idleDrivers.offerLast(driver);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Driver warm-up alınmadı: {}", e.getMessage());
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Boş driver götür (yoxdursa yenisini yarat). Pool doludursa gözləyir.
+     */
+    public WebDriver borrow() throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("WebDriverPool bağlanıb");
+        }
+
+        permits.acquire();
+
+        try {
+            WebDriver driver;
+            while ((driver = idleDrivers.pollFirst()) != null) {
+                if (isHealthy(driver)) {
+                    return driver;
+                }
+                logger.warn("⚠️ Sağlam olmayan driver pool-dan çıxarıldı");
+                destroy(driver);
+            }
+
+            return create();
+
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Driver-i pool-a qaytar
+     */
+    public void release(WebDriver driver) {
+        release(driver, false);
+    }
+
+    /**
+     * Driver-i pool-a qaytar. broken=true olduqda driver bağlanır.
+     */
+    public void release(WebDriver driver, boolean broken) {
+        if (driver == null) {
+            return;
+        }
+
+        try {
+            AtomicInteger pages = pageCounts.get(driver);
+            int used = pages != null ? pages.incrementAndGet() : recycleAfter;
+
+            if (closed || broken) {
+                destroy(driver);
+            } else if (used >= recycleAfter) {
+                logger.debug("Driver {} səhifədən sonra yenilənir", used);
+                destroy(driver);
+            } else {
+                idleDrivers.offerFirst(driver);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Bütün driver-ləri bağla
+     */
+    @Override
+    public void close() {
+        closed = true;
+
+        for (WebDriver driver : liveDrivers) {
+            destroy(driver);
+        }
+        idleDrivers.clear();
+
+        logger.info("✅ WebDriver pool bağlandı");
+    }
+
+    /**
+     * Açıq + yaradılmaqda olan driver sayı pool ölçüsündən azdırsa yer ayır
+     */
+    private synchronized boolean reserveForWarmUp() {
+        if (liveDrivers.size() + creating >= size) {
+            return false;
+        }
+        creating++;
+        return true;
+    }
+
+    private synchronized void creationFinished(WebDriver driver) {
+        creating--;
+        if (driver != null) {
+            liveDrivers.add(driver);
+        }
+    }
+
+    private WebDriver create() {
+        synchronized (this) {
+            creating++;
+        }
+        return createReserved();
+    }
+
+    private WebDriver createReserved() {
+        Integer slot = userDataRoot != null ? freeSlots.poll() : null;
+        Path userDataDir = slot != null ? userDataRoot.resolve("driver-" + slot) : null;
+
+        WebDriver driver;
+        try {
+            driver = WebDriverFactory.createChromeDriver(headless, profile, userDataDir);
+        } catch (RuntimeException e) {
+            if (slot != null) {
+                freeSlots.add(slot);
+            }
+            creationFinished(null);
+            throw e;
+        }
+
+        if (slot != null) {
+            driverSlots.put(driver, slot);
+        }
+        pageCounts.put(driver, new AtomicInteger());
+        creationFinished(driver);
+        return driver;
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            logger.debug("Driver health-check xətası: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void destroy(WebDriver driver) {
+        pageCounts.remove(driver);
+        if (!liveDrivers.remove(driver)) {
+            return;
+        }
+
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.debug("Driver bağlanarkən xəta: {}", e.getMessage());
+        }
+
+        // Profil qovluğu quit-dən sonra sərbəstdir (Chrome eyni qovluğu iki prosesə vermir)
+        Integer slot = driverSlots.remove(driver);
+        if (slot != null) {
+            freeSlots.add(slot);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+-- Database entity cədvəlləri (PostgreSQL, H2 və MySQL ilə uyğun)
+
+CREATE TABLE IF NOT EXISTS brands (
+    id                  BIGINT PRIMARY KEY,
+    name                VARCHAR(255) NOT NULL,
+    slug                VARCHAR(255),
+    description         TEXT,
+    is_active           BOOLEAN,
+    keywords            TEXT,
+    created_at          TIMESTAMP,
+    updated_at          TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS products (
+    id                  BIGINT PRIMARY KEY,
+    name                VARCHAR(500) NOT NULL,
+    slug                VARCHAR(500),
+    description         TEXT,
+    short_description   TEXT,
+    sku                 VARCHAR(100),
+    price               DOUBLE PRECISION,
+    stock_status        VARCHAR(50),
+    brand_id            BIGINT REFERENCES brands (id),
+    external_brand_name VARCHAR(255),
+    is_featured         BOOLEAN,
+    status              VARCHAR(50),
+    visibility          VARCHAR(50),
+    meta_data           TEXT,
+    keywords            TEXT,
+    created_at          TIMESTAMP,
+    updated_at          TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS product_variants (
+    id                  BIGINT PRIMARY KEY,
+    product_id          BIGINT REFERENCES products (id),
+    variant_name        VARCHAR(255),
+    sku                 VARCHAR(100),
+    price               DOUBLE PRECISION,
+    stock_status        VARCHAR(50),
+    is_active           BOOLEAN,
+    is_default          BOOLEAN,
+    slug                VARCHAR(255),
+    keywords            TEXT,
+    created_at          TIMESTAMP,
+    updated_at          TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS product_attributes (
+    id                  BIGINT PRIMARY KEY,
+    product_id          BIGINT REFERENCES products (id),
+    variant_id          BIGINT REFERENCES product_variants (id),
+    attribute_name      VARCHAR(255),
+    attribute_value     TEXT,
+    attribute_type      VARCHAR(50),
+    attribute_unit      VARCHAR(50),
+    is_visible          BOOLEAN,
+    sort_order          INTEGER,
+    created_at          TIMESTAMP,
+    updated_at          TIMESTAMP
+);
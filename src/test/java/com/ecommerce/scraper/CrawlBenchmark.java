@@ -0,0 +1,168 @@
+package com.ecommerce.scraper;
+
+import com.ecommerce.scraper.pages.PageBackend;
+import com.ecommerce.scraper.utils.FetchGovernor;
+import com.ecommerce.scraper.utils.MetricsRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end crawl benchmark: QiymetiScraper (headless) LocalSiteServer-ə qarşı.
+ *
+ * products/min, variants/min və mərhələ gecikmələrini çap edir, nəticəni
+ * output/benchmark_results.ndjson-a əlavə edir ki, run-lar müqayisə olunsun.
+ * -Dscraper.* property-ləri (pool.size, backend, variants.mode ...) adi kimi işləyir.
+ *
+ * Arqumentlər: --pages=3 --products=28 --variant-every=2 --latency-ms=0
+ * --http-only: hər iki backend HTTP, filter-li məhsul yoxdur (Chrome lazım deyil).
+ */
+public class CrawlBenchmark {
+
+    private static final Path OUTPUT_DIR = Paths.get("output/benchmark");
+    private static final Path RESULTS_FILE = Paths.get("output/benchmark_results.ndjson");
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Running crawl benchmark...");
+
+        boolean httpOnly = hasFlag(args, "--http-only");
+        int pages = intArg(args, "--pages", 3);
+        int products = intArg(args, "--products", 28);
+        int variantEvery = httpOnly ? 0 : intArg(args, "--variant-every", 2);
+        long latencyMs = intArg(args, "--latency-ms", 0);
+
+        deleteRecursively(OUTPUT_DIR);
+
+        try (LocalSiteServer site = new LocalSiteServer(pages, products, variantEvery, latencyMs)) {
+            ScraperConfig config = ScraperConfig.fromSystemProperties(true);
+            config.setBaseUrl(site.getBaseUrl());
+            config.setOutputDir(OUTPUT_DIR.toString());
+            config.setJournalPath(OUTPUT_DIR.resolve("crawl_journal.ndjson").toString());
+            config.setSnapshotPath(OUTPUT_DIR.resolve("crawl_snapshot.ndjson").toString());
+            config.setDeltaStatePath(OUTPUT_DIR.resolve("database_state.json").toString());
+            config.setSizeReport(false);
+            if (httpOnly) {
+                config.setListBackend(PageBackend.HTTP);
+                config.setDetailBackend(PageBackend.HTTP);
+            }
+
+            System.out.println("Site: " + site.getBaseUrl() + " (" + site.getProductCount() + " products, "
+                    + site.getExpectedVariantCount() + " variants)");
+
+            QiymetiScraper scraper = new QiymetiScraper(config);
+            long start = System.nanoTime();
+            scraper.start();
+            double minutes = (System.nanoTime() - start) / 6e10;
+
+            double productsPerMinute = scraper.getProductCount() / minutes;
+            double variantsPerMinute = scraper.getVariantCount() / minutes;
+
+            System.out.println("\n=== CRAWL BENCHMARK ===");
+            System.out.println(String.format("Backend: list=%s detail=%s variants=%s browser=%s pool=%d",
+                    config.getListBackend(), config.getDetailBackend(), config.getVariantMode(),
+                    config.getBrowserProfile(), config.getPoolSize()));
+            System.out.println(String.format("Wall time: %.2f s", minutes * 60));
+            System.out.println(String.format("Products: %d / %d (%.1f/min)",
+                    scraper.getProductCount(), site.getProductCount(), productsPerMinute));
+            System.out.println(String.format("Variants: %d / %d (%.1f/min)",
+                    scraper.getVariantCount(), site.getExpectedVariantCount(), variantsPerMinute));
+
+            System.out.println(String.format("\n%-16s %8s %10s %10s %10s", "stage", "count", "avg ms", "p95 ms", "max ms"));
+            for (Map.Entry<String, MetricsRegistry.Timer> entry : scraper.getMetrics().getTimers().entrySet()) {
+                MetricsRegistry.Timer timer = entry.getValue();
+                System.out.println(String.format("%-16s %8d %10.1f %10.1f %10.1f", entry.getKey(), timer.getCount(),
+                        timer.getAverageMillis(), timer.getPercentileMillis(95), timer.getMaxMillis()));
+            }
+
+            FetchGovernor governor = scraper.getFetchGovernor();
+            System.out.println(String.format("Governor: %d requests, %d errors, %d timeouts, %.1f s waited, final %d parallel / %.1f req/s",
+                    governor.getRequests(), governor.getErrors(), governor.getTimeouts(), governor.getWaitMillis() / 1000,
+                    governor.getLimit(), governor.getRate()));
+
+            System.out.println(String.format("\n%-12s %8s %10s %10s", "server", "requests", "avg ms", "KB"));
+            for (Map.Entry<String, LocalSiteServer.RouteStats> entry : site.getStats().entrySet()) {
+                System.out.println(String.format("%-12s %8d %10.1f %10d", entry.getKey(), entry.getValue().getCount(),
+                        entry.getValue().getAverageMillis(), entry.getValue().getBytes() / 1024));
+            }
+
+            appendResult(config, site, scraper, minutes, productsPerMinute, variantsPerMinute);
+        }
+
+        System.out.println("\nBenchmark completed! Results appended to " + RESULTS_FILE);
+    }
+
+    /**
+     * Run nəticəsini bir NDJSON sətri kimi əlavə et
+     */
+    private static void appendResult(ScraperConfig config, LocalSiteServer site, QiymetiScraper scraper,
+                                     double minutes, double productsPerMinute, double variantsPerMinute)
+            throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode result = mapper.createObjectNode();
+        result.put("timestamp", LocalDateTime.now().toString());
+        result.put("list_backend", config.getListBackend().name());
+        result.put("detail_backend", config.getDetailBackend().name());
+        result.put("variant_mode", config.getVariantMode().name());
+        result.put("browser_profile", config.getBrowserProfile().name());
+        result.put("pool_size", config.getPoolSize());
+        result.put("site_products", site.getProductCount());
+        result.put("products", scraper.getProductCount());
+        result.put("variants", scraper.getVariantCount());
+        result.put("seconds", minutes * 60);
+        result.put("bytes_served", site.getTotalBytes());
+        result.put("fetch_rate", config.getFetchRate());
+        result.put("fetch_max_rate", config.getFetchMaxRate());
+        result.put("fetch_wait_seconds", scraper.getFetchGovernor().getWaitMillis() / 1000);
+        result.put("fetch_errors", scraper.getFetchGovernor().getErrors() + scraper.getFetchGovernor().getTimeouts());
+        result.put("products_per_minute", productsPerMinute);
+        result.put("variants_per_minute", variantsPerMinute);
+
+        ObjectNode stages = result.putObject("stages_avg_ms");
+        ObjectNode stagesP95 = result.putObject("stages_p95_ms");
+        scraper.getMetrics().getTimers().forEach((name, timer) -> {
+            stages.put(name, timer.getAverageMillis());
+            stagesP95.put(name, timer.getPercentileMillis(95));
+        });
+
+        Files.createDirectories(RESULTS_FILE.getParent());
+        Files.writeString(RESULTS_FILE, mapper.writeValueAsString(result) + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static boolean hasFlag(String[] args, String flag) {
+        for (String arg : args) {
+            if (arg.equals(flag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int intArg(String[] args, String name, int defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith(name + "=")) {
+                return Integer.parseInt(arg.substring(name.length() + 1));
+            }
+        }
+        return defaultValue;
+    }
+
+    private static void deleteRecursively(Path dir) throws Exception {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
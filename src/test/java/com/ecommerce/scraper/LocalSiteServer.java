@@ -0,0 +1,369 @@
+package com.ecommerce.scraper;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Qiymeti.net-in lokal əvəzi: test fixture-larını embedded HTTP server ilə verir.
+ *
+ *   /qiymetleri/telefon/, /qiymetleri/telefon/page/N/  - siyahı (pages səhifə, hər birində productsPerPage link)
+ *   /telefon/bench-P-I/                                - məhsul; hər variantEvery-ci məhsul storage×color filter-li
+ *   /filter?product=..&amp;storage=..&amp;color=..             - seçilmiş kombinasiyanın ul.price-list HTML-i
+ *   /img/*, /assets/*                                  - şəkil, şrift, CSS və analitika script-i (səhifə çəkisi)
+ *
+ * Filter-li səhifələrə saytdakı davranışı təkrarlayan kiçik script əlavə olunur: option-a klik
+ * onu seçir və qiymət siyahısını /filter cavabı ilə əvəz edir, "x" seçimi ləğv edir. Qiymətlər
+ * məhsul və kombinasiyadan deterministik hesablanır. Hər cavab latencyMs gecikdirilir.
+ * Route-lar üzrə sorğu sayı və göndərilən baytlar sayılır (bandwidth müqayisəsi üçün).
+ */
+public class LocalSiteServer implements AutoCloseable {
+
+    private static final Path FIXTURE_DIR = Paths.get("src/test/resources/fixtures");
+    private static final String LIST_PATH = "/qiymetleri/telefon/";
+
+    private static final String FILTER_SCRIPT =
+            "<script>\n" +
+            "(function () {\n" +
+            "  var product = location.pathname.split('/').filter(Boolean).pop();\n" +
+            "  function refresh() {\n" +
+            "    var q = {storage: '', color: ''};\n" +
+            "    document.querySelectorAll('div.filter span.option.selected').forEach(function (o) {\n" +
+            "      q[o.getAttribute('data-field-key') === 'color' ? 'color' : 'storage'] = o.getAttribute('data-spec-id');\n" +
+            "    });\n" +
+            "    return fetch('/filter?product=' + product + '&storage=' + q.storage + '&color=' + q.color)\n" +
+            "      .then(function (r) { return r.text(); })\n" +
+            "      .then(function (html) { document.querySelector('ul.price-list').outerHTML = html; });\n" +
+            "  }\n" +
+            "  document.querySelector('div.filter').addEventListener('click', function (e) {\n" +
+            "    var option = e.target.closest('span.option');\n" +
+            "    if (!option) { return; }\n" +
+            "    if (e.target.classList.contains('x')) {\n" +
+            "      option.className = 'option';\n" +
+            "    } else {\n" +
+            "      option.parentNode.querySelectorAll('span.option').forEach(function (o) { o.className = 'option'; });\n" +
+            "      option.className = 'option selected';\n" +
+            "    }\n" +
+            "    refresh();\n" +
+            "  });\n" +
+            "})();\n" +
+            "</script>\n";
+
+    // Real saytdakı kimi hər səhifəyə əlavə olunan resurslar
+    private static final String HEAD_ASSETS =
+            "<link rel=\"stylesheet\" href=\"/assets/site.css\">\n" +
+            "<script src=\"/assets/analytics.js\" async></script>\n";
+
+    private static final String SITE_CSS =
+            "@font-face { font-family: Site; src: url(/assets/site.woff2) format('woff2'); }\n" +
+            "body { font-family: Site, sans-serif; }\n" +
+            ".product-image { width: 320px; height: 320px; }\n";
+
+    private static final int IMAGE_BYTES = 48 * 1024;
+    private static final int FONT_BYTES = 64 * 1024;
+    private static final int SCRIPT_BYTES = 32 * 1024;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final int pages;
+    private final int productsPerPage;
+    private final int variantEvery;
+    private final long latencyMs;
+
+    private final String listTemplate;
+    private final String variantTemplate;
+    private final String singleTemplate;
+
+    private final Map<String, RouteStats> stats = new LinkedHashMap<>();
+
+    /**
+     * variantEvery=0 - heç bir məhsulda filter yoxdur (Selenium lazım deyil)
+     */
+    public LocalSiteServer(int pages, int productsPerPage, int variantEvery, long latencyMs) throws IOException {
+        this.pages = Math.max(1, pages);
+        this.productsPerPage = Math.max(1, Math.min(productsPerPage, 28));
+        this.variantEvery = Math.max(0, variantEvery);
+        this.latencyMs = Math.max(0, latencyMs);
+
+        this.listTemplate = withAssets(Files.readString(FIXTURE_DIR.resolve("list_telefon_page_1.html")));
+        this.variantTemplate = withAssets(Files.readString(FIXTURE_DIR.resolve("product_iphone_11.html")))
+                .replace("</body>", FILTER_SCRIPT + "</body>");
+        this.singleTemplate = withAssets(Files.readString(FIXTURE_DIR.resolve("product_iphone_7.html")));
+
+        for (String route : new String[]{"list", "detail", "filter", "asset"}) {
+            stats.put(route, new RouteStats());
+        }
+
+        this.executor = Executors.newFixedThreadPool(16);
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext(LIST_PATH, exchange -> handle(exchange, "list", this::listPage));
+        server.createContext("/telefon/", exchange -> handle(exchange, "detail", this::detailPage));
+        server.createContext("/filter", exchange -> handle(exchange, "filter", this::filterResponse));
+        server.createContext("/img/", this::handleAsset);
+        server.createContext("/assets/", this::handleAsset);
+        server.start();
+    }
+
+    /**
+     * Siyahının 1-ci səhifəsi (ScraperConfig.setBaseUrl üçün)
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + LIST_PATH;
+    }
+
+    public int getProductCount() {
+        return pages * productsPerPage;
+    }
+
+    /**
+     * Gözlənilən variant sayı (filter-li məhsulda 2×2, digərlərində 1)
+     */
+    public int getExpectedVariantCount() {
+        int variants = 0;
+        for (int page = 1; page <= pages; page++) {
+            for (int i = 1; i <= productsPerPage; i++) {
+                variants += hasVariants(slug(page, i)) ? 4 : 1;
+            }
+        }
+        return variants;
+    }
+
+    /**
+     * Route üzrə sorğu sayı, baytlar və server tərəfində orta cavab vaxtı
+     */
+    public Map<String, RouteStats> getStats() {
+        return stats;
+    }
+
+    /**
+     * Bütün route-lar üzrə göndərilmiş baytlar
+     */
+    public long getTotalBytes() {
+        long total = 0;
+        for (RouteStats route : stats.values()) {
+            total += route.getBytes();
+        }
+        return total;
+    }
+
+    /**
+     * Sayğacları sıfırla (müqayisəli ölçmələr arasında)
+     */
+    public void resetStats() {
+        stats.replaceAll((route, old) -> new RouteStats());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private String listPage(URI uri) {
+        String path = uri.getPath();
+        int page = 1;
+        if (path.startsWith(LIST_PATH + "page/")) {
+            page = Integer.parseInt(path.substring((LIST_PATH + "page/").length()).replace("/", ""));
+        }
+        if (page < 1 || page > pages) {
+            return null;
+        }
+
+        StringBuilder cards = new StringBuilder("<div class=\"toolbar\">Sırala</div>\n");
+        for (int i = 1; i <= productsPerPage; i++) {
+            String slug = slug(page, i);
+            cards.append("                <div class=\"product-card\">\n")
+                    .append("                    <div class=\"image\"><img src=\"/img/").append(slug).append(".jpg\" alt=\"\"></div>\n")
+                    .append("                    <div class=\"info\"><a href=\"/telefon/").append(slug).append("/\">")
+                    .append(title(slug)).append("</a></div>\n")
+                    .append("                </div>\n");
+        }
+
+        StringBuilder pagination = new StringBuilder();
+        for (int p = 1; p <= pages; p++) {
+            pagination.append(p == page
+                    ? "<span aria-current=\"page\" class=\"page-numbers current\">" + p + "</span>\n"
+                    : "<a class=\"page-numbers\" href=\"" + LIST_PATH + "page/" + p + "/\">" + p + "</a>\n");
+        }
+
+        return listTemplate
+                .replaceAll("(?s)<div class=\"toolbar\">.*?(?=\\s*</div>\\s*</div>\\s*</section>)", cards.toString())
+                .replaceAll("(?s)(<nav class=\"pagination\">).*?(</nav>)", "$1\n" + pagination + "$2");
+    }
+
+    private String detailPage(URI uri) {
+        String slug = uri.getPath().replaceAll("^/telefon/|/$", "");
+        if (!slug.matches("bench-\\d+-\\d+")) {
+            return null;
+        }
+
+        String template = hasVariants(slug) ? variantTemplate : singleTemplate;
+        return template
+                .replaceFirst("(<h2 class=\"heading\">)[^<]*", "$1" + title(slug) + " xüsusiyyətləri")
+                .replaceFirst("(<section class=\"product\">)",
+                        "$1\n<img class=\"product-image\" src=\"/img/" + slug + ".jpg\" alt=\"\">");
+    }
+
+    private String filterResponse(URI uri) {
+        Map<String, String> query = query(uri);
+        String product = query.getOrDefault("product", "");
+        String storage = query.getOrDefault("storage", "");
+        String color = query.getOrDefault("color", "");
+
+        // Məhsul və seçimdən deterministik qiymət
+        int base = 900 + Math.floorMod(product.hashCode(), 40) * 10;
+        int price = base + ("1102".equals(storage) ? 150 : 0) + ("2102".equals(color) ? 10 : 0);
+
+        return "<ul class=\"price-list\">\n"
+                + "<li class=\"price-item\" itemprop=\"offers\" itemscope itemtype=\"https://schema.org/Offer\">\n"
+                + "<meta itemprop=\"price\" content=\"" + price + ".00\">\n"
+                + "<meta itemprop=\"priceCurrency\" content=\"AZN\">\n"
+                + "<div itemprop=\"seller\" itemscope itemtype=\"https://schema.org/Organization\">"
+                + "<meta itemprop=\"name\" content=\"Umico\"></div>\n"
+                + "<span class=\"website\">birmarket.az</span>\n"
+                + "<span class=\"price\">" + price + " ₼</span>\n"
+                + "</li>\n</ul>";
+    }
+
+    private static String withAssets(String html) {
+        return html.replace("</head>", HEAD_ASSETS + "</head>");
+    }
+
+    private void handleAsset(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        String path = exchange.getRequestURI().getPath();
+        byte[] bytes;
+        String contentType;
+
+        if (path.endsWith(".css")) {
+            bytes = SITE_CSS.getBytes(StandardCharsets.UTF_8);
+            contentType = "text/css";
+        } else if (path.endsWith(".js")) {
+            bytes = ("/*" + " ".repeat(SCRIPT_BYTES) + "*/\nwindow.__analytics = true;\n").getBytes(StandardCharsets.UTF_8);
+            contentType = "application/javascript";
+        } else if (path.endsWith(".woff2")) {
+            bytes = new byte[FONT_BYTES];
+            contentType = "font/woff2";
+        } else {
+            bytes = new byte[IMAGE_BYTES];
+            contentType = "image/jpeg";
+        }
+
+        try {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } finally {
+            exchange.close();
+            stats.get("asset").add(System.nanoTime() - start, bytes.length);
+        }
+    }
+
+    private boolean hasVariants(String slug) {
+        if (variantEvery == 0) {
+            return false;
+        }
+        String[] parts = slug.split("-");
+        return Integer.parseInt(parts[2]) % variantEvery == 0;
+    }
+
+    private static String slug(int page, int index) {
+        return "bench-" + page + "-" + index;
+    }
+
+    private static String title(String slug) {
+        return "Bench Phone " + slug.substring("bench-".length());
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> query = new HashMap<>();
+        if (uri.getRawQuery() == null) {
+            return query;
+        }
+        for (String pair : uri.getRawQuery().split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                query.put(pair.substring(0, eq), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private void handle(HttpExchange exchange, String route, Handler handler) throws IOException {
+        long start = System.nanoTime();
+        long sent = 0;
+
+        try {
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+
+            String body = handler.render(exchange.getRequestURI());
+            byte[] bytes = (body != null ? body : "Not Found").getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", "text/html; charset=UTF-8");
+            exchange.sendResponseHeaders(body != null ? 200 : 404, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+            sent = bytes.length;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+            stats.get(route).add(System.nanoTime() - start, sent);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        String render(URI uri);
+    }
+
+    /**
+     * Bir route-un sorğu sayı, göndərilmiş baytları və cəmi cavab vaxtı
+     */
+    public static class RouteStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        void add(long nanos, long sentBytes) {
+            count.increment();
+            bytes.add(sentBytes);
+            totalNanos.add(nanos);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getBytes() {
+            return bytes.sum();
+        }
+
+        public double getAverageMillis() {
+            long n = getCount();
+            return n == 0 ? 0 : totalNanos.sum() / 1e6 / n;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.ecommerce.scraper;
+
+import com.ecommerce.scraper.model.Product;
+import com.ecommerce.scraper.model.ProductVariant;
+import com.ecommerce.scraper.pages.HttpProductDetailPage;
+import com.ecommerce.scraper.utils.CrawlJournal;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * VariantPriceDiff test - dəyişmiş variant açarları və incremental rejimdə snapshot-dakı
+ * spesifikasiya fingerprint-i ilə tam / yalnız qiymət scrape seçimi (brauzer lazım deyil)
+ */
+public class VariantPriceDiffTest {
+
+    private static final String FIXTURE = "src/test/resources/fixtures/product_iphone_7.html";
+    private static final String SNAPSHOT = "output/test_incremental/crawl_snapshot.ndjson";
+    private static final String URL = "https://qiymeti.net/iphone-7/";
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Testing VariantPriceDiff...");
+        int failures = 0;
+
+        // changedKeys: dəyişməyən, qiyməti dəyişən, yeni və silinmiş variantlar
+        Product previous = product(
+                variant("64 GB", "Black", "1149.00"),
+                variant("128 GB", "Black", "1249.00"),
+                variant("256 GB", "White", "1399.00"));
+        Product current = product(
+                variant("64 GB", "Black", "1149.00"),
+                variant("128 GB", "Black", "1199.00"),
+                variant("128 GB", "Red", "1249.00"));
+
+        failures += check("Changed and added keys", "[128 gb|black, 128 gb|red]",
+                sorted(VariantPriceDiff.changedKeys(previous, current)));
+        failures += check("Unchanged product", "[]",
+                sorted(VariantPriceDiff.changedKeys(previous, previous)));
+        failures += check("Removed variants only", "[]",
+                sorted(VariantPriceDiff.changedKeys(previous, product(variant("64 GB", "Black", "1149.00")))));
+        failures += check("No snapshot - all keys", "[128 gb|black, 128 gb|red, 64 gb|black]",
+                sorted(VariantPriceDiff.changedKeys(null, current)));
+        failures += check("Key normalized", "64 gb|black", VariantPriceDiff.key(variant(" 64 GB ", "BLACK", null)));
+        failures += check("Missing price counts as change", "[64 gb|black]",
+                sorted(VariantPriceDiff.changedKeys(previous, product(variant("64 GB", "Black", null)))));
+
+        // Əvvəlki run: məhsul fingerprint ilə snapshot-a yazılır
+        String html = Files.readString(Paths.get(FIXTURE));
+        Files.deleteIfExists(Paths.get(SNAPSHOT));
+        try (CrawlJournal journal = CrawlJournal.open(SNAPSHOT, false)) {
+            journal.record(URL, new HttpProductDetailPage(html, URL).scrapeProductData());
+        }
+
+        Product snapshotProduct;
+        try (CrawlJournal snapshot = CrawlJournal.openSnapshot(SNAPSHOT)) {
+            snapshotProduct = snapshot.read(URL);
+        }
+        failures += check("Fingerprint kept in snapshot", "true",
+                String.valueOf(snapshotProduct != null && snapshotProduct.getSpecFingerprint() != null));
+
+        // Yalnız qiymət dəyişib: spesifikasiyalar snapshot-dan, qiymət səhifədən
+        Product priceOnly = refresh(snapshotProduct, html.replace("329.00", "319.00"));
+        failures += check("Same table - price refresh", "true", String.valueOf(priceOnly == snapshotProduct));
+        failures += check("Refreshed price", "319.00", priceOnly.getVariants().get(0).getPrice());
+        // iPhone 7-nin tək variantında storage / color yoxdur
+        failures += check("Changed price key", "[|]",
+                sorted(VariantPriceDiff.changedKeys(readSnapshot(), priceOnly)));
+
+        // Spesifikasiya cədvəli dəyişib: fingerprint uyğun gəlmir, məhsul tam scrape olunur
+        Product full = refresh(readSnapshot(), html.replace(">2 GB<", ">3 GB<"));
+        failures += check("Changed table - full scrape", "false", String.valueOf(full.getSpecFingerprint()
+                .equals(snapshotProduct.getSpecFingerprint())));
+        failures += check("New specification value", "3 GB", full.getSpecifications().getRam());
+
+        // Fingerprint-siz köhnə snapshot və ya snapshot-da olmayan məhsul da tam scrape olunur
+        Product withoutFingerprint = readSnapshot();
+        withoutFingerprint.setSpecFingerprint(null);
+        String fingerprint = new HttpProductDetailPage(html, URL).getSpecificationsFingerprint();
+        failures += check("Snapshot without fingerprint", "false",
+                String.valueOf(VariantPriceDiff.sameSpecifications(withoutFingerprint, fingerprint)));
+        failures += check("Product not in snapshot", "false",
+                String.valueOf(VariantPriceDiff.sameSpecifications(null, fingerprint)));
+        failures += check("Page without fingerprint", "false",
+                String.valueOf(VariantPriceDiff.sameSpecifications(readSnapshot(), null)));
+
+        if (failures == 0) {
+            System.out.println("\n✅ Test completed successfully!");
+        } else {
+            System.out.println("\n❌ Test failed - " + failures + " mismatches!");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * QiymetiScraper.scrapeWithHttp-dəki seçim: fingerprint eynidirsə yalnız variantlar, yoxsa tam scrape
+     */
+    private static Product refresh(Product previous, String html) {
+        HttpProductDetailPage page = new HttpProductDetailPage(html, URL);
+        if (VariantPriceDiff.sameSpecifications(previous, page.getSpecificationsFingerprint())) {
+            previous.setVariants(page.scrapeVariants());
+            return previous;
+        }
+        return page.scrapeProductData();
+    }
+
+    private static Product readSnapshot() throws Exception {
+        try (CrawlJournal snapshot = CrawlJournal.openSnapshot(SNAPSHOT)) {
+            return snapshot.read(URL);
+        }
+    }
+
+    private static Product product(ProductVariant... variants) {
+        Product product = new Product("Apple", "iPhone 11");
+        for (ProductVariant variant : variants) {
+            product.addVariant(variant);
+        }
+        return product;
+    }
+
+    private static ProductVariant variant(String storage, String color, String price) {
+        ProductVariant variant = new ProductVariant();
+        variant.setStorage(storage);
+        variant.setColor(color);
+        variant.setPrice(price);
+        variant.setCurrency("AZN");
+        return variant;
+    }
+
+    private static String sorted(Set<String> keys) {
+        return new TreeSet<>(keys).toString();
+    }
+
+    private static int check(String name, String expected, String actual) {
+        boolean ok = expected == null ? actual == null : expected.equals(actual);
+        System.out.println((ok ? "  ✅ " : "  ❌ ") + name + (ok ? "" : " - expected: " + expected + ", actual: " + actual));
+        return ok ? 0 : 1;
+    }
+}
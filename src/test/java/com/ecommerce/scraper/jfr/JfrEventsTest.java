@@ -0,0 +1,115 @@
+package com.ecommerce.scraper.jfr;
+
+import com.ecommerce.scraper.LocalSiteServer;
+import com.ecommerce.scraper.ProductPipeline;
+import com.ecommerce.scraper.mapper.DatabaseMapper;
+import com.ecommerce.scraper.model.Product;
+import com.ecommerce.scraper.pages.HttpProductDetailPage;
+import com.ecommerce.scraper.pages.HttpProductListPage;
+import com.ecommerce.scraper.utils.HttpPageFetcher;
+import com.ecommerce.scraper.utils.JsonExporter;
+import com.ecommerce.scraper.utils.MetricsRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.openqa.selenium.WebElement;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * JFR event test - LocalSiteServer-ə qarşı HTTP backend, WebDriver listener və pipeline
+ * event-lərini qeyd edir, recording faylını oxuyub sahələri yoxlayır (Chrome lazım deyil)
+ */
+public class JfrEventsTest {
+
+    private static final Path OUTPUT_DIR = Paths.get("output/test_jfr");
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Testing JFR events...");
+        deleteRecursively(OUTPUT_DIR);
+        Files.createDirectories(OUTPUT_DIR);
+
+        Path recordingFile = OUTPUT_DIR.resolve("scraper.jfr");
+        String productUrl;
+
+        try (Recording recording = new Recording();
+             LocalSiteServer site = new LocalSiteServer(1, 2, 0, 0)) {
+            recording.enable("com.ecommerce.scraper.*");
+            recording.start();
+
+            // Navigation + SpecificationParse (HTTP backend)
+            HttpPageFetcher fetcher = new HttpPageFetcher(Duration.ofSeconds(5));
+            productUrl = HttpProductListPage.fetch(fetcher, site.getBaseUrl()).getProductLinks().get(0);
+
+            ScrapeContext.enter(productUrl);
+            Product product = HttpProductDetailPage.fetch(fetcher, productUrl).scrapeProductData();
+
+            // WebDriverCommand: listener cari məhsul və variant kontekstini götürür
+            JfrWebDriverListener listener = new JfrWebDriverListener();
+            ScrapeContext.setVariant(ScrapeContext.variantLabel("128GB", "Qara"));
+            listener.beforeAnyCall(null, WebElement.class.getMethod("click"), new Object[0]);
+            listener.afterAnyCall(null, WebElement.class.getMethod("click"), new Object[0], null);
+            ScrapeContext.exit();
+
+            // Mapping + Export (pipeline)
+            JsonExporter exporter = new JsonExporter();
+            ProductPipeline pipeline = new ProductPipeline(new DatabaseMapper(), new ProductPipeline.Outputs(
+                    exporter.openProductStream(OUTPUT_DIR.resolve("raw.json").toString()),
+                    exporter.openDatabaseStream(OUTPUT_DIR.resolve("db.json").toString())), 4, new MetricsRegistry());
+            pipeline.submit(product);
+            pipeline.close();
+
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+
+        RecordedEvent navigation = first(events, "com.ecommerce.scraper.Navigation");
+        System.out.println("Navigation events: " + count(events, "com.ecommerce.scraper.Navigation")
+                + " (backend " + navigation.getString("backend") + ", outcome " + navigation.getString("outcome") + ")");
+
+        RecordedEvent specs = first(events, "com.ecommerce.scraper.SpecificationParse");
+        System.out.println("Spec parse has product URL: " + productUrl.equals(specs.getString("productUrl"))
+                + " (source " + specs.getString("source") + ", rows " + specs.getInt("rows") + ")");
+
+        RecordedEvent command = first(events, "com.ecommerce.scraper.WebDriverCommand");
+        System.out.println("WebDriver command: " + command.getString("command")
+                + ", variant " + command.getString("variant")
+                + ", product URL: " + productUrl.equals(command.getString("productUrl")));
+
+        System.out.println("Mapping stages: " + count(events, "com.ecommerce.scraper.Mapping")
+                + ", export events: " + count(events, "com.ecommerce.scraper.Export")
+                + " (" + first(events, "com.ecommerce.scraper.Export").getString("product") + ")");
+
+        deleteRecursively(OUTPUT_DIR);
+        System.out.println("\nTest completed!");
+    }
+
+    private static RecordedEvent first(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Event yoxdur: " + name));
+    }
+
+    private static long count(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).count();
+    }
+
+    private static void deleteRecursively(Path dir) throws Exception {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
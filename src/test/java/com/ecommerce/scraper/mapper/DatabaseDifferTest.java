@@ -0,0 +1,76 @@
+package com.ecommerce.scraper.mapper;
+
+import com.ecommerce.scraper.model.Product;
+import com.ecommerce.scraper.model.ProductVariant;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Simple manual test for DatabaseDiffer: two runs, second one with a price change and a removed product
+ */
+public class DatabaseDifferTest {
+
+    public static void main(String[] args) {
+        System.out.println("Testing DatabaseDiffer...");
+
+        // First run: empty state, everything is an insert
+        DatabaseDiffer firstRun = new DatabaseDiffer(new DatabaseState());
+        DeltaOutput first = new DatabaseMapper().mapToDelta(buildProducts("1149.00"), firstRun);
+
+        System.out.println("\n=== FIRST RUN ===");
+        printDelta(first);
+
+        // Second run: iPhone 11 price changed, Galaxy A54 removed, order reversed
+        List<Product> products = buildProducts("1099.00");
+        products.remove(1);
+        Collections.reverse(products);
+
+        DatabaseDiffer secondRun = new DatabaseDiffer(firstRun.getNextState());
+        DeltaOutput second = new DatabaseMapper().mapToDelta(products, secondRun);
+
+        System.out.println("\n=== SECOND RUN ===");
+        printDelta(second);
+
+        if (!second.getUpdates().getProductVariants().isEmpty()) {
+            System.out.println("\nUpdated variant: " + second.getUpdates().getProductVariants().get(0).getVariantName()
+                    + " (id " + second.getUpdates().getProductVariants().get(0).getId() + ")");
+        }
+
+        System.out.println("\nTest completed!");
+    }
+
+    private static List<Product> buildProducts(String iphonePrice) {
+        List<Product> products = new ArrayList<>();
+        products.add(buildProduct("Apple", "iPhone 11 xüsusiyyətləri", "64 GB", "Black", iphonePrice));
+        products.add(buildProduct("Samsung", "Galaxy A54 xüsusiyyətləri", "128 GB", "White", "699.00"));
+        products.add(buildProduct("Xiaomi", "Redmi Note 13 xüsusiyyətləri", "256 GB", "Blue", "549.00"));
+        return products;
+    }
+
+    private static Product buildProduct(String brand, String title, String storage, String color, String price) {
+        Product product = new Product();
+        product.setBrand(brand);
+        product.setTitle(title);
+
+        ProductVariant variant = new ProductVariant();
+        variant.setStorage(storage);
+        variant.setColor(color);
+        variant.setPrice(price);
+        variant.setCurrency("AZN");
+        product.addVariant(variant);
+
+        return product;
+    }
+
+    private static void printDelta(DeltaOutput delta) {
+        System.out.println("Inserts: " + delta.getInserts().getProducts().size() + " products, "
+                + delta.getInserts().getProductVariants().size() + " variants, "
+                + delta.getInserts().getProductAttributes().size() + " attributes");
+        System.out.println("Updates: " + delta.getUpdates().getProducts().size() + " products, "
+                + delta.getUpdates().getProductVariants().size() + " variants, "
+                + delta.getUpdates().getProductAttributes().size() + " attributes");
+        System.out.println("Deletes: " + delta.getDeletes());
+    }
+}
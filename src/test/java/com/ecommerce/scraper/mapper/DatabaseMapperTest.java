@@ -3,8 +3,13 @@ package com.ecommerce.scraper.mapper;
 import com.ecommerce.scraper.model.Product;
 import com.ecommerce.scraper.model.ProductSpecifications;
 import com.ecommerce.scraper.model.ProductVariant;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -80,6 +85,79 @@ public class DatabaseMapperTest {
             System.out.println("Is Default: " + output.getProductVariants().get(0).getIsDefault());
         }
         
+        // Parallel mapping must give exactly the same output as sequential mapping
+        List<Product> synthetic = buildProducts(60);
+        boolean identical = true;
+        for (boolean deterministicIds : new boolean[]{false, true}) {
+            JsonNode sequential = withoutTimestamps(
+                    new DatabaseMapper(deterministicIds).mapToDatabase(synthetic));
+            JsonNode parallel = withoutTimestamps(
+                    new DatabaseMapper(deterministicIds).mapToDatabase(synthetic, 4));
+            boolean same = sequential.equals(parallel);
+            identical &= same;
+            System.out.println("\nParallel mapping identical to sequential (deterministic IDs: " + deterministicIds
+                    + "): " + (same ? "✅" : "❌") + " (" + sequential.get("products").size() + " products, "
+                    + sequential.get("product_variants").size() + " variants)");
+        }
+
+        if (!identical) {
+            System.out.println("\n❌ Test failed - parallel output differs from sequential!");
+            System.exit(1);
+        }
+
         System.out.println("\n✅ Test completed successfully!");
     }
+
+    /**
+     * Synthetic products: several brands (and a missing one), specifications, 1-3 variants
+     */
+    private static List<Product> buildProducts(int count) {
+        String[] brands = {"Apple", "Samsung", "Xiaomi", "Honor", null};
+        String[] colors = {"Qara", "Ağ", "Mavi"};
+        List<Product> products = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setBrand(brands[i % brands.length]);
+            product.setTitle("Model " + (i / 2) + (i % 2 == 0 ? " Pro" : " Lite") + " xüsusiyyətləri");
+
+            ProductSpecifications specs = new ProductSpecifications();
+            specs.setRam((4 + i % 3 * 2) + " GB");
+            specs.setScreenSize("6." + (i % 10) + " inç");
+            specs.setBattery((4000 + i * 10) + " mAh");
+            specs.setProcessor("Chip " + (i % 7));
+            product.setSpecifications(specs);
+
+            for (int v = 0; v <= i % 3; v++) {
+                ProductVariant variant = new ProductVariant();
+                variant.setStorage((64 << v) + " GB");
+                variant.setColor(colors[(i + v) % colors.length]);
+                variant.setPrice(String.format("%d.00", 300 + i * 10 + v * 100));
+                variant.setCurrency("AZN");
+                variant.setSeller("Seller " + (v + 1));
+                product.addVariant(variant);
+            }
+            products.add(product);
+        }
+        return products;
+    }
+
+    /**
+     * Serialized output without created_at / updated_at (they hold the mapping time)
+     */
+    private static JsonNode withoutTimestamps(DatabaseOutput output) {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        JsonNode tree = objectMapper.valueToTree(output);
+        removeTimestamps(tree);
+        return tree;
+    }
+
+    private static void removeTimestamps(JsonNode node) {
+        if (node instanceof ObjectNode) {
+            ((ObjectNode) node).remove(List.of("created_at", "updated_at"));
+        }
+        for (Iterator<JsonNode> children = node.elements(); children.hasNext(); ) {
+            removeTimestamps(children.next());
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package com.ecommerce.scraper.mapper;
+
+/**
+ * IdentifierGenerator test: values are stable across runs (generator instances),
+ * duplicates and real collisions get the "#n" suffix, scopes track uniqueness per owner.
+ */
+public class IdentifierGeneratorTest {
+
+    private static final long ID_MASK = (1L << 53) - 1;
+
+    public static void main(String[] args) {
+        System.out.println("Testing IdentifierGenerator...");
+        int failures = 0;
+
+        // Cross-run stability: a new generator (= a new run) issues the same values
+        IdentifierGenerator firstRun = new IdentifierGenerator();
+        IdentifierGenerator secondRun = new IdentifierGenerator();
+        String productKey = "apple|iphone 11";
+
+        long productId = firstRun.id("product", productKey);
+        String sku = firstRun.code("product_sku", productKey);
+        failures += check("Same ID in next run", productId, secondRun.id("product", productKey));
+        failures += check("Same code in next run", sku, secondRun.code("product_sku", productKey));
+        failures += check("ID is FNV-1a of namespace|key", fnv("product|" + productKey), productId);
+        failures += check("Code length", 8, sku.length());
+        failures += check("Namespaces are independent", false, productId == firstRun.id("brand", productKey));
+
+        // Same key twice in one run: second value is the hash of "key#2", not a collision
+        long duplicate = firstRun.id("product", productKey);
+        failures += check("Duplicate gets #2", fnv("product|" + productKey + "#2"), duplicate);
+        failures += check("Duplicate gets #3", fnv("product|" + productKey + "#3"), firstRun.id("product", productKey));
+        failures += check("Duplicates are not collisions", 0, firstRun.getCollisionCount());
+
+        // Real collision: "key#2" now finds its value owned by a different key and moves on to "key#2#2"
+        long suffixed = firstRun.id("product", productKey + "#2");
+        failures += check("Collision re-hashed with suffix", fnv("product|" + productKey + "#2#2"), suffixed);
+        failures += check("Collision counted", 1, firstRun.getCollisionCount());
+
+        String taken = firstRun.code("product_sku", productKey);
+        failures += check("Duplicate code differs", false, taken.equals(sku));
+        failures += check("Next run codes unaffected", sku, new IdentifierGenerator().code("product_sku", productKey));
+
+        // Scopes: same values as the run-wide registry, uniqueness only within the scope
+        IdentifierGenerator generator = new IdentifierGenerator();
+        IdentifierGenerator.Scope product1 = generator.scope();
+        String attributeKey = "p" + productId + "|ram";
+
+        long attributeId = product1.id("attribute", attributeKey);
+        failures += check("Scope ID equals run-wide ID", new IdentifierGenerator().id("attribute", attributeKey), attributeId);
+        failures += check("Duplicate in scope gets #2", fnv("attribute|" + attributeKey + "#2"),
+                product1.id("attribute", attributeKey));
+        failures += check("New scope starts empty", attributeId, generator.scope().id("attribute", attributeKey));
+        failures += check("Scope does not use run-wide registry", attributeId, generator.id("attribute", attributeKey));
+
+        product1.id("attribute", attributeKey + "#2");
+        failures += check("Scope collisions counted by generator", 1, generator.getCollisionCount());
+
+        if (failures == 0) {
+            System.out.println("\n✅ Test completed successfully!");
+        } else {
+            System.out.println("\n❌ Test failed - " + failures + " mismatches!");
+            System.exit(1);
+        }
+    }
+
+    private static long fnv(String value) {
+        return IdentifierGenerator.fnv1a64(value) & ID_MASK;
+    }
+
+    private static int check(String name, Object expected, Object actual) {
+        boolean ok = expected.equals(actual);
+        System.out.println((ok ? "  ✅ " : "  ❌ ") + name + (ok ? "" : " - expected: " + expected + ", actual: " + actual));
+        return ok ? 0 : 1;
+    }
+}
@@ -2,8 +2,7 @@ package com.ecommerce.scraper.mapper;
 
 import com.ecommerce.scraper.model.Product;
 import com.ecommerce.scraper.utils.JsonExporter;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ecommerce.scraper.utils.OutputReader;
 
 import java.io.File;
 import java.util.List;
@@ -17,15 +16,14 @@ public class RealDataMapperTest {
         try {
             System.out.println("Testing DatabaseMapper with real scraped data...");
             
-            // Load existing scraped data
-            File inputFile = new File("output/products_20260206_154939.json");
+            // Load existing scraped data (any output format: json / ndjson / smile / cbor, optionally .gz)
+            File inputFile = new File(args.length > 0 ? args[0] : "output/products_20260206_154939.json");
             if (!inputFile.exists()) {
                 System.err.println("No scraped data found at: " + inputFile.getPath());
                 return;
             }
             
-            ObjectMapper objectMapper = new ObjectMapper();
-            List<Product> products = objectMapper.readValue(inputFile, new TypeReference<List<Product>>() {});
+            List<Product> products = OutputReader.readProducts(inputFile);
             
             System.out.println("Loaded " + products.size() + " products from file");
             
@@ -0,0 +1,175 @@
+package com.ecommerce.scraper.pages;
+
+import com.ecommerce.scraper.LocalSiteServer;
+import com.ecommerce.scraper.model.Product;
+import com.ecommerce.scraper.utils.BrowserProfile;
+import com.ecommerce.scraper.utils.HttpPageFetcher;
+import com.ecommerce.scraper.utils.WebDriverFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openqa.selenium.WebDriver;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parity test: Selenium and HTTP backends must produce identical Products
+ * for the stored HTML fixtures.
+ *
+ * The lean browser profile must produce the same Products as the default profile
+ * on the local stand-in site (LocalSiteServer) while transferring fewer bytes.
+ *
+ * Run with "--http-only" to skip the Selenium side (no Chrome available).
+ */
+public class DetailPageParityTest {
+
+    private static final Path FIXTURE_DIR = Paths.get("src/test/resources/fixtures");
+
+    private static final List<String> FIXTURES = List.of(
+            "product_iphone_11.html",
+            "product_iphone_7.html"
+    );
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Testing HTTP vs Selenium detail page parity...");
+
+        boolean httpOnly = args.length > 0 && args[0].equals("--http-only");
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+        int failures = 0;
+
+        // HTTP backend - expected values
+        HttpProductDetailPage iphone11 = load("product_iphone_11.html");
+        Product product11 = iphone11.scrapeProductData();
+        failures += check("brand", "Apple", product11.getBrand());
+        failures += check("title", "iPhone 11 xüsusiyyətləri", product11.getTitle());
+        failures += check("has variant options", true, iphone11.hasVariantOptions());
+        failures += check("variants deferred to Selenium", 0, product11.getVariants().size());
+        failures += check("multi-line value", "64 GB\n128 GB\n256 GB",
+                product11.getSpecifications().getAdditionalSpecs().get("Daxili yaddaş"));
+        failures += check("icon true", "true",
+                product11.getSpecifications().getAdditionalSpecs().get("Sensor ekran (Touchscreen)"));
+        failures += check("icon false", "false",
+                product11.getSpecifications().getAdditionalSpecs().get("Yaddaş kartı dəstəyi"));
+        failures += check("dimension", "8.3 mm", product11.getSpecifications().getDimensions().get("thickness"));
+
+        HttpProductDetailPage iphone7 = load("product_iphone_7.html");
+        Product product7 = iphone7.scrapeProductData();
+        failures += check("has variant options", false, iphone7.hasVariantOptions());
+        failures += check("single variant", 1, product7.getVariants().size());
+        failures += check("price", "329.00", product7.getVariants().get(0).getPrice());
+        failures += check("seller", "Irshad", product7.getVariants().get(0).getSeller());
+        failures += check("website trimmed", "irshad.az", product7.getVariants().get(0).getWebsite());
+        failures += check("whitespace collapsed", "su sıçramalarına qarşı qorunur",
+                product7.getSpecifications().getAdditionalSpecs().get("Suya davamlılıq"));
+
+        // Selenium backend - identical output
+        if (httpOnly) {
+            System.out.println("\n⚠️ Selenium parity skipped (--http-only)");
+        } else {
+            WebDriver driver = WebDriverFactory.createChromeDriver(true);
+            try {
+                for (String fixture : FIXTURES) {
+                    String fileUrl = FIXTURE_DIR.resolve(fixture).toUri().toString();
+                    HttpProductDetailPage httpPage = load(fixture);
+                    Product httpProduct = httpPage.scrapeProductData();
+
+                    driver.get(fileUrl);
+                    Product seleniumProduct = new ProductDetailPage(driver).scrapeProductData();
+
+                    // Production fallback: variant matrix comes from Selenium
+                    if (httpPage.hasVariantOptions()) {
+                        driver.get(fileUrl);
+                        httpProduct.setVariants(new ProductDetailPage(driver).scrapeVariants());
+                    }
+
+                    failures += check(fixture + " product JSON",
+                            objectMapper.writeValueAsString(seleniumProduct),
+                            objectMapper.writeValueAsString(httpProduct));
+                    failures += check(fixture + " specifications JSON",
+                            objectMapper.writeValueAsString(seleniumProduct.getSpecifications()),
+                            objectMapper.writeValueAsString(httpProduct.getSpecifications()));
+                }
+            } finally {
+                driver.quit();
+            }
+
+            failures += checkProfileParity(objectMapper);
+        }
+
+        if (failures == 0) {
+            System.out.println("\n✅ Test completed successfully!");
+        } else {
+            System.out.println("\n❌ Test failed - " + failures + " mismatches!");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Default vs lean profile on the local site: same product JSON, fewer bytes
+     */
+    private static int checkProfileParity(ObjectMapper objectMapper) throws Exception {
+        System.out.println("\nDefault vs lean browser profile...");
+        int failures = 0;
+
+        try (LocalSiteServer site = new LocalSiteServer(1, 6, 2, 0)) {
+            List<String> productUrls =
+                    HttpProductListPage.fetch(new HttpPageFetcher(), site.getBaseUrl()).getProductLinks();
+
+            List<String> defaultProducts = new ArrayList<>();
+            List<String> leanProducts = new ArrayList<>();
+            long[] defaultRun = scrapeWithProfile(site, productUrls, BrowserProfile.DEFAULT, objectMapper, defaultProducts);
+            long[] leanRun = scrapeWithProfile(site, productUrls, BrowserProfile.LEAN, objectMapper, leanProducts);
+
+            System.out.println(String.format("  %-8s %10s %12s", "profile", "load ms", "bytes"));
+            System.out.println(String.format("  %-8s %10d %12d", "default", defaultRun[0], defaultRun[1]));
+            System.out.println(String.format("  %-8s %10d %12d", "lean", leanRun[0], leanRun[1]));
+
+            for (int i = 0; i < productUrls.size(); i++) {
+                failures += check("lean product JSON " + productUrls.get(i), defaultProducts.get(i), leanProducts.get(i));
+            }
+            failures += check("lean profile transfers fewer bytes", true, leanRun[1] < defaultRun[1]);
+        }
+
+        return failures;
+    }
+
+    /**
+     * Scrape every URL with a fresh driver; returns {total driver.get() ms, bytes served}
+     */
+    private static long[] scrapeWithProfile(LocalSiteServer site, List<String> productUrls, BrowserProfile profile,
+                                            ObjectMapper objectMapper, List<String> products) throws Exception {
+        WebDriver driver = WebDriverFactory.createChromeDriver(true, profile);
+        long loadNanos = 0;
+
+        try {
+            site.resetStats();
+            for (String url : productUrls) {
+                long start = System.nanoTime();
+                driver.get(url);
+                loadNanos += System.nanoTime() - start;
+
+                products.add(objectMapper.writeValueAsString(new ProductDetailPage(driver).scrapeProductData()));
+            }
+            return new long[]{loadNanos / 1_000_000, site.getTotalBytes()};
+
+        } finally {
+            driver.quit();
+        }
+    }
+
+    private static HttpProductDetailPage load(String fixture) throws Exception {
+        Path path = FIXTURE_DIR.resolve(fixture);
+        return new HttpProductDetailPage(Files.readString(path), path.toUri().toString());
+    }
+
+    private static int check(String name, Object expected, Object actual) {
+        boolean ok = expected == null ? actual == null : expected.equals(actual);
+        System.out.println((ok ? "  ✅ " : "  ❌ ") + name + (ok ? "" : " - expected: " + expected + ", actual: " + actual));
+        return ok ? 0 : 1;
+    }
+}
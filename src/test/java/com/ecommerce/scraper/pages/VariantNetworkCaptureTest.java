@@ -0,0 +1,108 @@
+package com.ecommerce.scraper.pages;
+
+import com.ecommerce.scraper.model.ProductVariant;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * VariantNetworkCapture test - tutulmuş filter sorğusundan template (spec-id → placeholder)
+ * və fixture-dakı qiymət siyahısından cavabın decode olunması (brauzer lazım deyil)
+ */
+public class VariantNetworkCaptureTest {
+
+    // product_iphone_11.html: 1101 / 1102 - 64 / 128 GB, 2101 / 2102 - Black / White
+    private static final String STORAGE_ID = "1102";
+    private static final String COLOR_ID = "2101";
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Testing VariantNetworkCapture...");
+        int failures = 0;
+
+        // GET: id-lər URL-dədir
+        String getUrl = "https://qiymeti.net/ajax/filter?product=iphone-11&specs=" + STORAGE_ID + "," + COLOR_ID;
+        VariantNetworkCapture.RequestTemplate get = capture("GET", getUrl, "").toTemplate(STORAGE_ID, COLOR_ID);
+        failures += check("GET template URL", "https://qiymeti.net/ajax/filter?product=iphone-11&specs={storage},{color}",
+                get != null ? get.url : null);
+        failures += check("GET template body", null, get != null ? get.body : "missing");
+        failures += check("GET template filled back", getUrl, get != null ? fill(get.url, STORAGE_ID, COLOR_ID) : null);
+
+        // POST: id-lər body-dədir, URL dəyişmir
+        String postBody = "{\"product\":\"iphone-11\",\"specs\":[" + STORAGE_ID + "," + COLOR_ID + "],\"page\":1}";
+        VariantNetworkCapture.RequestTemplate post = capture("POST", "https://qiymeti.net/ajax/filter", postBody)
+                .toTemplate(STORAGE_ID, COLOR_ID);
+        failures += check("POST template URL", "https://qiymeti.net/ajax/filter", post != null ? post.url : null);
+        failures += check("POST template body", "{\"product\":\"iphone-11\",\"specs\":[{storage},{color}],\"page\":1}",
+                post != null ? post.body : null);
+        failures += check("POST headers kept", "application/json",
+                post != null ? post.headers.get("Content-Type") : null);
+
+        // Yalnız tam token əvəz olunur (11021 və ya id=1102a dəyişmir)
+        VariantNetworkCapture.RequestTemplate bounded = capture("GET",
+                "https://qiymeti.net/ajax/filter?product=11021&storage=1102&color=2101&v=1102a", "")
+                .toTemplate(STORAGE_ID, COLOR_ID);
+        failures += check("Token boundaries", "https://qiymeti.net/ajax/filter?product=11021&storage={storage}&color={color}&v=1102a",
+                bounded != null ? bounded.url : null);
+
+        // Seçilmiş id-ləri daşımayan sorğu (analytics və s.) template deyil
+        VariantNetworkCapture.RequestTemplate unrelated = capture("GET",
+                "https://qiymeti.net/api/track?event=click&id=" + STORAGE_ID, "").toTemplate(STORAGE_ID, COLOR_ID);
+        failures += check("Request without color id ignored", null, unrelated != null ? unrelated.url : null);
+
+        // Yalnız storage seçilibsə color placeholder-i yoxdur
+        VariantNetworkCapture.RequestTemplate storageOnly = capture("GET",
+                "https://qiymeti.net/ajax/filter?specs=" + STORAGE_ID, "").toTemplate(STORAGE_ID, null);
+        failures += check("Storage-only template", "https://qiymeti.net/ajax/filter?specs={storage}",
+                storageOnly != null ? storageOnly.url : null);
+
+        // Cavab: fixture-dakı ul.price-list, HTML və JSON içində HTML kimi
+        Document page = Jsoup.parse(Files.readString(Paths.get("src/test/resources/fixtures/product_iphone_11.html")));
+        String priceListHtml = page.selectFirst("ul.price-list").outerHtml();
+        String expected = "1149.00 AZN (Umico, birmarket.az)";
+
+        ProductVariant fromHtml = VariantNetworkCapture.decodePriceResponse(priceListHtml);
+        failures += check("HTML response price", expected, describe(fromHtml));
+
+        String json = new ObjectMapper().writeValueAsString(Map.of("success", true, "data", Map.of("html", priceListHtml)));
+        ProductVariant fromJson = VariantNetworkCapture.decodePriceResponse(json);
+        failures += check("JSON response price", expected, describe(fromJson));
+
+        failures += check("Empty response", null, describe(VariantNetworkCapture.decodePriceResponse("  ")));
+        failures += check("JSON without price list", null,
+                describe(VariantNetworkCapture.decodePriceResponse("{\"success\":false,\"html\":\"<p>Yoxdur</p>\"}")));
+        failures += check("Broken JSON", null, describe(VariantNetworkCapture.decodePriceResponse("{\"html\": ")));
+
+        if (failures == 0) {
+            System.out.println("\n✅ Test completed successfully!");
+        } else {
+            System.out.println("\n❌ Test failed - " + failures + " mismatches!");
+        }
+    }
+
+    private static VariantNetworkCapture.CapturedRequest capture(String method, String url, String body) {
+        return new VariantNetworkCapture.CapturedRequest(method, url, body, Map.of("Content-Type", "application/json"));
+    }
+
+    /**
+     * REPLAY_SCRIPT-dəki fill() ilə eyni əvəzləmə
+     */
+    private static String fill(String template, String storage, String color) {
+        return template.replace(VariantNetworkCapture.STORAGE_PLACEHOLDER, storage)
+                .replace(VariantNetworkCapture.COLOR_PLACEHOLDER, color);
+    }
+
+    private static String describe(ProductVariant variant) {
+        return variant == null ? null
+                : variant.getPrice() + " " + variant.getCurrency() + " (" + variant.getSeller() + ", " + variant.getWebsite() + ")";
+    }
+
+    private static int check(String name, String expected, String actual) {
+        boolean ok = expected == null ? actual == null : expected.equals(actual);
+        System.out.println((ok ? "  ✅ " : "  ❌ ") + name + (ok ? "" : " - expected: " + expected + ", actual: " + actual));
+        return ok ? 0 : 1;
+    }
+}
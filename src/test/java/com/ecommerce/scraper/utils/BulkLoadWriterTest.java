@@ -0,0 +1,107 @@
+package com.ecommerce.scraper.utils;
+
+import com.ecommerce.scraper.mapper.DatabaseMapper;
+import com.ecommerce.scraper.mapper.DatabaseOutput;
+import com.ecommerce.scraper.model.Product;
+import com.ecommerce.scraper.model.ProductVariant;
+import com.ecommerce.scraper.model.db.ProductAttributeEntity;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * BulkLoadWriter test - CSV və COPY faylları, CSV faylı H2 CSVREAD ilə geri oxunur
+ */
+public class BulkLoadWriterTest {
+
+    private static final String URL = "jdbc:h2:mem:bulk_test;DB_CLOSE_DELAY=-1";
+
+    // Escape olunmalı simvollar: vergül, dırnaq, tab, sətir sonu, backslash, kənar boşluq
+    private static final String TRICKY_VALUE = "Ölçü: 6,1\" — \"Gözəl\" ekran\tçəki\\ağırlıq\nİkinci sətir ";
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Testing BulkLoadWriter...");
+
+        DatabaseMapper mapper = new DatabaseMapper(true);
+        DatabaseOutput entities = mapper.mapProduct(buildProduct());
+        entities.addProductAttribute(new ProductAttributeEntity(1L, entities.getProducts().get(0).getId(),
+                "Təsvir", TRICKY_VALUE));
+        entities.addProductAttribute(new ProductAttributeEntity(2L, entities.getProducts().get(0).getId(),
+                "Boş dəyər", ""));
+
+        JsonExporter exporter = new JsonExporter();
+        for (BulkFormat format : BulkFormat.values()) {
+            try (BulkLoadWriter writer = exporter.openBulkStream("output/test_bulk_" + format.getExtension(), format)) {
+                writer.append(entities);
+                System.out.println("\n=== " + format + " ===");
+                System.out.println("Files: " + writer.getPaths());
+                System.out.println("Attributes: " + writer.getCount("product_attributes"));
+            }
+        }
+
+        File attributesCsv = new File("output/test_bulk_csv_product_attributes.csv");
+        System.out.println("\n=== product_attributes.csv (tail) ===");
+        List<String> lines = Files.readAllLines(attributesCsv.toPath(), StandardCharsets.UTF_8);
+        lines.subList(Math.max(0, lines.size() - 4), lines.size()).forEach(System.out::println);
+
+        System.out.println("\n=== product_attributes.copy (tail) ===");
+        List<String> copyLines = Files.readAllLines(
+                new File("output/test_bulk_copy_product_attributes.copy").toPath(), StandardCharsets.UTF_8);
+        copyLines.subList(Math.max(0, copyLines.size() - 2), copyLines.size()).forEach(System.out::println);
+
+        // CSV → H2: schema.sql cədvəllərinə yüklə və dəyərləri müqayisə et
+        try (JdbcBatchLoader loader = JdbcBatchLoader.connect(URL, "sa", "", 100, 10)) {
+            loader.createSchema();
+        }
+
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            for (String table : List.of("brands", "products", "product_variants", "product_attributes")) {
+                String path = new File("output/test_bulk_csv_" + table + ".csv").getAbsolutePath();
+                statement.execute("INSERT INTO " + table + " SELECT * FROM CSVREAD('" + path
+                        + "', NULL, 'charset=UTF-8')");
+            }
+
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT attribute_value FROM product_attributes WHERE attribute_name = 'Təsvir'")) {
+                rs.next();
+                System.out.println("\nCSV roundtrip: " + (TRICKY_VALUE.equals(rs.getString(1)) ? "✅ identical" : "❌ different"));
+            }
+
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT COUNT(*) FROM product_attributes WHERE variant_id IS NULL")) {
+                rs.next();
+                System.out.println("Product-level attributes (variant_id NULL): " + rs.getInt(1));
+            }
+
+            try (ResultSet rs = statement.executeQuery("SELECT name FROM products")) {
+                rs.next();
+                System.out.println("Product name: " + rs.getString(1));
+            }
+        }
+
+        System.out.println("\nTest completed!");
+    }
+
+    private static Product buildProduct() {
+        Product product = new Product();
+        product.setBrand("Xiaomi");
+        product.setTitle("Redmi Note 13 \"Çəhrayı\", şüşə");
+
+        ProductVariant variant = new ProductVariant();
+        variant.setStorage("256 GB");
+        variant.setColor("Göy");
+        variant.setPrice("549.00");
+        variant.setCurrency("AZN");
+        variant.setSeller("Kontakt Home");
+        product.addVariant(variant);
+
+        return product;
+    }
+}
@@ -0,0 +1,162 @@
+package com.ecommerce.scraper.utils;
+
+import com.ecommerce.scraper.model.Product;
+import com.ecommerce.scraper.model.ProductSpecifications;
+import com.ecommerce.scraper.model.ProductVariant;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * CrawlJournal test - yarımçıq son sətrin bərpası, köhnə jurnalın *.bak saxlanması
+ * və indeks üzrə read() (brauzer lazım deyil)
+ */
+public class CrawlJournalTest {
+
+    private static final Path DIR = Paths.get("output/test_journal");
+    private static final String URL = "https://qiymeti.net/telefon/";
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Testing CrawlJournal...");
+        int failures = 0;
+
+        deleteRecursively(DIR);
+        String path = DIR.resolve("crawl_journal.ndjson").toString();
+
+        try (CrawlJournal journal = CrawlJournal.open(path, false)) {
+            for (int i = 1; i <= 3; i++) {
+                journal.record(URL + i, buildProduct(i));
+            }
+        }
+        long completeLength = new File(path).length();
+
+        // Run yazma zamanı ölüb: son sətir yarımçıqdır
+        Files.writeString(Paths.get(path), "{\"url\":\"" + URL + "4\",\"product\":{\"brand\":\"Ap",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (CrawlJournal journal = CrawlJournal.open(path, true)) {
+            failures += check("Resumed entries", "3", String.valueOf(journal.size()));
+            failures += check("Partial entry dropped", "false", String.valueOf(journal.contains(URL + 4)));
+            failures += check("Partial line truncated", String.valueOf(completeLength),
+                    String.valueOf(new File(path).length()));
+
+            journal.record(URL + 4, buildProduct(4));
+        }
+
+        try (CrawlJournal journal = CrawlJournal.open(path, true)) {
+            failures += check("Entries after re-resume", "4", String.valueOf(journal.size()));
+            failures += check("URL order", List.of(URL + 1, URL + 2, URL + 3, URL + 4).toString(),
+                    journal.getUrls().toString());
+            failures += check("Entry after truncation", describe(buildProduct(4)), describe(journal.read(URL + 4)));
+
+            // read() indeksdən oxuyur, yazma mövqeyi dəyişmir
+            failures += check("Read by index", describe(buildProduct(2)), describe(journal.read(URL + 2)));
+            journal.record(URL + 5, buildProduct(5));
+            failures += check("Read after append", describe(buildProduct(5)), describe(journal.read(URL + 5)));
+            failures += check("Read earlier entry again", describe(buildProduct(1)), describe(journal.read(URL + 1)));
+            failures += check("Unknown URL", null, describe(journal.read(URL + 99)));
+        }
+        long crashedLength = new File(path).length();
+
+        // Resume olmadan açılan jurnal köhnəsini silmir, *.bak kimi saxlayır
+        try (CrawlJournal journal = CrawlJournal.open(path, false)) {
+            failures += check("Fresh journal empty", "0", String.valueOf(journal.size()));
+        }
+        List<File> backups = backups();
+        failures += check("Backups after rotation", "1", String.valueOf(backups.size()));
+        failures += check("New journal length", "0", String.valueOf(new File(path).length()));
+
+        if (!backups.isEmpty()) {
+            File backup = backups.get(0);
+            failures += check("Backup length", String.valueOf(crashedLength), String.valueOf(backup.length()));
+
+            try (CrawlJournal restored = CrawlJournal.open(backup.getPath(), true)) {
+                failures += check("Backup resumable", "5", String.valueOf(restored.size()));
+                failures += check("Backup entry", describe(buildProduct(3)), describe(restored.read(URL + 3)));
+            }
+
+            // Snapshot yalnız oxunur
+            try (CrawlJournal snapshot = CrawlJournal.openSnapshot(backup.getPath())) {
+                failures += check("Snapshot entry", describe(buildProduct(5)), describe(snapshot.read(URL + 5)));
+            }
+        }
+
+        // Boş jurnal yenidən açılanda *.bak yaranmır
+        CrawlJournal.open(path, false).close();
+        failures += check("Empty journal not rotated", "1", String.valueOf(backups().size()));
+
+        if (failures == 0) {
+            System.out.println("\n✅ Test completed successfully!");
+        } else {
+            System.out.println("\n❌ Test failed - " + failures + " mismatches!");
+            System.exit(1);
+        }
+    }
+
+    private static Product buildProduct(int n) {
+        Product product = new Product("Apple", "iPhone " + (10 + n));
+
+        ProductSpecifications specs = new ProductSpecifications();
+        specs.setRam((2 + n) + " GB");
+        specs.setBattery((3000 + n * 100) + " mAh");
+        product.setSpecifications(specs);
+        product.setSpecFingerprint("fp" + n);
+
+        ProductVariant variant = new ProductVariant();
+        variant.setStorage("128 GB");
+        variant.setColor("Qara");
+        variant.setPrice((1000 + n) + ".00");
+        variant.setCurrency("AZN");
+        variant.setSeller("Umico");
+        product.addVariant(variant);
+
+        return product;
+    }
+
+    /**
+     * Başlıq, qiymət, spesifikasiya və fingerprint - jurnaldan tam bərpanı yoxlamaq üçün
+     */
+    private static String describe(Product product) {
+        if (product == null) {
+            return null;
+        }
+        ProductVariant variant = product.getVariants().get(0);
+        ProductSpecifications specs = product.getSpecifications();
+        return product.getTitle() + " | " + variant.getStorage() + " " + variant.getPrice() + " " + variant.getCurrency()
+                + " | " + (specs != null ? specs.getRam() + ", " + specs.getBattery() : "no specs")
+                + " | " + product.getSpecFingerprint();
+    }
+
+    private static List<File> backups() throws IOException {
+        try (Stream<Path> files = Files.list(DIR)) {
+            return files.filter(file -> file.getFileName().toString().matches("crawl_journal\\.ndjson\\.\\d{8}_\\d{6}\\.bak"))
+                    .map(Path::toFile)
+                    .toList();
+        }
+    }
+
+    private static int check(String name, String expected, String actual) {
+        boolean ok = expected == null ? actual == null : expected.equals(actual);
+        System.out.println((ok ? "  ✅ " : "  ❌ ") + name + (ok ? "" : " - expected: " + expected + ", actual: " + actual));
+        return ok ? 0 : 1;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
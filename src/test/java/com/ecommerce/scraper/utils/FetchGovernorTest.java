@@ -0,0 +1,128 @@
+package com.ecommerce.scraper.utils;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * FetchGovernor test - paralel limit, token bucket tempi, AIMD artım / azalma və HTTP xəta cavabları
+ */
+public class FetchGovernorTest {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Testing FetchGovernor...");
+
+        // Paralel sorğu sayı maxConcurrency-ni keçmir
+        FetchGovernor concurrent = new FetchGovernor(1000, 1000, 2, 4, 10_000);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 20; i++) {
+                        long start = concurrent.acquire();
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        Thread.sleep(2);
+                        inFlight.decrementAndGet();
+                        concurrent.release(start, FetchGovernor.Outcome.SUCCESS);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        System.out.println("Max in-flight (limit 4): " + maxInFlight.get());
+        System.out.println("Limit grew to max: " + (concurrent.getLimit() == 4));
+
+        // Token bucket: 10 sorğu/s ilə 21 sorğu ~2 saniyə çəkir
+        FetchGovernor paced = new FetchGovernor(10, 10, 1, 1, 10_000);
+        long start = System.nanoTime();
+        for (int i = 0; i < 21; i++) {
+            paced.release(paced.acquire(), FetchGovernor.Outcome.SUCCESS);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(String.format("21 requests at 10/s took %.2f s: %s", seconds, seconds >= 1.8));
+
+        // AIMD: uğur artırır, xəta yarıya endirir, eyni dalğada ikinci xəta təsir etmir
+        FetchGovernor aimd = new FetchGovernor(2, 20, 4, 8, 10_000);
+        for (int i = 0; i < 10; i++) {
+            aimd.release(aimd.acquire(), FetchGovernor.Outcome.SUCCESS);
+        }
+        double grownRate = aimd.getRate();
+        int grownLimit = aimd.getLimit();
+        System.out.println(String.format("Rate grew on success: %s (%.1f/s, limit %d)",
+                grownRate > 2 && grownLimit > 4, grownRate, grownLimit));
+
+        aimd.release(aimd.acquire(), FetchGovernor.Outcome.ERROR);
+        System.out.println(String.format("Halved on error: %s (%.1f/s, limit %d)",
+                Math.abs(aimd.getRate() - grownRate / 2) < 0.01 && aimd.getLimit() == grownLimit / 2,
+                aimd.getRate(), aimd.getLimit()));
+
+        double afterFirst = aimd.getRate();
+        aimd.release(aimd.acquire(), FetchGovernor.Outcome.TIMEOUT);
+        System.out.println("Second error in cooldown ignored: " + (aimd.getRate() == afterFirst));
+
+        // Yavaş cavab: slowMillis-dən uzun
+        FetchGovernor slow = new FetchGovernor(4, 20, 4, 8, 5);
+        long slowStart = slow.acquire();
+        Thread.sleep(20);
+        slow.release(slowStart, FetchGovernor.Outcome.SUCCESS);
+        System.out.println(String.format("Slow response decreased rate: %s (%.1f/s)", slow.getRate() < 4, slow.getRate()));
+
+        // Brauzer xəta səhifələri
+        System.out.println("Error titles detected: " + (FetchGovernor.isErrorTitle("429 Too Many Requests")
+                && FetchGovernor.isErrorTitle("Just a moment...")
+                && FetchGovernor.isErrorTitle("503 Service Unavailable")
+                && FetchGovernor.isErrorTitle("example.az | 502: Bad gateway")
+                && !FetchGovernor.isErrorTitle("Apple iPhone 11 64GB qiyməti")));
+        System.out.println("Model numbers not error titles: " + (!FetchGovernor.isErrorTitle("HP 15s-fq5029nia xüsusiyyətləri")
+                && !FetchGovernor.isErrorTitle("Asus Vivobook 15 X1502ZA qiyməti")
+                && !FetchGovernor.isErrorTitle("Samsung Galaxy A04 SM-A045F 4/64GB")
+                && !FetchGovernor.isErrorTitle("Lenovo IdeaPad 3 15IAU7 82RK00504RK")));
+
+        // HttpPageFetcher: 429 xəta, 404 xəta deyil
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            int status = exchange.getRequestURI().getPath().equals("/busy") ? 429 : 404;
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+
+        try {
+            String base = "http://127.0.0.1:" + server.getAddress().getPort();
+            FetchGovernor governor = new FetchGovernor(100, 100, 2, 2, 10_000);
+            HttpPageFetcher fetcher = new HttpPageFetcher(Duration.ofSeconds(5), null, governor);
+
+            fetchIgnoringError(fetcher, base + "/missing");
+            System.out.println("404 not counted as error: " + (governor.getErrors() == 0));
+
+            fetchIgnoringError(fetcher, base + "/busy");
+            System.out.println("429 counted as error: " + (governor.getErrors() == 1));
+            System.out.println("Requests counted: " + governor.getRequests());
+        } finally {
+            server.stop(0);
+        }
+
+        System.out.println("\nTest completed!");
+    }
+
+    private static void fetchIgnoringError(HttpPageFetcher fetcher, String url) {
+        try {
+            fetcher.fetch(url);
+        } catch (IOException e) {
+            // gözlənilən
+        }
+    }
+}
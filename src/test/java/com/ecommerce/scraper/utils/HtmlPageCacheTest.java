@@ -0,0 +1,123 @@
+package com.ecommerce.scraper.utils;
+
+import com.ecommerce.scraper.model.Product;
+import com.ecommerce.scraper.model.ProductVariant;
+import com.ecommerce.scraper.pages.HttpProductDetailPage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * HtmlPageCache test - açar / TTL / ölçü limiti və offline rejimdə fixture-lardan variant matrisi
+ */
+public class HtmlPageCacheTest {
+
+    private static final Path CACHE_DIR = Paths.get("output/test_html_cache");
+    private static final String PRODUCT_URL = "https://qiymeti.net/telefon/iphone-11/";
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Testing HtmlPageCache...");
+        deleteRecursively(CACHE_DIR);
+
+        String iphone11 = Files.readString(Paths.get("src/test/resources/fixtures/product_iphone_11.html"));
+        String iphone7 = Files.readString(Paths.get("src/test/resources/fixtures/product_iphone_7.html"));
+
+        // Açar və content-addressed saxlama
+        HtmlPageCache cache = new HtmlPageCache(CACHE_DIR, Duration.ofHours(1), HtmlPageCache.DEFAULT_MAX_BYTES, false);
+        cache.put(PRODUCT_URL, iphone11);
+        cache.put(PRODUCT_URL + "?ref=list", iphone11);
+        cache.put("https://qiymeti.net/telefon/iphone-7/", iphone7);
+
+        System.out.println("Roundtrip identical: " + iphone11.equals(cache.get(PRODUCT_URL)));
+        System.out.println("Variant key separate: " + (cache.get(PRODUCT_URL, HtmlPageCache.variantKey("1101", null)) == null));
+        System.out.println("Objects (3 keys, 2 pages): " + countFiles(CACHE_DIR.resolve("objects")));
+
+        // TTL: köhnəlmiş açar miss sayılır
+        HtmlPageCache expiring = new HtmlPageCache(CACHE_DIR.resolve("ttl"), Duration.ofMillis(1),
+                HtmlPageCache.DEFAULT_MAX_BYTES, false);
+        expiring.put(PRODUCT_URL, iphone11);
+        Thread.sleep(20);
+        System.out.println("Expired entry missed: " + (expiring.get(PRODUCT_URL) == null));
+
+        // Online rejimdə cache yalnız yazılır; TTL ərzində oxumaq readCacheOnline ilə açılır
+        System.out.println("Online fetcher reads cache: "
+                + (new HttpPageFetcher(Duration.ofSeconds(1), cache).getReadCache() != null));
+        HttpPageFetcher readThrough = new HttpPageFetcher(Duration.ofSeconds(1), cache, null, true);
+        System.out.println("Read-through fetch from cache: " + iphone11.equals(readThrough.fetch(PRODUCT_URL)));
+
+        // Offline rejim: yalnız cache-dən, TTL nəzərə alınmır
+        HtmlPageCache offline = new HtmlPageCache(CACHE_DIR, Duration.ofMillis(1), HtmlPageCache.DEFAULT_MAX_BYTES, true);
+        HttpPageFetcher fetcher = new HttpPageFetcher(Duration.ofSeconds(1), offline);
+        System.out.println("Offline fetch from cache: " + iphone11.equals(fetcher.fetch(PRODUCT_URL)));
+        try {
+            fetcher.fetch("https://qiymeti.net/telefon/not-cached/");
+            System.out.println("Offline miss rejected: false");
+        } catch (IOException e) {
+            System.out.println("Offline miss rejected: true");
+        }
+
+        // Variant matrisi: hər storage×color kombinasiyası üçün qiymət siyahısı
+        String[][] combinations = {
+                {"1101", "2101", "1049.00"}, {"1101", "2102", "1059.00"},
+                {"1102", "2101", "1199.00"}, {"1102", "2102", "1209.00"}
+        };
+        HtmlPageCache recorder = new HtmlPageCache(CACHE_DIR, Duration.ofHours(1), HtmlPageCache.DEFAULT_MAX_BYTES, false);
+        HttpProductDetailPage partial = new HttpProductDetailPage(iphone11, PRODUCT_URL, recorder);
+        for (int i = 0; i < combinations.length - 1; i++) {
+            recorder.put(PRODUCT_URL, HtmlPageCache.variantKey(combinations[i][0], combinations[i][1]),
+                    priceList(combinations[i][2]));
+        }
+        System.out.println("Incomplete matrix needs Selenium: " + !partial.hasCachedVariants());
+
+        String[] last = combinations[combinations.length - 1];
+        recorder.put(PRODUCT_URL, HtmlPageCache.variantKey(last[0], last[1]), priceList(last[2]));
+
+        Product product = new HttpProductDetailPage(iphone11, PRODUCT_URL,
+                new HtmlPageCache(CACHE_DIR, Duration.ofHours(1), HtmlPageCache.DEFAULT_MAX_BYTES, true))
+                .scrapeProductData();
+        System.out.println("\n=== OFFLINE VARIANTS ===");
+        for (ProductVariant variant : product.getVariants()) {
+            System.out.println(variant.getStorage() + " / " + variant.getColor() + ": "
+                    + variant.getPrice() + " " + variant.getCurrency() + " (" + variant.getSeller() + ")");
+        }
+        System.out.println("Variants from cache: " + product.getVariants().size() + " (expected 4)");
+
+        // Ölçü limiti: ən köhnə istifadə olunmuş açarlar silinir
+        long size = new HtmlPageCache(CACHE_DIR, Duration.ofHours(1), HtmlPageCache.DEFAULT_MAX_BYTES, false).getSizeBytes();
+        HtmlPageCache small = new HtmlPageCache(CACHE_DIR, Duration.ofHours(1), size / 2, false);
+        System.out.println("\nSize " + size + " → " + small.getSizeBytes() + " bytes (limit " + size / 2 + ")");
+        System.out.println("Size limit respected: " + (small.getSizeBytes() <= size / 2));
+
+        cache.logStats();
+        deleteRecursively(CACHE_DIR);
+        System.out.println("\nTest completed!");
+    }
+
+    private static String priceList(String price) {
+        return "<ul class=\"price-list\"><li class=\"price-item\">"
+                + "<meta itemprop=\"price\" content=\"" + price + "\">"
+                + "<meta itemprop=\"priceCurrency\" content=\"AZN\">"
+                + "<meta itemprop=\"name\" content=\"Irshad\">"
+                + "<span class=\"website\"> irshad.az </span></li></ul>";
+    }
+
+    private static long countFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.ecommerce.scraper.utils;
+
+import com.ecommerce.scraper.mapper.DatabaseMapper;
+import com.ecommerce.scraper.mapper.DatabaseOutput;
+import com.ecommerce.scraper.model.Product;
+import com.ecommerce.scraper.model.ProductVariant;
+import com.ecommerce.scraper.model.db.ProductAttributeEntity;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * JdbcBatchLoader test - embedded H2 (in-memory) bazası ilə, şəbəkəsiz işləyir
+ */
+public class JdbcBatchLoaderTest {
+
+    private static final String URL = "jdbc:h2:mem:loader_test;DB_CLOSE_DELAY=-1";
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Testing JdbcBatchLoader (H2)...");
+
+        // Kiçik batch ölçüləri: tam statement, qalıq və batch sərhədi yolları işləsin
+        JdbcBatchLoader loader = JdbcBatchLoader.connect(URL, "sa", "", 7, 3);
+        loader.createSchema();
+
+        // Səhifə 1 və 2
+        DatabaseMapper mapper = new DatabaseMapper(true);
+        loader.append(mapper.mapProduct(buildProduct("Apple", "iPhone 11 xüsusiyyətləri", "1149.00")));
+        loader.append(mapper.mapProduct(buildProduct("Samsung", "Galaxy A54 xüsusiyyətləri", "699.00")));
+        loader.commitPage();
+        loader.append(mapper.mapProduct(buildProduct("Xiaomi", "Redmi Note 13 Çəhrayı", "549.00")));
+        loader.commitPage();
+
+        System.out.println("\n=== AFTER 2 PAGES ===");
+        printCounts();
+
+        // Təkrar run: eyni ID-lər, dəyişmiş qiymət → upsert, sətir sayı dəyişmir
+        DatabaseMapper secondRun = new DatabaseMapper(true);
+        loader.append(secondRun.mapProduct(buildProduct("Apple", "iPhone 11 xüsusiyyətləri", "1099.00")));
+        loader.commitPage();
+
+        System.out.println("\n=== AFTER UPSERT ===");
+        printCounts();
+        System.out.println("iPhone price: " + queryString(
+                "SELECT price FROM products WHERE name = 'iPhone 11 xüsusiyyətləri'"));
+
+        // Səhv səhifə: mövcud olmayan məhsula attribute (foreign key) → bütün səhifə rollback
+        DatabaseOutput broken = new DatabaseMapper(true).mapProduct(buildProduct("Honor", "Honor 90", "899.00"));
+        ProductAttributeEntity orphan = new ProductAttributeEntity(42L, 999999L, "orphan", "value");
+        broken.addProductAttribute(orphan);
+
+        try {
+            loader.append(broken);
+            loader.commitPage();
+            System.out.println("\n❌ Broken page was committed");
+        } catch (Exception e) {
+            System.out.println("\nBroken page rejected: " + e.getClass().getSimpleName());
+        }
+        // Pipeline kimi: səhifə sonu həmişə commitPage() ilə bağlanır
+        loader.commitPage();
+
+        System.out.println("\n=== AFTER ROLLBACK ===");
+        printCounts();
+        System.out.println("Honor rows: " + queryString("SELECT COUNT(*) FROM products WHERE name = 'Honor 90'"));
+
+        // Brendi ilk göndərən səhifə rollback olunur → eyni brendli növbəti səhifə yenə yazılmalıdır
+        DatabaseOutput firstNokia = mapper.mapProduct(buildProduct("Nokia", "Nokia G22", "299.00"));
+        firstNokia.addProductAttribute(new ProductAttributeEntity(43L, 999999L, "orphan", "value"));
+        System.out.println("\nPage with new brand committed: " + loadPage(loader, firstNokia));
+
+        DatabaseOutput secondNokia = mapper.mapProduct(buildProduct("Nokia", "Nokia G42", "399.00"));
+        System.out.println("Mapper re-emitted brand: " + !secondNokia.getBrands().isEmpty());
+        System.out.println((loadPage(loader, secondNokia) ? "✅" : "❌") + " Next page with same brand committed");
+        System.out.println("Nokia brands: " + queryString("SELECT COUNT(*) FROM brands WHERE name = 'Nokia'")
+                + ", Nokia G42 rows: " + queryString("SELECT COUNT(*) FROM products WHERE name = 'Nokia G42'"));
+
+        loader.close();
+        System.out.println("\nPages: " + loader.getPageCount() + ", failed: " + loader.getFailedPageCount());
+        System.out.println("Committed rows: " + loader.getRowCounts());
+
+        System.out.println("\nTest completed!");
+    }
+
+    /**
+     * Bir səhifəni pipeline kimi yaz: append, sonra səhifə sonunda commitPage
+     */
+    private static boolean loadPage(JdbcBatchLoader loader, DatabaseOutput page) {
+        boolean committed = true;
+        try {
+            loader.append(page);
+        } catch (SQLException e) {
+            committed = false;
+        }
+        try {
+            loader.commitPage();
+        } catch (SQLException e) {
+            System.out.println("commitPage: " + e.getMessage().lines().findFirst().orElse(""));
+            committed = false;
+        }
+        return committed;
+    }
+
+    private static Product buildProduct(String brand, String title, String price) {
+        Product product = new Product();
+        product.setBrand(brand);
+        product.setTitle(title);
+
+        for (String storage : List.of("128 GB", "256 GB")) {
+            ProductVariant variant = new ProductVariant();
+            variant.setStorage(storage);
+            variant.setColor("Qara");
+            variant.setPrice(price);
+            variant.setCurrency("AZN");
+            variant.setSeller("Kontakt Home");
+            product.addVariant(variant);
+        }
+
+        return product;
+    }
+
+    private static void printCounts() throws Exception {
+        for (String table : List.of("brands", "products", "product_variants", "product_attributes")) {
+            System.out.println(table + ": " + queryString("SELECT COUNT(*) FROM " + table));
+        }
+    }
+
+    private static String queryString(String sql) throws Exception {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.ecommerce.scraper.utils;
+
+import com.ecommerce.scraper.mapper.DatabaseMapper;
+import com.ecommerce.scraper.mapper.DatabaseOutput;
+import com.ecommerce.scraper.model.Product;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Output formatları test - real scraped data hər format / sıxılmada yazılıb geri oxunur
+ */
+public class OutputFormatTest {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Testing output formats...");
+
+        File inputFile = new File(args.length > 0 ? args[0] : "output/scraped_raw_20260206_182523.json");
+        List<Product> products = OutputReader.readProducts(inputFile);
+        DatabaseOutput database = new DatabaseMapper(true).mapToDatabase(products);
+        System.out.println("Loaded " + products.size() + " products from " + inputFile.getPath());
+
+        ObjectMapper jsonMapper = OutputReader.mapperFor(OutputFormat.JSON);
+        JsonNode expectedProducts = jsonMapper.valueToTree(products);
+        JsonNode expectedDatabase = jsonMapper.valueToTree(database);
+
+        System.out.println(String.format("\n%-14s %12s %12s  %s", "format", "raw", "database", "roundtrip"));
+        for (OutputFormat format : OutputFormat.values()) {
+            for (Compression compression : Compression.values()) {
+                JsonExporter exporter = new JsonExporter(true, format, compression);
+                String extension = exporter.getExtension();
+                String rawPath = "output/test_format_raw." + extension;
+                String dbPath = "output/test_format_database." + extension;
+
+                exporter.exportToJson(products, rawPath);
+                exporter.exportDatabaseOutput(database, dbPath);
+
+                boolean same = expectedProducts.equals(jsonMapper.valueToTree(OutputReader.readProducts(new File(rawPath))))
+                        && expectedDatabase.equals(jsonMapper.valueToTree(OutputReader.readDatabaseOutput(new File(dbPath))));
+
+                System.out.println(String.format("%-14s %12d %12d  %s", extension,
+                        sizeOf(rawPath), sizeOf(dbPath), same ? "✅" : "❌"));
+            }
+        }
+
+        System.out.println("\n=== SIZE REPORT: output/test_format_database.json ===");
+        for (OutputSizeReport.Row row : OutputSizeReport.measure(new File("output/test_format_database.json"))) {
+            System.out.println(String.format("%-14s %10d bytes  %6.1f ms",
+                    row.getName(), row.getBytes(), row.getWriteNanos() / 1e6));
+        }
+
+        System.out.println("\nTest completed!");
+    }
+
+    /**
+     * Fayl ölçüsü (NDJSON database output-da entity fayllarının cəmi)
+     */
+    private static long sizeOf(String path) {
+        File file = new File(path);
+        if (file.exists()) {
+            return file.length();
+        }
+
+        String suffix = path.endsWith(".gz") ? ".ndjson.gz" : ".ndjson";
+        String base = path.substring(0, path.length() - suffix.length());
+        long total = 0;
+        for (String section : List.of("brands", "products", "product_variants", "product_attributes")) {
+            total += new File(base + "_" + section + suffix).length();
+        }
+        return total;
+    }
+}
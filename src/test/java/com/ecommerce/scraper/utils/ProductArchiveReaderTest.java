@@ -0,0 +1,144 @@
+package com.ecommerce.scraper.utils;
+
+import com.ecommerce.scraper.ArchiveReplay;
+import com.ecommerce.scraper.mapper.AttributeMapper;
+import com.ecommerce.scraper.mapper.DatabaseMapper;
+import com.ecommerce.scraper.mapper.DatabaseOutput;
+import com.ecommerce.scraper.model.Product;
+import com.ecommerce.scraper.model.ProductSpecifications;
+import com.ecommerce.scraper.model.ProductVariant;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * ProductArchiveReader və ArchiveReplay test - real scraped_raw arxivləri ilə
+ */
+public class ProductArchiveReaderTest {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Testing ProductArchiveReader...");
+
+        List<File> archives = ProductArchiveReader.findArchives(List.of("output"));
+        System.out.println("Archives: " + archives);
+
+        // Kiçik pəncərə: pəncərə sərhədindən keçən oxuma eyni baytları verməlidir
+        File first = archives.get(0);
+        try (InputStream mapped = new MappedFileInputStream(first, 4096)) {
+            boolean same = Arrays.equals(Files.readAllBytes(first.toPath()), mapped.readAllBytes());
+            System.out.println("Mapped window read identical: " + same);
+        }
+
+        // Bütün arxivlər bir reader ilə
+        long expected = 0;
+        for (File archive : archives) {
+            expected += OutputReader.readProducts(archive).size();
+        }
+        try (ProductArchiveReader reader = new ProductArchiveReader(archives)) {
+            while (reader.hasNext()) {
+                reader.next();
+            }
+            System.out.println("Streamed " + reader.getCount() + " products (expected " + expected + ")");
+        }
+
+        // Binary + gzip arxiv də oxunmalıdır
+        File archive = new File("output/scraped_raw_20260206_182523.json");
+        List<Product> products = OutputReader.readProducts(archive);
+        new JsonExporter(true, OutputFormat.SMILE, Compression.GZIP)
+                .exportToJson(products, "output/test_replay/scraped_raw_test.smile.gz");
+        try (ProductArchiveReader reader = new ProductArchiveReader(
+                List.of(new File("output/test_replay/scraped_raw_test.smile.gz")))) {
+            reader.forEachRemaining(product -> { });
+            System.out.println("Smile+gzip archive: " + reader.getCount() + " products");
+        }
+
+        // Replay (batch 5, 4 thread) = bütün fayl üzərində mapToDatabase
+        JsonExporter exporter = new JsonExporter(true);
+        ArchiveReplay replay = new ArchiveReplay(exporter, true, 4, 5);
+        long replayed = replay.replay(archive, "output/test_replay/database_import_test.json");
+
+        DatabaseOutput expectedOutput = new DatabaseMapper(true).mapToDatabase(products);
+        DatabaseOutput replayedOutput = OutputReader.readDatabaseOutput(new File("output/test_replay/database_import_test.json"));
+
+        System.out.println("\n=== REPLAY ===");
+        System.out.println("Replayed products: " + replayed);
+        System.out.println("Attributes: " + replayedOutput.getProductAttributes().size()
+                + " (expected " + expectedOutput.getProductAttributes().size() + ")");
+        System.out.println("Replay identical to mapToDatabase: " + sameEntities(expectedOutput, replayedOutput));
+
+        // Spesifikasiyalı arxiv: replay attributes-u AttributeMapper ilə yenidən qurur
+        Product specProduct = buildSpecProduct();
+        new JsonExporter(true).exportToJson(List.of(specProduct), "output/test_replay/scraped_raw_specs.json");
+        replay.replay(new File("output/test_replay/scraped_raw_specs.json"), "output/test_replay/database_import_specs.json");
+
+        specProduct.setAttributes(new AttributeMapper().mapToAttributes(specProduct.getSpecifications()));
+        DatabaseOutput expectedSpecs = new DatabaseMapper(true).mapToDatabase(List.of(specProduct));
+        DatabaseOutput replayedSpecs = OutputReader.readDatabaseOutput(new File("output/test_replay/database_import_specs.json"));
+
+        System.out.println("\n=== REPLAY WITH SPECIFICATIONS ===");
+        System.out.println("Attributes: " + replayedSpecs.getProductAttributes().size()
+                + " (expected " + expectedSpecs.getProductAttributes().size() + ")");
+        System.out.println("Description: " + replayedSpecs.getProducts().get(0).getDescription());
+        System.out.println("Replay identical to scrape-time mapping: " + sameEntities(expectedSpecs, replayedSpecs));
+
+        System.out.println("\nTest completed!");
+    }
+
+    /**
+     * Spesifikasiyası olan, attributes-u hələ qurulmamış məhsul
+     */
+    private static Product buildSpecProduct() {
+        Product product = new Product("Apple", "iPhone 11 xüsusiyyətləri");
+
+        ProductSpecifications specs = new ProductSpecifications();
+        specs.setOperatingSystem("iOS 13");
+        specs.setProcessor("Apple A13 Bionic");
+        specs.setRam("4 GB");
+        specs.setScreenSize("6.1 inç");
+        specs.setBattery("3110 mAh");
+        product.setSpecifications(specs);
+
+        ProductVariant variant = new ProductVariant();
+        variant.setStorage("64 GB");
+        variant.setColor("Black");
+        variant.setPrice("1149.00");
+        variant.setCurrency("AZN");
+        variant.setSeller("Umico");
+        product.addVariant(variant);
+
+        return product;
+    }
+
+    /**
+     * Timestamp-lar çıxılmaqla eyni entity-lər (brand-lar ID sırası ilə)
+     */
+    private static boolean sameEntities(DatabaseOutput a, DatabaseOutput b) {
+        return normalize(a).equals(normalize(b));
+    }
+
+    private static JsonNode normalize(DatabaseOutput output) {
+        ObjectMapper mapper = OutputReader.mapperFor(OutputFormat.JSON);
+        ObjectNode tree = mapper.valueToTree(output);
+
+        List<JsonNode> brands = new ArrayList<>();
+        tree.withArray("brands").forEach(brands::add);
+        brands.sort(Comparator.comparingLong(brand -> brand.get("id").asLong()));
+        ArrayNode sortedBrands = tree.putArray("brands");
+        brands.forEach(sortedBrands::add);
+
+        tree.fields().forEachRemaining(section -> section.getValue().forEach(entity -> {
+            ((ObjectNode) entity).remove("created_at");
+            ((ObjectNode) entity).remove("updated_at");
+        }));
+        return tree;
+    }
+}